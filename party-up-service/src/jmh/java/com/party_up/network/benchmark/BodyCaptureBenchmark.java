@@ -0,0 +1,114 @@
+package com.party_up.network.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import com.party_up.network.config.log_cached_body.CaptureBuffer;
+import com.party_up.network.config.log_cached_body.request.CachedBodyHttpServletRequest;
+import com.party_up.network.config.log_cached_body.response.TeeServletOutputStream;
+
+/**
+ * Benchmarks the request and response body copy path used for request/response logging.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyCaptureBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"256", "4096", "65536", "1048576"})
+    private int payloadSize;
+
+    @Param({"4096"})
+    private int maxCaptureBytes;
+
+    private byte[] payload;
+
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    /**
+     * Creates a deterministic payload of the configured size.
+     */
+    @Setup
+    public void setUp() {
+        payload = new byte[payloadSize];
+        new Random(42).nextBytes(payload);
+    }
+
+    /**
+     * Measures reading a request body through {@link CachedBodyHttpServletRequest} in chunks.
+     *
+     * @param blackhole sink for the read data
+     * @return the captured body prefix
+     * @throws IOException if reading fails
+     */
+    @Benchmark
+    public byte[] readRequestBody(Blackhole blackhole) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/benchmark");
+        request.setContent(payload);
+        CachedBodyHttpServletRequest wrapped = new CachedBodyHttpServletRequest(request, maxCaptureBytes);
+
+        ServletInputStream inputStream = wrapped.getInputStream();
+        int read;
+        while ((read = inputStream.read(chunk, 0, CHUNK_SIZE)) != -1) {
+            blackhole.consume(read);
+        }
+        return wrapped.getCaptureBuffer().toByteArray();
+    }
+
+    /**
+     * Measures writing a response body through {@link TeeServletOutputStream} in chunks.
+     *
+     * @return the captured body prefix
+     * @throws IOException if writing fails
+     */
+    @Benchmark
+    public byte[] writeResponseBody() throws IOException {
+        CaptureBuffer captureBuffer = new CaptureBuffer(maxCaptureBytes);
+        TeeServletOutputStream outputStream = new TeeServletOutputStream(new DiscardingOutputStream(), captureBuffer);
+
+        for (int offset = 0; offset < payload.length; offset += CHUNK_SIZE) {
+            outputStream.write(payload, offset, Math.min(CHUNK_SIZE, payload.length - offset));
+        }
+        return captureBuffer.toByteArray();
+    }
+
+    /**
+     * Servlet output stream that discards everything, standing in for the client connection.
+     */
+    private static final class DiscardingOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(int b) {
+            // Discard
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // Discard
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            // Blocking stream, no listener needed
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.party_up.network.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.SigningKeyProvider;
+import com.party_up.network.model.User;
+
+/**
+ * Benchmarks token generation and validation in {@link JwtUtil}, which run on every login and request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+
+    private User user;
+
+    private UserDetails userDetails;
+
+    private String token;
+
+    /**
+     * Prepares a signed token for the validation benchmark.
+     */
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SigningKeyProvider("", "", ""));
+        user = new User();
+        user.setUsername("benchmark-user");
+        userDetails = new org.springframework.security.core.userdetails.User(
+                "benchmark-user", "password", Collections.emptyList());
+        token = jwtUtil.generateToken(user);
+    }
+
+    /**
+     * Measures signing a new token.
+     *
+     * @return the generated token
+     */
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    /**
+     * Measures the full validation path: a single parse and signature check, then the user match.
+     *
+     * @return whether the token is valid
+     */
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
@@ -0,0 +1,44 @@
+package com.party_up.network.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.party_up.network.service.LogService;
+
+/**
+ * Benchmarks {@link LogService#parseDate(String)} for each supported input format.
+ * Later formats are only reached after earlier ones fail, so the cost grows with the format index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogServiceBenchmark {
+
+    @Param({"2024-06-01 10:15:30.123456", "2024-06-01 10:15:30", "2024-06-01 10:15", "2024-06-01"})
+    private String date;
+
+    private LogService logService;
+
+    /**
+     * Creates the service; parsing does not touch the repository, mapper, entity manager or object mapper.
+     */
+    @Setup
+    public void setUp() {
+        logService = new LogService(null, null, null, null);
+    }
+
+    /**
+     * Measures parsing a date string.
+     *
+     * @return the parsed date
+     */
+    @Benchmark
+    public LocalDateTime parseDate() {
+        return logService.parseDate(date);
+    }
+}
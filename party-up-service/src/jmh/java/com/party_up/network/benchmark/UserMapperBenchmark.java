@@ -0,0 +1,69 @@
+package com.party_up.network.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.party_up.network.model.User;
+import com.party_up.network.model.dto.UserDTO;
+import com.party_up.network.model.dto.mappers.UserMapper;
+import com.party_up.network.model.enums.AccountStatus;
+
+/**
+ * Benchmarks {@link UserMapper#toDtoList(List)}, which backs every friend list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int listSize;
+
+    @Param({"0", "16384"})
+    private int imageSize;
+
+    private UserMapper userMapper;
+
+    private List<User> users;
+
+    /**
+     * Builds a deterministic list of users with the configured size and image payload.
+     */
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapper();
+        Random random = new Random(42);
+        users = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            User user = new User(30, "bio " + i, LocalDate.of(1990, 1, 1).plusDays(i),
+                    "user" + i, "password", "First" + i, "Last" + i, "user" + i + "@example.com",
+                    AccountStatus.ACTIVE);
+            user.setId((long) i);
+            user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+            user.setLastUpdatedAt(user.getCreatedAt());
+            byte[] image = new byte[imageSize];
+            random.nextBytes(image);
+            user.setImage(image);
+            users.add(user);
+        }
+    }
+
+    /**
+     * Measures mapping the whole list to DTOs.
+     *
+     * @return the mapped DTOs
+     */
+    @Benchmark
+    public List<UserDTO> toDtoList() {
+        return userMapper.toDtoList(users);
+    }
+}
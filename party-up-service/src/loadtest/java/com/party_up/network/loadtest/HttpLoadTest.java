@@ -0,0 +1,220 @@
+package com.party_up.network.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test for a single authenticated endpoint.
+ * <p>
+ * Logs in once, then keeps {@code concurrency} clients sending requests back to back for the configured
+ * duration, after a warm-up that is not measured. Throughput, error count and latency percentiles are
+ * printed and appended to a CSV file under the given label, so runs against the platform-thread and the
+ * virtual-thread mode of the service can be compared. See the {@code loadtest} Maven profile.
+ * </p>
+ */
+public final class HttpLoadTest {
+
+    private static final String CSV_HEADER =
+            "label,concurrency,requests,errors,throughput_rps,p50_ms,p95_ms,p99_ms,max_ms";
+
+    private HttpLoadTest() {
+    }
+
+    /**
+     * Runs the load test.
+     *
+     * @param args options as {@code --name=value}
+     * @throws Exception if login fails or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        URI target = URI.create(baseUrl + options.getOrDefault("path", "/api/friendships/friends?userId=1"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "30")));
+        String label = options.getOrDefault("label", "run");
+        Path results = Path.of(options.getOrDefault("results", "target/loadtest-results.csv"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String cookie = login(client, baseUrl, options.getOrDefault("username", "johny"),
+                options.getOrDefault("password", "Password123!"));
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Cookie", cookie)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        System.out.printf("Warming up %s for %d s with %d clients%n", target, warmup.toSeconds(), concurrency);
+        runPhase(client, request, concurrency, warmup);
+
+        System.out.printf("Measuring for %d s%n", duration.toSeconds());
+        long start = System.nanoTime();
+        List<Worker> workers = runPhase(client, request, concurrency, duration);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String row = summarize(label, concurrency, workers, elapsedSeconds);
+        if (Files.notExists(results)) {
+            Files.createDirectories(results.toAbsolutePath().getParent());
+            Files.writeString(results, CSV_HEADER + System.lineSeparator());
+        }
+        Files.writeString(results, row + System.lineSeparator(), StandardOpenOption.APPEND);
+
+        System.out.println();
+        Files.readAllLines(results).forEach(line -> System.out.println(line.replace(",", "\t")));
+    }
+
+    /**
+     * Logs in and returns the auth cookie to send with every request.
+     */
+    private static String login(HttpClient client, String baseUrl, String username, String password)
+            throws IOException, InterruptedException {
+        String body = String.format("{\"username\":\"%s\",\"password\":\"%s\"}", username, password);
+        HttpRequest login = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = client.send(login, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        return response.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith("authToken="))
+                .map(value -> value.split(";", 2)[0])
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login response has no authToken cookie"));
+    }
+
+    /**
+     * Runs {@code concurrency} workers until the phase duration has passed and returns them.
+     */
+    private static List<Worker> runPhase(HttpClient client, HttpRequest request, int concurrency, Duration duration)
+            throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Worker> workers = new ArrayList<>(concurrency);
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                Worker worker = new Worker(client, request, deadline);
+                workers.add(worker);
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return workers;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Merges the worker results into one CSV row and prints it.
+     */
+    private static String summarize(String label, int concurrency, List<Worker> workers, double elapsedSeconds) {
+        int total = workers.stream().mapToInt(worker -> worker.count).sum();
+        long errors = workers.stream().mapToLong(worker -> worker.errors).sum();
+        long[] latencies = new long[total];
+        int offset = 0;
+        for (Worker worker : workers) {
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            offset += worker.count;
+        }
+        Arrays.sort(latencies);
+
+        double throughput = total / elapsedSeconds;
+        String row = String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", label, concurrency,
+                total, errors, throughput, percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+        System.out.printf(Locale.ROOT, "%s: %d requests, %d errors, %.1f req/s%n", label, total, errors, throughput);
+        return row;
+    }
+
+    /**
+     * Returns the given percentile of sorted latencies in milliseconds.
+     */
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Sends requests back to back until the deadline and records the latency of each.
+     */
+    private static final class Worker implements Runnable {
+
+        private final HttpClient client;
+
+        private final HttpRequest request;
+
+        private final long deadline;
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        Worker(HttpClient client, HttpRequest request, long deadline) {
+            this.client = client;
+            this.request = request;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 400) {
+                        errors++;
+                    }
+                } catch (IOException e) {
+                    errors++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = System.nanoTime() - start;
+            }
+        }
+    }
+}
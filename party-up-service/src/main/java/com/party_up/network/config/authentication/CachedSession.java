@@ -0,0 +1,31 @@
+package com.party_up.network.config.authentication;
+
+import java.time.LocalDateTime;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Verified session state held by {@link SessionCache} for an authenticated token.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedSession {
+
+    /**
+     * The resolved user details of the token owner.
+     */
+    private final UserDetails userDetails;
+
+    /**
+     * The ID of the persisted {@link com.party_up.network.model.AuthToken}.
+     */
+    private final Long authTokenId;
+
+    /**
+     * The server-side expiration of the token.
+     */
+    private final LocalDateTime expiresAt;
+}
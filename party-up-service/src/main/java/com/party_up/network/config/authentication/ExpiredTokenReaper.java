@@ -0,0 +1,106 @@
+package com.party_up.network.config.authentication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Background job deleting expired {@link com.party_up.network.model.AuthToken} rows.
+ * <p>
+ * Tokens are never deleted by the request path: logout only expires them. The reaper removes rows that
+ * expired more than the configured retention ago, in batches of bounded size so each delete holds its locks
+ * only briefly, and stops after a maximum number of batches per run. The remaining table size is exposed as
+ * the {@code auth.tokens.rows} gauge, refreshed on every run.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ExpiredTokenReaper {
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM auth_token WHERE expires_at < ? LIMIT ?";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM auth_token";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final int maxBatchesPerRun;
+
+    private final long retentionMinutes;
+
+    private final AtomicLong rowCount = new AtomicLong();
+
+    private final Counter reapedCounter;
+
+    /**
+     * Constructs the reaper and registers its metrics.
+     *
+     * @param jdbcTemplate     the JDBC template used for deletes
+     * @param meterRegistry    the registry for table size and deletion metrics
+     * @param batchSize        the maximum number of rows deleted per statement
+     * @param maxBatchesPerRun the maximum number of delete statements per run
+     * @param retentionMinutes how long expired tokens are kept before they are deleted
+     */
+    public ExpiredTokenReaper(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.token-reaper.batch-size:1000}") int batchSize,
+                              @Value("${auth.token-reaper.max-batches-per-run:50}") int maxBatchesPerRun,
+                              @Value("${auth.token-reaper.retention-minutes:60}") long retentionMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retentionMinutes = retentionMinutes;
+
+        Gauge.builder("auth.tokens.rows", rowCount, AtomicLong::get)
+                .description("Rows in the auth_token table as of the last reaper run")
+                .register(meterRegistry);
+        this.reapedCounter = Counter.builder("auth.tokens.reaped")
+                .description("Expired auth tokens deleted by the reaper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes expired tokens in batches and refreshes the table size gauge.
+     * Runs at a fixed delay configured by {@code auth.token-reaper.interval-ms}.
+     *
+     * @return the number of deleted tokens
+     */
+    @Scheduled(fixedDelayString = "${auth.token-reaper.interval-ms:300000}",
+            initialDelayString = "${auth.token-reaper.initial-delay-ms:60000}")
+    public int reap() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes));
+        int total = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, cutoff, batchSize);
+                total += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+            }
+            Long rows = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            rowCount.set(rows != null ? rows : 0);
+        } catch (DataAccessException e) {
+            log.error("Failed to delete expired auth tokens: {}", e.getMessage());
+        }
+
+        reapedCounter.increment(total);
+        if (total > 0) {
+            log.info("Deleted {} expired auth tokens, {} remaining", total, rowCount.get());
+        }
+        return total;
+    }
+}
@@ -2,6 +2,7 @@ package com.party_up.network.config.authentication;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Optional;
 
@@ -14,10 +15,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.JwtException;
 import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -32,23 +33,60 @@ import com.party_up.network.repository.AuthTokenRepository;
  * JWT request filter for validating JWT tokens in incoming requests.
  * This filter extracts the JWT from the request header, validates it,
  * and sets the authentication in the security context if valid.
+ * The token parse, user load and token lookup phases are timed in {@code auth.filter.phase}.
+ * With stateless validation (see {@link TokenDenyList}) the token lookup is replaced by an in-memory
+ * revocation check.
  */
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    /**
+     * Request attribute under which the {@link VerifiedToken} is exposed to downstream code.
+     */
+    public static final String VERIFIED_TOKEN_ATTRIBUTE = "verifiedToken";
+
     private final UserDetailsService userDetailsService;
 
     private final JwtUtil jwtUtil;
 
     private final AuthTokenRepository authTokenRepository;
 
+    private final SessionCache sessionCache;
+
+    private final TokenActivityTracker tokenActivityTracker;
+
+    private final TokenDenyList tokenDenyList;
+
+    private final Timer parseTimer;
+
+    private final Timer userLoadTimer;
+
+    private final Timer tokenLookupTimer;
+
     @Autowired
     public JwtRequestFilter(UserDetailsService userDetailsService,
                             JwtUtil jwtUtil,
-                            AuthTokenRepository authTokenRepository) {
+                            AuthTokenRepository authTokenRepository,
+                            SessionCache sessionCache,
+                            TokenActivityTracker tokenActivityTracker,
+                            TokenDenyList tokenDenyList,
+                            MeterRegistry meterRegistry) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
         this.authTokenRepository = authTokenRepository;
+        this.sessionCache = sessionCache;
+        this.tokenActivityTracker = tokenActivityTracker;
+        this.tokenDenyList = tokenDenyList;
+        this.parseTimer = phaseTimer(meterRegistry, "parse");
+        this.userLoadTimer = phaseTimer(meterRegistry, "user_load");
+        this.tokenLookupTimer = phaseTimer(meterRegistry, "token_lookup");
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("auth.filter.phase")
+                .description("Time spent in each phase of JWT request authentication")
+                .tag("phase", phase)
+                .register(meterRegistry);
     }
 
     @Override
@@ -63,7 +101,8 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                 .orElse(null);
 
         if (request.getRequestURI().equals("/api/auth/login") ||
-                request.getRequestURI().equals("/api/create-user")) {
+                request.getRequestURI().equals("/api/create-user") ||
+                request.getRequestURI().startsWith("/actuator/")) {
             filterChain.doFilter(request, response); //Proceed with the filter chain
             return; // Exit the method
         }
@@ -76,31 +115,68 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
 
-        String username;
+        VerifiedToken verifiedToken;
 
-        // Validate the JWT and handle potential exceptions
+        // Parse and verify the JWT once, and handle potential exceptions
+        Timer.Sample parseSample = Timer.start();
         try {
-            username = jwtUtil.extractUsername(jwtToken); // Extract username from the token
-        } catch (ExpiredJwtException | SignatureException | MalformedJwtException e) {
+            verifiedToken = jwtUtil.parseToken(jwtToken);
+        } catch (JwtException e) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write(e.getMessage());
             return; // Exit the method
+        } finally {
+            parseSample.stop(parseTimer);
+        }
+
+        // Expose verified claims to downstream code
+        request.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
+        String username = verifiedToken.getUsername();
+
+        // In stateless mode revocations are checked in memory on every request, including session cache hits
+        boolean stateless = tokenDenyList.isActive();
+        if (stateless && tokenDenyList.isRevoked(verifiedToken.getId())) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("JWT token has been revoked");
+            return;
         }
 
         // If the email is valid and no authentication exists in the security context
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username); // Load user details
+            // Repeat requests are served from the session cache without touching the database
+            CachedSession session = sessionCache.get(jwtToken);
+
+            if (session == null) {
+                Timer.Sample userLoadSample = Timer.start();
+                UserDetails userDetails;
+                try {
+                    userDetails = this.userDetailsService.loadUserByUsername(username); // Load user details
+                } finally {
+                    userLoadSample.stop(userLoadTimer);
+                }
 
-            // Validate the JWT token against the suer details
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                Optional<AuthToken> authTokenOptional = authTokenRepository.findByToken(jwtToken);
+                // Validate the already verified JWT against the user details
+                if (!jwtUtil.validateToken(verifiedToken, userDetails)) {
+                    filterChain.doFilter(request, response);
+                    return; // Proceed unauthenticated
+                }
 
-                // Check if the JWT token exists in the repository
-                if (authTokenOptional.isEmpty()) {
-                    response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-                    response.getWriter().write("JWT token not found");
-                    return; // Exit the method
+                if (stateless) {
+                    // The signed exp claim is authoritative, revocation was checked above
+                    session = new CachedSession(userDetails, null,
+                            LocalDateTime.ofInstant(verifiedToken.getExpiration().toInstant(), ZoneId.systemDefault()));
                 } else {
+                    String tokenHash = TokenHasher.hash(jwtToken);
+                    Optional<AuthToken> authTokenOptional =
+                            tokenLookupTimer.record(() -> authTokenRepository.findByTokenHash(tokenHash));
+
+                    // Check if the JWT token exists in the repository
+                    if (authTokenOptional.isEmpty()) {
+                        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        response.getWriter().write("JWT token not found");
+                        return; // Exit the method
+                    }
+
                     AuthToken authToken = authTokenOptional.get();
 
                     // Check if the token has expired
@@ -110,17 +186,20 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                         return; // Exit the method
                     }
 
-                    // Create an authentication token and set it in the security context
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-
-                    // Update the last used time for the token
-                    authToken.setLastUsedAt(LocalDateTime.now());
-                    authTokenRepository.save(authToken); // Save the updated token information
+                    session = new CachedSession(userDetails, authToken.getId(), authToken.getExpiresAt());
                 }
+                sessionCache.put(jwtToken, session);
             }
+
+            // Create an authentication token and set it in the security context
+            UserDetails userDetails = session.getUserDetails();
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+
+            // Update the last used time for the token (flushed to the database in batches)
+            tokenActivityTracker.recordUse(session.getAuthTokenId());
         }
 
         // Proceed with the filter chain
@@ -1,16 +1,18 @@
 package com.party_up.network.config.authentication;
 
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
-import javax.crypto.SecretKey;
-
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 
 import com.party_up.network.model.User;
@@ -21,9 +23,40 @@ import com.party_up.network.model.User;
 @Component
 public class JwtUtil {
 
-    // Secret key used for signing the JWTs
-    private final SecretKey SECRET_KEY =
-            Jwts.SIG.HS256.key().build();
+    /**
+     * Lifetime of issued tokens, matching the expiry of the stored {@link com.party_up.network.model.AuthToken}.
+     */
+    public static final Duration TOKEN_LIFETIME = Duration.ofMinutes(30);
+
+    // Shared keyset used for signing and verifying the JWTs
+    private final SigningKeyProvider signingKeyProvider;
+
+    // Parser is immutable and thread-safe, so it is built once and shared across requests
+    private final JwtParser jwtParser;
+
+    /**
+     * Constructs the utility with the shared signing keys.
+     *
+     * @param signingKeyProvider the keyset used for signing and verification
+     */
+    public JwtUtil(SigningKeyProvider signingKeyProvider) {
+        this.signingKeyProvider = signingKeyProvider;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(signingKeyProvider) // Resolve the verification key by the token's kid header
+                .build();
+    }
+
+    /**
+     * Parses and verifies the given JWT token exactly once.
+     * The returned object exposes the verified claims so callers never need to parse the token again.
+     *
+     * @param token the JWT token to parse
+     * @return the verified token with its claims
+     * @throws io.jsonwebtoken.JwtException if the token is expired, malformed or has an invalid signature
+     */
+    public VerifiedToken parseToken(String token) {
+        return new VerifiedToken(token, extractAllClaims(token));
+    }
 
     /**
      * Extracts the username (subject) from the given JWT token.
@@ -65,23 +98,10 @@ public class JwtUtil {
      * @return the claims contained within the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY) // Set the signing key for validation
-                .build().parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload(); // Retrieve the claims body
     }
 
-    /**
-     * Checks if the given JWT token has expired.
-     *
-     * @param token the JWT token to check
-     * @return true if the token is expired, false otherwise
-     */
-    private Boolean isTokenExpired(String token) {
-        // Extract expiration date and compare it with the current date
-        return extractExpiration(token).before(new Date());
-    }
-
     /**
      * Generates a JWT token for the given user.
      *
@@ -101,13 +121,13 @@ public class JwtUtil {
      * @return the created JWT token as a string
      */
     private String createToken(Map<String, Object> claims, String subject) {
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims) // Set claims in the token
                 .subject(subject) // Set the subject
+                .id(UUID.randomUUID().toString()) // Unique token ID (jti), used for revocation
                 .issuedAt(new Date(System.currentTimeMillis())) // Set the issued date
-                // Set the expiration to 10 hours
-                .expiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(SECRET_KEY) // Sign the token with the secret key
+                .expiration(new Date(System.currentTimeMillis() + TOKEN_LIFETIME.toMillis()));
+        return signingKeyProvider.sign(builder) // Sign with the active key and set its kid header
                 .compact(); // Build the token
     }
 
@@ -119,9 +139,19 @@ public class JwtUtil {
      * @return true if the token is valid, false otherwise
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token); // Extract username from the token
+        return validateToken(parseToken(token), userDetails);
+    }
+
+    /**
+     * Validates an already verified JWT token against the provided user details without parsing it again.
+     *
+     * @param verifiedToken the token previously returned by {@link #parseToken(String)}
+     * @param userDetails   the user details to validate against
+     * @return true if the token is valid, false otherwise
+     */
+    public Boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
         // Check if the username matches and if the token is not expired
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return verifiedToken.getUsername().equals(userDetails.getUsername()) && !verifiedToken.isExpired();
     }
 
 }
@@ -0,0 +1,118 @@
+package com.party_up.network.config.authentication;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import com.party_up.network.exceptions.ServiceBusyException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded executor for credential verification.
+ * <p>
+ * Password hashing is deliberately CPU-heavy, so a burst of logins (e.g. every client reconnecting after a
+ * deploy) could otherwise occupy every request thread and core. Verifications run on a fixed number of
+ * threads with a bounded queue; when the queue is full or a verification waits too long, the login is
+ * rejected with {@link ServiceBusyException} instead of piling up.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMs;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs the executor and registers its metrics.
+     *
+     * @param meterRegistry the registry for queue and rejection metrics
+     * @param threads       the number of verification threads, 0 for one per available processor
+     * @param queueCapacity the maximum number of logins waiting for a thread
+     * @param timeoutMs     how long a login may wait for its verification, in milliseconds
+     */
+    public LoginExecutor(MeterRegistry meterRegistry,
+                         @Value("${auth.login.threads:0}") int threads,
+                         @Value("${auth.login.queue-capacity:64}") int queueCapacity,
+                         @Value("${auth.login.timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMs = timeoutMs;
+
+        Gauge.builder("auth.login.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Logins waiting for a credential verification thread")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.login.rejected")
+                .description("Logins rejected because credential verification was at capacity")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs a credential verification on the login pool and waits for its result.
+     *
+     * @param task the verification to run
+     * @param <T>  the result type
+     * @return the result of the verification
+     * @throws ServiceBusyException if the pool is saturated or the verification timed out
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Login rejected, {} verifications already queued", executor.getQueue().size());
+            throw new ServiceBusyException("Too many concurrent logins, please retry");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceBusyException("Login timed out, please retry");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Stops the verification threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
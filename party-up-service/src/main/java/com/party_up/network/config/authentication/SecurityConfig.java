@@ -1,6 +1,7 @@
 package com.party_up.network.config.authentication;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +17,8 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import jakarta.servlet.DispatcherType;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -41,13 +44,15 @@ public class SecurityConfig {
 
     /**
      * Bean definition for PasswordEncoder using BCrypt hashing algorithm.
+     * Hashes with a lower strength than configured are upgraded on the next successful login.
      *
+     * @param strength the BCrypt cost factor (log rounds)
      * @return an instance of BCryptPasswordEncoder
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        log.info("Creating PasswordEncoder bean with BCryptPasswordEncoder.");
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        log.info("Creating PasswordEncoder bean with BCryptPasswordEncoder of strength {}.", strength);
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -66,8 +71,13 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(
                         auth -> auth
+                                // Async dispatches resume a request that was authorized on its initial
+                                // dispatch, such as an event stream, and JwtRequestFilter does not run on them
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 // Publicly accessible endpoints without authentication
                                 .requestMatchers("/api/auth/login", "/api/create-user").permitAll()
+                                // Health and metrics scraping, served on the internal management port
+                                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                                 .requestMatchers("/api/auth/logout").authenticated() // Protect logout endpoint
                                 // All other endpoints require authentication
                                 .anyRequest().authenticated()
@@ -0,0 +1,94 @@
+package com.party_up.network.config.authentication;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.party_up.network.config.cache.BoundedTtlCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory cache of verified sessions, keyed by the SHA-256 hash of the JWT.
+ * <p>
+ * Lets {@link JwtRequestFilter} authenticate repeat requests without loading the user or the
+ * {@link com.party_up.network.model.AuthToken} from the database. Entries live until the configured TTL
+ * or the token's server-side expiration, whichever comes first, and are invalidated explicitly on logout.
+ * Invalidation is local to this instance, so the TTL bounds how long a revoked token stays usable on other nodes.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SessionCache {
+
+    private final BoundedTtlCache<String, CachedSession> cache;
+
+    /**
+     * Constructs the session cache.
+     *
+     * @param maxSize    the maximum number of cached sessions
+     * @param ttlSeconds the maximum time a session stays cached, in seconds
+     */
+    public SessionCache(@Value("${auth.session-cache.max-size:10000}") int maxSize,
+                        @Value("${auth.session-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.cache = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        log.info("Session cache initialized with max size {} and TTL {}s", maxSize, ttlSeconds);
+    }
+
+    /**
+     * Returns the cached session for the given token, or null if none is cached or it has expired.
+     *
+     * @param token the raw JWT string
+     * @return the cached session, or null
+     */
+    public CachedSession get(String token) {
+        String key = TokenHasher.hash(token);
+        CachedSession session = cache.get(key);
+        if (session != null && session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            cache.invalidate(key);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Caches a verified session for the given token.
+     *
+     * @param token   the raw JWT string
+     * @param session the verified session state
+     */
+    public void put(String token, CachedSession session) {
+        Duration untilExpiry = Duration.between(LocalDateTime.now(), session.getExpiresAt());
+        cache.put(TokenHasher.hash(token), session, untilExpiry);
+    }
+
+    /**
+     * Removes the cached session for the given token.
+     *
+     * @param token the raw JWT string
+     */
+    public void invalidate(String token) {
+        invalidateHash(TokenHasher.hash(token));
+    }
+
+    /**
+     * Removes the cached session for the token with the given hash.
+     *
+     * @param tokenHash the SHA-256 hash of the JWT string
+     */
+    public void invalidateHash(String tokenHash) {
+        cache.invalidate(tokenHash);
+        log.debug("Session cache entry invalidated");
+    }
+
+    /**
+     * Returns the underlying cache, for metrics and diagnostics.
+     *
+     * @return the backing cache
+     */
+    public BoundedTtlCache<String, CachedSession> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,287 @@
+package com.party_up.network.config.authentication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Keys;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared keyset used to sign and verify JWTs, so tokens issued by one instance validate on every other one.
+ * <p>
+ * Keys are HS256 secrets (Base64, at least 256 bits) identified by a key ID ({@code kid}). They are read from
+ * {@code auth.jwt.keys} as {@code kid:secret} pairs and/or from the properties file at {@code auth.jwt.keys-file}
+ * as {@code key.<kid>=<secret>} entries. New tokens are signed with the key selected by {@code active-kid} in
+ * the file or {@code auth.jwt.active-kid}, and carry its ID in the {@code kid} header. Every key of the set is
+ * accepted for verification and is looked up by the header's {@code kid}.
+ * </p>
+ * <p>
+ * The keys file is reloaded periodically, which allows rotation without a restart: add the new key, switch
+ * {@code active-kid} once every instance has picked it up, then remove the old key. A removed key keeps
+ * verifying for {@link JwtUtil#TOKEN_LIFETIME}, so tokens signed with it right before the rotation stay valid.
+ * </p>
+ * <p>
+ * When no keys are configured a random key is generated, which only works for a single instance and logs
+ * every user out on restart.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SigningKeyProvider extends LocatorAdapter<Key> {
+
+    private static final String GENERATED_KID = "local";
+
+    private static final String ACTIVE_KID_ENTRY = "active-kid";
+
+    private static final String KEY_ENTRY_PREFIX = "key.";
+
+    private final String inlineKeys;
+
+    private final String keysFile;
+
+    private final String defaultActiveKid;
+
+    // Parsed keys by kid together with the signing key ID; replaced as a whole on reload
+    private volatile KeySet keySet;
+
+    // Keys removed from the keyset, still accepted for verification until the given time
+    private final Map<String, RetiredKey> retiredKeys = new HashMap<>();
+
+    /**
+     * Constructs the provider and loads the configured keyset.
+     *
+     * @param inlineKeys       comma-separated {@code kid:secret} pairs
+     * @param keysFile         path to a properties file with {@code key.<kid>} and {@code active-kid} entries
+     * @param defaultActiveKid the ID of the signing key when the keys file does not select one
+     * @throws IllegalStateException if the keyset is invalid
+     */
+    public SigningKeyProvider(@Value("${auth.jwt.keys:}") String inlineKeys,
+                              @Value("${auth.jwt.keys-file:}") String keysFile,
+                              @Value("${auth.jwt.active-kid:}") String defaultActiveKid) {
+        this.inlineKeys = inlineKeys;
+        this.keysFile = keysFile;
+        this.defaultActiveKid = defaultActiveKid;
+
+        if (inlineKeys.isBlank() && keysFile.isBlank()) {
+            log.warn("No JWT signing keys configured, generating a key that is only valid on this instance");
+            this.keySet = new KeySet(GENERATED_KID, Map.of(GENERATED_KID, Jwts.SIG.HS256.key().build()));
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Returns the ID of the key used to sign new tokens.
+     *
+     * @return the active key ID
+     */
+    public String getActiveKid() {
+        return keySet.activeKid();
+    }
+
+    /**
+     * Signs a token with the active key and sets its ID as the {@code kid} header.
+     * Both are taken from the same keyset, so a concurrent reload cannot mismatch them.
+     *
+     * @param builder the builder of the token to sign
+     * @return the builder, for chaining
+     */
+    public JwtBuilder sign(JwtBuilder builder) {
+        KeySet current = keySet;
+        return builder.header().keyId(current.activeKid()).and()
+                .signWith(current.activeKey());
+    }
+
+    /**
+     * Resolves the verification key for a signed token by its {@code kid} header.
+     * Tokens without a {@code kid} are verified with the active key.
+     *
+     * @param header the header of the token being parsed
+     * @return the key the token must have been signed with
+     * @throws InvalidKeyException if the key ID is unknown
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        KeySet current = keySet;
+        String kid = header.getKeyId();
+        if (kid == null) {
+            return current.activeKey();
+        }
+        SecretKey key = current.keys().get(kid);
+        if (key != null) {
+            return key;
+        }
+        synchronized (retiredKeys) {
+            RetiredKey retired = retiredKeys.get(kid);
+            if (retired != null && retired.acceptedUntil().isAfter(Instant.now())) {
+                return retired.key();
+            }
+        }
+        throw new InvalidKeyException("Unknown JWT signing key: " + kid);
+    }
+
+    /**
+     * Reloads the keyset from the keys file, keeping removed keys for verification during the overlap window.
+     * Invalid keysets are logged and ignored, so a broken file never locks users out.
+     * Runs at a fixed delay configured by {@code auth.jwt.keys-reload-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${auth.jwt.keys-reload-interval-ms:60000}")
+    public void reload() {
+        if (keysFile.isBlank()) {
+            return;
+        }
+        try {
+            load();
+        } catch (IllegalStateException e) {
+            log.error("Failed to reload JWT signing keys, keeping the current keyset: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the keyset and replaces the current one.
+     *
+     * @throws IllegalStateException if the keyset cannot be read or is invalid
+     */
+    private synchronized void load() {
+        Map<String, String> secrets = new LinkedHashMap<>(parseInlineKeys());
+        String selectedKid = defaultActiveKid;
+        if (!keysFile.isBlank()) {
+            Properties properties = readKeysFile();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(KEY_ENTRY_PREFIX)) {
+                    secrets.put(name.substring(KEY_ENTRY_PREFIX.length()), properties.getProperty(name).trim());
+                }
+            }
+            selectedKid = properties.getProperty(ACTIVE_KID_ENTRY, selectedKid).trim();
+        }
+
+        Map<String, SecretKey> loaded = new HashMap<>();
+        secrets.forEach((kid, secret) -> loaded.put(kid, parseKey(kid, secret)));
+        if (selectedKid.isBlank() && loaded.size() == 1) {
+            selectedKid = loaded.keySet().iterator().next();
+        }
+        if (!loaded.containsKey(selectedKid)) {
+            throw new IllegalStateException("Active JWT signing key '" + selectedKid + "' is not in the keyset");
+        }
+
+        KeySet previous = keySet;
+        synchronized (retiredKeys) {
+            Instant now = Instant.now();
+            retiredKeys.values().removeIf(retired -> !retired.acceptedUntil().isAfter(now));
+            if (previous != null) {
+                previous.keys().forEach((kid, key) -> {
+                    if (!loaded.containsKey(kid)) {
+                        retiredKeys.put(kid, new RetiredKey(key, now.plus(JwtUtil.TOKEN_LIFETIME)));
+                        log.info("JWT signing key '{}' removed, accepting it until {}", kid,
+                                now.plus(JwtUtil.TOKEN_LIFETIME));
+                    }
+                });
+            }
+            loaded.keySet().forEach(retiredKeys::remove);
+        }
+
+        if (previous == null || !selectedKid.equals(previous.activeKid())) {
+            log.info("Signing JWTs with key '{}' ({} keys loaded)", selectedKid, loaded.size());
+        }
+        keySet = new KeySet(selectedKid, Collections.unmodifiableMap(loaded));
+    }
+
+    /**
+     * Parses the inline {@code kid:secret} pairs.
+     *
+     * @return the secrets by key ID
+     */
+    private Map<String, String> parseInlineKeys() {
+        Map<String, String> secrets = new LinkedHashMap<>();
+        for (String entry : inlineKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("JWT signing keys must be configured as kid:secret pairs");
+            }
+            secrets.put(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+        return secrets;
+    }
+
+    /**
+     * Reads the keys file.
+     *
+     * @return the file entries
+     */
+    private Properties readKeysFile() {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(keysFile))) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT keys file " + keysFile + ": " + e.getMessage(), e);
+        }
+        return properties;
+    }
+
+    /**
+     * Decodes a Base64 secret into an HMAC key.
+     *
+     * @param kid    the key ID, used in error messages
+     * @param secret the Base64-encoded secret
+     * @return the parsed key
+     */
+    private static SecretKey parseKey(String kid, String secret) {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Invalid JWT signing key '" + kid + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the keyset.
+     *
+     * @param activeKid the ID of the key used to sign new tokens
+     * @param keys      the keys accepted for verification, by ID
+     */
+    private record KeySet(String activeKid, Map<String, SecretKey> keys) {
+
+        /**
+         * Returns the key used to sign new tokens.
+         *
+         * @return the active key
+         */
+        SecretKey activeKey() {
+            return keys.get(activeKid);
+        }
+    }
+
+    /**
+     * A key removed from the keyset that is still accepted for verification.
+     *
+     * @param key           the key
+     * @param acceptedUntil the end of the overlap window
+     */
+    private record RetiredKey(SecretKey key, Instant acceptedUntil) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.party_up.network.config.authentication;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind tracker for {@link com.party_up.network.model.AuthToken#getLastUsedAt()} updates.
+ * <p>
+ * Requests only record the latest use time per token in memory. Pending updates are collapsed per token
+ * and periodically flushed as a single batched JDBC update, and flushed once more on shutdown.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenActivityTracker {
+
+    private static final String UPDATE_LAST_USED_SQL = "UPDATE auth_token SET last_used_at = ? WHERE id = ?";
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Constructs the tracker.
+     *
+     * @param jdbcTemplate the JDBC template used for batched updates
+     */
+    public TokenActivityTracker(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records that the given token was used now. Repeated calls before the next flush overwrite each other.
+     *
+     * @param authTokenId the ID of the used token
+     */
+    public void recordUse(Long authTokenId) {
+        if (authTokenId != null) {
+            pending.put(authTokenId, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Returns the number of tokens waiting to be flushed.
+     *
+     * @return the pending update count
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Flushes all pending updates in one JDBC batch.
+     * Runs at a fixed delay configured by {@code auth.token-activity.flush-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${auth.token-activity.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Drain only the values we write, so newer updates recorded meanwhile stay pending
+        List<Map.Entry<Long, LocalDateTime>> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(drained.size());
+        for (Map.Entry<Long, LocalDateTime> entry : drained) {
+            batchArgs.add(new Object[]{Timestamp.valueOf(entry.getValue()), entry.getKey()});
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_LAST_USED_SQL, batchArgs);
+            log.debug("Flushed last-used timestamps for {} auth tokens", batchArgs.size());
+        } catch (DataAccessException e) {
+            log.error("Failed to flush last-used timestamps for {} auth tokens: {}", batchArgs.size(), e.getMessage());
+            // Re-queue failed updates unless a newer one has been recorded in the meantime
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(),
+                    (current, failed) -> current.isAfter(failed) ? current : failed));
+        }
+    }
+
+    /**
+     * Flushes remaining updates when the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing {} pending auth token activity updates on shutdown", pending.size());
+        flush();
+    }
+}
@@ -0,0 +1,206 @@
+package com.party_up.network.config.authentication;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory deny-list of revoked token IDs ({@code jti}) for stateless token validation.
+ * <p>
+ * With {@code auth.token-validation.mode=STATELESS}, the signed {@code exp} claim is authoritative and
+ * {@link JwtRequestFilter} only consults this list instead of the {@code auth_token} table. Revoked IDs are
+ * grouped into time buckets by the expiry of their token, so whole buckets are dropped once every token in
+ * them has expired on its own. The list is loaded from the database once the application is ready and then
+ * polled for revocations made by other instances. Until the first load completes, {@link #isActive()}
+ * returns false and the filter keeps validating against the database.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TokenDenyList {
+
+    /**
+     * Defines how {@link JwtRequestFilter} checks that a token has not expired or been revoked.
+     */
+    public enum ValidationMode {
+
+        /**
+         * Look the token up in the {@code auth_token} table on every session cache miss.
+         */
+        DATABASE,
+
+        /**
+         * Trust the signed {@code exp} claim and check revocations against the in-memory deny-list.
+         */
+        STATELESS
+    }
+
+    private static final String REVOKED_SINCE_SQL =
+            "SELECT jti, created_at FROM auth_token WHERE revoked_at >= ? AND jti IS NOT NULL";
+
+    /**
+     * How far back each poll looks before the previous poll, covering revocations committed late.
+     */
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final long bucketSeconds;
+
+    private final NavigableMap<Long, Set<String>> bucketsByEnd = new ConcurrentSkipListMap<>();
+
+    private volatile boolean ready;
+
+    private volatile LocalDateTime lastPoll;
+
+    /**
+     * Constructs the deny-list and registers its size metric.
+     *
+     * @param jdbcTemplate   the JDBC template used to load revocations
+     * @param meterRegistry  the registry for the deny-list size metric
+     * @param mode           the configured token validation mode
+     * @param bucketDuration the width of the expiry buckets, in seconds
+     */
+    public TokenDenyList(JdbcTemplate jdbcTemplate,
+                         MeterRegistry meterRegistry,
+                         @Value("${auth.token-validation.mode:DATABASE}") ValidationMode mode,
+                         @Value("${auth.deny-list.bucket-seconds:300}") long bucketDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = mode == ValidationMode.STATELESS;
+        this.bucketSeconds = bucketDuration;
+
+        Gauge.builder("auth.deny-list.size", this, TokenDenyList::size)
+                .description("Revoked token IDs held in the deny-list")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether stateless validation is configured and the deny-list has been loaded.
+     *
+     * @return true if the filter may rely on the deny-list instead of the database
+     */
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    /**
+     * Returns whether the token with the given ID has been revoked.
+     * Tokens without an ID cannot be revoked and are therefore treated as revoked.
+     *
+     * @param jti the token ID
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return true;
+        }
+        for (Set<String> bucket : bucketsByEnd.values()) {
+            if (bucket.contains(jti)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a revoked token to the deny-list until the token expires on its own.
+     *
+     * @param jti       the token ID
+     * @param expiresAt when the token expires
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (!enabled || jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        long bucketEnd = Math.floorDiv(expiresAt.getEpochSecond(), bucketSeconds) * bucketSeconds + bucketSeconds;
+        bucketsByEnd.computeIfAbsent(bucketEnd, end -> ConcurrentHashMap.newKeySet()).add(jti);
+    }
+
+    /**
+     * Returns the number of revoked token IDs held.
+     *
+     * @return the deny-list size
+     */
+    public int size() {
+        return bucketsByEnd.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Loads the revocations of all tokens that have not expired yet.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minus(JwtUtil.TOKEN_LIFETIME);
+        try {
+            int loaded = loadRevokedSince(since);
+            ready = true;
+            log.info("Token deny-list loaded with {} revoked tokens", loaded);
+        } catch (DataAccessException e) {
+            log.error("Failed to load token deny-list, validating tokens against the database: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops expired buckets and picks up revocations made since the previous poll, e.g. by other instances.
+     * Runs at a fixed delay configured by {@code auth.deny-list.refresh-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${auth.deny-list.refresh-interval-ms:5000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        bucketsByEnd.headMap(Instant.now().getEpochSecond(), true).clear();
+        if (!ready) {
+            loadOnStartup();
+            return;
+        }
+        try {
+            loadRevokedSince(lastPoll.minus(POLL_OVERLAP));
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh token deny-list: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Adds every token revoked since the given time to the deny-list.
+     *
+     * @param since the earliest revocation time to load
+     * @return the number of loaded revocations
+     */
+    private int loadRevokedSince(LocalDateTime since) {
+        LocalDateTime pollStart = LocalDateTime.now();
+        int[] loaded = {0};
+        jdbcTemplate.query(REVOKED_SINCE_SQL, rs -> {
+            LocalDateTime createdAt = rs.getTimestamp("created_at").toLocalDateTime();
+            revoke(rs.getString("jti"), createdAt.plus(JwtUtil.TOKEN_LIFETIME)
+                    .atZone(ZoneId.systemDefault()).toInstant());
+            loaded[0]++;
+        }, Timestamp.valueOf(since));
+        lastPoll = pollStart;
+        return loaded[0];
+    }
+}
@@ -0,0 +1,31 @@
+package com.party_up.network.config.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for deriving a fixed-length, non-reversible key from a JWT string.
+ */
+public final class TokenHasher {
+
+    private TokenHasher() {
+    }
+
+    /**
+     * Hashes the given token with SHA-256.
+     *
+     * @param token the raw JWT string
+     * @return the lowercase hex encoded SHA-256 digest (64 characters)
+     */
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.party_up.network.config.cache.CachedUser;
+import com.party_up.network.config.cache.UserCache;
 import com.party_up.network.model.User;
 import com.party_up.network.repository.UserRepository;
 
@@ -22,13 +24,17 @@ public class UserDetailsServiceConfig implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    private final UserCache userCache;
+
     /**
      * Constructor for injecting the UserRepository dependency.
      *
      * @param userRepository the repository to interact with user data
+     * @param userCache the cache-aside store for user lookups
      */
-    public UserDetailsServiceConfig(UserRepository userRepository) {
+    public UserDetailsServiceConfig(UserRepository userRepository, UserCache userCache) {
         this.userRepository = userRepository;
+        this.userCache = userCache;
     }
 
     /**
@@ -40,19 +46,23 @@ public class UserDetailsServiceConfig implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository
-                .findByUsername(email)
-                .orElseThrow(() -> {
-                    log.warn("User not found with username: {}", email);
-                    return new UsernameNotFoundException("User not found with username: " + email);
-                });
-
-        log.info("User found: {}", user.getUsername());
+        CachedUser user = userCache.getByUsername(email);
+        if (user == null) {
+            User entity = userRepository
+                    .findByUsername(email)
+                    .orElseThrow(() -> {
+                        log.warn("User not found with username: {}", email);
+                        return new UsernameNotFoundException("User not found with username: " + email);
+                    });
+            user = CachedUser.from(entity);
+            userCache.put(user);
+            log.info("User found: {}", user.username());
+        }
 
         // Returning the user details with an empty authority list
         return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
+                user.username(),
+                user.password(),
                 Collections.emptyList() // Here you can specify user authorities if needed
         );
     }
@@ -0,0 +1,76 @@
+package com.party_up.network.config.authentication;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+import lombok.Getter;
+
+/**
+ * Result of a single, signature-verified parse of a JWT.
+ * <p>
+ * Instances are produced by {@link JwtUtil#parseToken(String)} and carry the raw token together
+ * with its verified claims, so the filter and downstream code never need to parse the token again.
+ * </p>
+ */
+@Getter
+public class VerifiedToken {
+
+    /**
+     * The raw (compact) JWT string.
+     */
+    private final String token;
+
+    /**
+     * The verified claims contained in the token.
+     */
+    private final Claims claims;
+
+    /**
+     * Constructs a VerifiedToken from a raw token and its verified claims.
+     *
+     * @param token  the raw JWT string
+     * @param claims the claims extracted from the verified token
+     */
+    public VerifiedToken(String token, Claims claims) {
+        this.token = token;
+        this.claims = claims;
+    }
+
+    /**
+     * Returns the username (subject) of the token.
+     *
+     * @return the subject claim
+     */
+    public String getUsername() {
+        return claims.getSubject();
+    }
+
+    /**
+     * Returns the unique ID (jti) of the token.
+     *
+     * @return the ID claim, or null for tokens issued without one
+     */
+    public String getId() {
+        return claims.getId();
+    }
+
+    /**
+     * Returns the expiration date of the token.
+     *
+     * @return the expiration claim
+     */
+    public Date getExpiration() {
+        return claims.getExpiration();
+    }
+
+    /**
+     * Checks if the token has expired.
+     *
+     * @return true if the expiration date is in the past, false otherwise
+     */
+    public boolean isExpired() {
+        Date expiration = getExpiration();
+        return expiration != null && expiration.before(new Date());
+    }
+}
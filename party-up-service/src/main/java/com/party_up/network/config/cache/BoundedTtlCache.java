@@ -0,0 +1,239 @@
+package com.party_up.network.config.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Thread-safe in-memory cache with a maximum size and time-to-live eviction.
+ * <p>
+ * Reads of live entries are lock-free. Entries expire after the configured TTL (or an earlier per-entry
+ * deadline), and when the cache is full the oldest inserted entries are evicted first. Every change to the
+ * entries and their insertion order happens under one lock, so removed keys never linger in the order.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+@Slf4j
+public class BoundedTtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    // Keys of the entries in insertion order; guarded by lock together with the changes to entries
+    private final Set<K> insertionOrder = new LinkedHashSet<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int maxSize;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a cache with the given size bound and time-to-live.
+     *
+     * @param maxSize the maximum number of entries held at once
+     * @param ttl     how long an entry stays valid after it is put
+     */
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * Constructs a cache with a custom nano-time source, mainly for tests.
+     *
+     * @param maxSize   the maximum number of entries held at once
+     * @param ttl       how long an entry stays valid after it is put
+     * @param nanoClock the monotonic clock used for expiry
+     */
+    public BoundedTtlCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached value for the given key, or null if absent or expired.
+     *
+     * @param key the key to look up
+     * @return the cached value, or null
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtNanos - nanoClock.getAsLong() <= 0) {
+            lock.lock();
+            try {
+                if (entries.remove(key, entry)) {
+                    insertionOrder.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Puts a value that expires after the cache TTL.
+     *
+     * @param key   the key
+     * @param value the value to cache
+     */
+    public void put(K key, V value) {
+        put(key, value, Duration.ofNanos(ttlNanos));
+    }
+
+    /**
+     * Puts a value that expires after the given duration, capped at the cache TTL.
+     *
+     * @param key        the key
+     * @param value      the value to cache
+     * @param timeToLive how long the entry should stay valid
+     */
+    public void put(K key, V value, Duration timeToLive) {
+        long entryTtl = Math.min(ttlNanos, timeToLive.toNanos());
+        if (entryTtl <= 0) {
+            return;
+        }
+        Entry<V> entry = new Entry<>(value, nanoClock.getAsLong() + entryTtl);
+        lock.lock();
+        try {
+            // A replaced key keeps its position; a new key goes to the end
+            if (entries.put(key, entry) == null) {
+                insertionOrder.add(key);
+                evictIfNeeded();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entry for the given key.
+     *
+     * @param key the key to invalidate
+     */
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            if (entries.remove(key) != null) {
+                insertionOrder.remove(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+            insertionOrder.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current number of entries, including ones that have expired but not been evicted yet.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of keys tracked in the insertion order, which always equals {@link #size()}.
+     * Exposed for tests.
+     *
+     * @return the number of tracked keys
+     */
+    int trackedKeyCount() {
+        lock.lock();
+        try {
+            return insertionOrder.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of lookups that found a live entry.
+     *
+     * @return the hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found no live entry.
+     *
+     * @return the miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted because the cache was full.
+     *
+     * @return the eviction count
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Evicts the oldest inserted entries until the cache is within its size bound. Called with the lock held.
+     */
+    private void evictIfNeeded() {
+        Iterator<K> oldest = insertionOrder.iterator();
+        while (insertionOrder.size() > maxSize && oldest.hasNext()) {
+            entries.remove(oldest.next());
+            oldest.remove();
+            evictions.increment();
+            log.debug("Evicted cache entry to stay within max size {}", maxSize);
+        }
+    }
+
+    /**
+     * Cached value together with its expiry deadline.
+     *
+     * @param value          the cached value
+     * @param expiresAtNanos the nano clock reading at which the entry expires
+     * @param <V>            the type of the cached value
+     */
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.party_up.network.config.cache;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.party_up.network.model.User;
+import com.party_up.network.model.enums.AccountStatus;
+
+/**
+ * Immutable snapshot of a {@link User} kept in the {@link UserCache}.
+ * <p>
+ * The snapshot leaves out the legacy profile image and the auth tokens, so cached users stay small and can be
+ * serialized to a shared cache backend.
+ * </p>
+ *
+ * @param id               the ID of the user
+ * @param username         the username of the user
+ * @param password         the encoded password of the user
+ * @param firstName        the first name of the user
+ * @param lastName         the last name of the user
+ * @param email            the email of the user
+ * @param status           the account status of the user
+ * @param birthDate        the birthdate of the user
+ * @param age              the age of the user
+ * @param bio              the bio of the user profile
+ * @param createdAt        when the user was created
+ * @param lastUpdatedAt    when the user was last updated
+ * @param imageHash        the content hash of the profile image, or null
+ * @param imageContentType the content type of the profile image, or null
+ */
+public record CachedUser(Long id, String username, String password, String firstName, String lastName,
+                         String email, AccountStatus status, LocalDate birthDate, int age, String bio,
+                         LocalDateTime createdAt, LocalDateTime lastUpdatedAt, String imageHash,
+                         String imageContentType) implements Serializable {
+
+    /**
+     * Creates a snapshot of a user entity.
+     *
+     * @param user the user entity
+     * @return the snapshot
+     */
+    public static CachedUser from(User user) {
+        return new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getFirstName(),
+                user.getLastName(), user.getEmail(), user.getStatus(), user.getBirthDate(), user.getAge(),
+                user.getBio(), user.getCreatedAt(), user.getLastUpdatedAt(), user.getImageHash(),
+                user.getImageContentType());
+    }
+
+    /**
+     * Creates a detached User from the snapshot. It can be used to reference the user in queries and
+     * relationships, but must not be saved, since the legacy image and auth tokens are not populated.
+     *
+     * @return a detached User
+     */
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword(password);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        user.setEmail(email);
+        user.setStatus(status);
+        user.setBirthDate(birthDate);
+        user.setAge(age);
+        user.setBio(bio);
+        user.setCreatedAt(createdAt);
+        user.setLastUpdatedAt(lastUpdatedAt);
+        user.setImageHash(imageHash);
+        user.setImageContentType(imageContentType);
+        return user;
+    }
+}
@@ -0,0 +1,79 @@
+package com.party_up.network.config.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-process {@link UserCache} backed by {@link BoundedTtlCache}.
+ * <p>
+ * Users are stored once by ID; the username index only maps to the ID, so invalidating an ID is enough
+ * to drop both lookups. Selected with {@code user-cache.type=local} (the default).
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "user-cache.type", havingValue = "local", matchIfMissing = true)
+public class LocalUserCache implements UserCache {
+
+    private final BoundedTtlCache<Long, CachedUser> usersById;
+
+    private final BoundedTtlCache<String, Long> idsByUsername;
+
+    private final UserCacheMetrics metrics;
+
+    /**
+     * Constructs the cache and registers its metrics.
+     *
+     * @param meterRegistry the registry for cache metrics
+     * @param maxSize       the maximum number of cached users
+     * @param ttlSeconds    how long a user stays cached, in seconds
+     */
+    public LocalUserCache(MeterRegistry meterRegistry,
+                          @Value("${user-cache.max-size:10000}") int maxSize,
+                          @Value("${user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.usersById = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.idsByUsername = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        this.metrics = new UserCacheMetrics(meterRegistry, "local");
+
+        Gauge.builder("user.cache.size", usersById, BoundedTtlCache::size)
+                .description("Users held in the local user cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("user.cache.evictions", usersById, BoundedTtlCache::evictionCount)
+                .description("Users evicted from the local user cache because it was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CachedUser getById(Long id) {
+        return metrics.record(usersById.get(id));
+    }
+
+    @Override
+    public CachedUser getByUsername(String username) {
+        Long id = idsByUsername.get(username);
+        CachedUser user = id != null ? usersById.get(id) : null;
+        // The username may have been reassigned since the index entry was written
+        if (user != null && !username.equals(user.username())) {
+            user = null;
+        }
+        return metrics.record(user);
+    }
+
+    @Override
+    public void put(CachedUser user) {
+        usersById.put(user.id(), user);
+        idsByUsername.put(user.username(), user.id());
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        usersById.invalidate(id);
+        metrics.invalidated();
+    }
+}
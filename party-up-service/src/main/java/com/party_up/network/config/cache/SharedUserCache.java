@@ -0,0 +1,73 @@
+package com.party_up.network.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * {@link UserCache} backed by a named cache of the application's {@link CacheManager}, so several
+ * instances can share one cache (e.g. Redis). Expiry and size limits are configured on the backend.
+ * <p>
+ * Selected with {@code user-cache.type=shared}; requires a {@link CacheManager} bean.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "user-cache.type", havingValue = "shared")
+public class SharedUserCache implements UserCache {
+
+    private static final String ID_PREFIX = "id:";
+
+    private static final String USERNAME_PREFIX = "username:";
+
+    private final Cache cache;
+
+    private final UserCacheMetrics metrics;
+
+    /**
+     * Constructs the cache on top of the given cache manager.
+     *
+     * @param cacheManager  the cache manager providing the backend
+     * @param meterRegistry the registry for cache metrics
+     * @param cacheName     the name of the cache holding users
+     */
+    public SharedUserCache(CacheManager cacheManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${user-cache.cache-name:users}") String cacheName) {
+        this.cache = cacheManager.getCache(cacheName);
+        if (this.cache == null) {
+            throw new IllegalStateException("Cache manager has no cache named " + cacheName);
+        }
+        this.metrics = new UserCacheMetrics(meterRegistry, "shared");
+    }
+
+    @Override
+    public CachedUser getById(Long id) {
+        return metrics.record(cache.get(ID_PREFIX + id, CachedUser.class));
+    }
+
+    @Override
+    public CachedUser getByUsername(String username) {
+        Long id = cache.get(USERNAME_PREFIX + username, Long.class);
+        CachedUser user = id != null ? cache.get(ID_PREFIX + id, CachedUser.class) : null;
+        if (user != null && !username.equals(user.username())) {
+            user = null;
+        }
+        return metrics.record(user);
+    }
+
+    @Override
+    public void put(CachedUser user) {
+        cache.put(ID_PREFIX + user.id(), user);
+        cache.put(USERNAME_PREFIX + user.username(), user.id());
+    }
+
+    @Override
+    public void invalidate(Long id) {
+        cache.evict(ID_PREFIX + id);
+        metrics.invalidated();
+    }
+}
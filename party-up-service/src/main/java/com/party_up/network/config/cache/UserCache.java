@@ -0,0 +1,43 @@
+package com.party_up.network.config.cache;
+
+/**
+ * Cache-aside store for user lookups by ID and by username.
+ * <p>
+ * Callers look the user up here first and put the snapshot after loading it from the database.
+ * Implementations are selected with {@code user-cache.type}: {@code local} (default) keeps a bounded
+ * in-process near-cache, {@code shared} uses a Spring {@link org.springframework.cache.CacheManager}
+ * backend such as Redis.
+ * </p>
+ */
+public interface UserCache {
+
+    /**
+     * Returns the cached user with the given ID.
+     *
+     * @param id the ID of the user
+     * @return the cached user, or null if not cached
+     */
+    CachedUser getById(Long id);
+
+    /**
+     * Returns the cached user with the given username.
+     *
+     * @param username the username of the user
+     * @return the cached user, or null if not cached
+     */
+    CachedUser getByUsername(String username);
+
+    /**
+     * Caches a user under both its ID and username.
+     *
+     * @param user the user snapshot
+     */
+    void put(CachedUser user);
+
+    /**
+     * Removes a user from the cache, e.g. after it was updated.
+     *
+     * @param id the ID of the user
+     */
+    void invalidate(Long id);
+}
@@ -0,0 +1,38 @@
+package com.party_up.network.config.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import com.party_up.network.model.User;
+
+/**
+ * JPA entity listener that drops users from the {@link UserCache} whenever the entity is updated or removed.
+ * Bulk JPQL updates bypass entity listeners and have to invalidate the cache explicitly.
+ */
+public class UserCacheInvalidationListener {
+
+    private final ObjectProvider<UserCache> userCache;
+
+    /**
+     * Constructs the listener. The cache is resolved lazily because listeners are created together with
+     * the entity manager factory.
+     *
+     * @param userCache provider of the user cache
+     */
+    public UserCacheInvalidationListener(ObjectProvider<UserCache> userCache) {
+        this.userCache = userCache;
+    }
+
+    /**
+     * Invalidates the cached copy of a changed user.
+     *
+     * @param user the updated or removed user
+     */
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        userCache.ifAvailable(cache -> cache.invalidate(user.getId()));
+    }
+}
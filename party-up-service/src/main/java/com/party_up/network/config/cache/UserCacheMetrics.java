@@ -0,0 +1,61 @@
+package com.party_up.network.config.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hit, miss and invalidation counters shared by the {@link UserCache} implementations.
+ */
+class UserCacheMetrics {
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter invalidations;
+
+    /**
+     * Registers the counters, tagged with the cache backend.
+     *
+     * @param meterRegistry the registry to register with
+     * @param backend       the name of the cache backend
+     */
+    UserCacheMetrics(MeterRegistry meterRegistry, String backend) {
+        this.hits = Counter.builder("user.cache.requests")
+                .description("User cache lookups")
+                .tag("backend", backend)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("user.cache.requests")
+                .description("User cache lookups")
+                .tag("backend", backend)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("user.cache.invalidations")
+                .description("Users removed from the cache after an update")
+                .tag("backend", backend)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the outcome of a lookup.
+     *
+     * @param user the looked up user, null on a miss
+     * @return the given user
+     */
+    CachedUser record(CachedUser user) {
+        if (user != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return user;
+    }
+
+    /**
+     * Records an invalidation.
+     */
+    void invalidated() {
+        invalidations.increment();
+    }
+}
@@ -2,6 +2,7 @@ package com.party_up.network.config.db;
 
 import java.time.LocalDate;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -14,25 +15,52 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Database seeder for injecting initial data into the application.
- * This seeder inserts a set of default users if no users exist in the database.
+ * This seeder inserts a set of default users if no users exist in the database, or with
+ * {@code seed.mode=SYNTHETIC} a large generated social graph from {@link SyntheticGraphSeeder}.
  */
 @Slf4j
 @Component
 public class DatabaseSeeder implements CommandLineRunner {
 
+    /**
+     * Defines what is inserted into an empty database.
+     */
+    public enum SeedMode {
+
+        /**
+         * A handful of fixed test users.
+         */
+        DEFAULT,
+
+        /**
+         * A generated, benchmark-sized social graph.
+         */
+        SYNTHETIC
+    }
+
     private final UserRepository userRepository;
 
     private final PasswordEncoder passwordEncoder;
 
+    private final SyntheticGraphSeeder syntheticGraphSeeder;
+
+    private final SeedMode seedMode;
+
     /**
      * Constructor for injecting dependencies.
      *
-     * @param userRepository  the repository for user data
-     * @param passwordEncoder encoder for securely hashing passwords
+     * @param userRepository       the repository for user data
+     * @param passwordEncoder      encoder for securely hashing passwords
+     * @param syntheticGraphSeeder generator of the synthetic social graph
+     * @param seedMode             what to insert into an empty database
      */
-    public DatabaseSeeder(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DatabaseSeeder(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                          SyntheticGraphSeeder syntheticGraphSeeder,
+                          @Value("${seed.mode:DEFAULT}") SeedMode seedMode) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.syntheticGraphSeeder = syntheticGraphSeeder;
+        this.seedMode = seedMode;
     }
 
     /**
@@ -42,7 +70,9 @@ public class DatabaseSeeder implements CommandLineRunner {
      */
     @Override
     public void run(String... args) {
-        if (userRepository.count() == 0) {
+        if (userRepository.count() == 0 && seedMode == SeedMode.SYNTHETIC) {
+            syntheticGraphSeeder.seed();
+        } else if (userRepository.count() == 0) {
             User user1 = new User(17, "my test bio", LocalDate.parse("2001-09-13"),
                     "johny", passwordEncoder.encode("Password123!"),
                     "John", "Doe", "john.doe@example.com", AccountStatus.ACTIVE);
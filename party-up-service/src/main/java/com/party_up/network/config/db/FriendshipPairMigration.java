@@ -0,0 +1,112 @@
+package com.party_up.network.config.db;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Normalizes existing friendship rows to the canonical (lower ID, higher ID) key on startup.
+ * <p>
+ * Rows created before the canonical ordering stored the requester as {@code user_one_id}, so that is copied
+ * to {@code requester_id} first. If a pair was stored in both orientations, only one row is kept: the
+ * ACCEPTED one, otherwise the one already in canonical order. The remaining reversed rows are then swapped.
+ * </p>
+ * <p>
+ * The table is walked in primary key ranges of bounded size, each statement committing on its own, so no
+ * step holds its locks for long. A completed run is recorded in the {@code data_migrations} table and later
+ * startups only look up that row by primary key; friendships written since are canonical already. All steps
+ * are idempotent: a run interrupted part way is not recorded and is repeated by the next startup.
+ * </p>
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class FriendshipPairMigration implements CommandLineRunner {
+
+    private static final String MIGRATION_NAME = "friendship-canonical-pairs";
+
+    private static final String CREATE_MARKER_TABLE_SQL = "CREATE TABLE IF NOT EXISTS data_migrations ("
+            + "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at TIMESTAMP NOT NULL)";
+
+    private static final String FIND_MARKER_SQL = "SELECT 1 FROM data_migrations WHERE name = ?";
+
+    // Ignored if another instance finished the same migration concurrently
+    private static final String INSERT_MARKER_SQL =
+            "INSERT IGNORE INTO data_migrations (name, applied_at) VALUES (?, CURRENT_TIMESTAMP)";
+
+    private static final String ID_RANGE_SQL = "SELECT MIN(id), MAX(id) FROM friendships";
+
+    private static final String FILL_REQUESTER_SQL = "UPDATE friendships SET requester_id = user_one_id "
+            + "WHERE id BETWEEN ? AND ? AND requester_id IS NULL";
+
+    // A reversed ACCEPTED row wins over a canonical row that is not accepted
+    private static final String DELETE_SUPERSEDED_CANONICAL_SQL = "DELETE c FROM friendships c "
+            + "JOIN friendships r ON r.user_one_id = c.user_two_id AND r.user_two_id = c.user_one_id "
+            + "WHERE r.id BETWEEN ? AND ? AND r.user_one_id > r.user_two_id "
+            + "AND r.status = 'ACCEPTED' AND c.status <> 'ACCEPTED'";
+
+    private static final String DELETE_DUPLICATE_REVERSED_SQL = "DELETE r FROM friendships r "
+            + "JOIN friendships c ON c.user_one_id = r.user_two_id AND c.user_two_id = r.user_one_id "
+            + "WHERE r.id BETWEEN ? AND ? AND r.user_one_id > r.user_two_id";
+
+    // MySQL applies single-table SET assignments left to right, so the swap reads the old values from a
+    // materialized derived table
+    private static final String SWAP_REVERSED_SQL = "UPDATE friendships f JOIN ("
+            + "SELECT id, user_one_id, user_two_id FROM friendships "
+            + "WHERE id BETWEEN ? AND ? AND user_one_id > user_two_id"
+            + ") r ON f.id = r.id SET f.user_one_id = r.user_two_id, f.user_two_id = r.user_one_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    /**
+     * Constructor for injecting dependencies.
+     *
+     * @param jdbcTemplate the JDBC template used for the bulk updates
+     * @param batchSize    the number of primary key values covered by each batch of statements
+     */
+    public FriendshipPairMigration(JdbcTemplate jdbcTemplate,
+                                   @Value("${friendship.migration.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Runs on application startup, before the friend graph index is loaded.
+     *
+     * @param args command line arguments
+     */
+    @Override
+    public void run(String... args) {
+        jdbcTemplate.execute(CREATE_MARKER_TABLE_SQL);
+        if (!jdbcTemplate.queryForList(FIND_MARKER_SQL, MIGRATION_NAME).isEmpty()) {
+            log.debug("Friendships already normalized");
+            return;
+        }
+
+        // MIN and MAX are NULL for an empty table, read as 0, and the loop covers the empty range once
+        long[] ids = jdbcTemplate.queryForObject(ID_RANGE_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+
+        int requesters = 0;
+        int duplicates = 0;
+        int swapped = 0;
+        for (long from = ids[0]; from <= ids[1]; from += batchSize) {
+            long to = from + batchSize - 1;
+            requesters += jdbcTemplate.update(FILL_REQUESTER_SQL, from, to);
+            duplicates += jdbcTemplate.update(DELETE_SUPERSEDED_CANONICAL_SQL, from, to)
+                    + jdbcTemplate.update(DELETE_DUPLICATE_REVERSED_SQL, from, to);
+            swapped += jdbcTemplate.update(SWAP_REVERSED_SQL, from, to);
+        }
+
+        jdbcTemplate.update(INSERT_MARKER_SQL, MIGRATION_NAME);
+        log.info("Normalized friendships: {} requesters filled, {} duplicates removed, {} pairs reordered",
+                requesters, duplicates, swapped);
+    }
+}
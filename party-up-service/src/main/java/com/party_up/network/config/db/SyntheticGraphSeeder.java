@@ -0,0 +1,355 @@
+package com.party_up.network.config.db;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.party_up.network.model.enums.AccountStatus;
+import com.party_up.network.model.enums.FriendshipStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Generates a large synthetic social graph for benchmarks, used by {@link DatabaseSeeder} in SYNTHETIC mode.
+ * <p>
+ * Users get IDs 1..N and each user befriends about {@code friends-per-user} users with lower IDs. Partners
+ * are drawn with a Zipf-like weight by ID, so friend counts follow a power law: a long tail of users with
+ * few friends and a head of popular ones. The first {@code celebrities} users get a much larger weight and
+ * end up in a large share of all friend lists. A {@code pending-ratio} share of the friendships is left
+ * PENDING. Rows are stored in canonical order (lower ID first) with explicit IDs, so the same seed always
+ * produces the same tables.
+ * </p>
+ * <p>
+ * Rows are written with JDBC batch inserts on {@code writer-threads} connections; add
+ * {@code rewriteBatchedStatements=true} to the MySQL URL so every batch is sent as one multi-row insert.
+ * All synthetic users share one password, which is hashed once instead of once per user.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SyntheticGraphSeeder {
+
+    // Weight of the n-th regular user is n^-ZIPF_EXPONENT
+    private static final double ZIPF_EXPONENT = 0.5;
+
+    private static final int MAX_DRAW_ROUNDS = 4;
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final long SECONDS_PER_YEAR = 365L * 24 * 60 * 60;
+
+    private static final String[] FIRST_NAMES = {
+        "Ana", "Ivan", "Marko", "Petra", "Luka", "Sara", "Nikola", "Maja", "Filip", "Ivana",
+        "John", "Emma", "Liam", "Olivia", "Noah", "Mia", "Lucas", "Sofia", "Elias", "Zoe"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Horvat", "Kovac", "Babic", "Maric", "Juric", "Novak", "Knezevic", "Vukovic", "Markovic", "Petrovic",
+        "Smith", "Johnson", "Brown", "Miller", "Garcia", "Martin", "Muller", "Rossi", "Dubois", "Silva"
+    };
+
+    static final String INSERT_USER_SQL = "INSERT INTO `user` "
+            + "(id, username, password, first_name, last_name, email, status, age, bio, birth_date, created_at, "
+            + "last_updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String INSERT_FRIENDSHIP_SQL = "INSERT INTO friendships "
+            + "(id, user_one_id, user_two_id, requester_id, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final int users;
+
+    private final int friendsPerUser;
+
+    private final int celebrities;
+
+    private final double celebrityWeight;
+
+    private final double pendingRatio;
+
+    private final long seed;
+
+    private final int batchSize;
+
+    private final int writerThreads;
+
+    private final String password;
+
+    /**
+     * Constructs the seeder.
+     *
+     * @param jdbcTemplate    the JDBC template used for the batch inserts
+     * @param passwordEncoder encoder for the shared password
+     * @param users           the number of users to generate
+     * @param friendsPerUser  the average number of friendships each user starts
+     * @param celebrities     the number of users with a celebrity weight
+     * @param celebrityWeight the weight of a celebrity, relative to the most popular regular user
+     * @param pendingRatio    the share of friendships left PENDING
+     * @param seed            the random seed
+     * @param batchSize       the number of rows per JDBC batch
+     * @param writerThreads   the number of connections writing batches in parallel
+     * @param password        the password of every synthetic user
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public SyntheticGraphSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                                @Value("${seed.synthetic.users:1000000}") int users,
+                                @Value("${seed.synthetic.friends-per-user:50}") int friendsPerUser,
+                                @Value("${seed.synthetic.celebrities:10}") int celebrities,
+                                @Value("${seed.synthetic.celebrity-weight:5}") double celebrityWeight,
+                                @Value("${seed.synthetic.pending-ratio:0.1}") double pendingRatio,
+                                @Value("${seed.synthetic.seed:42}") long seed,
+                                @Value("${seed.synthetic.batch-size:5000}") int batchSize,
+                                @Value("${seed.synthetic.writer-threads:4}") int writerThreads,
+                                @Value("${seed.synthetic.password:Password123!}") String password) {
+        if (users <= 0 || friendsPerUser <= 0 || celebrities < 0 || celebrityWeight <= 0
+                || pendingRatio < 0 || pendingRatio > 1 || batchSize <= 0 || writerThreads <= 0) {
+            throw new IllegalArgumentException("Invalid synthetic seed settings");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.users = users;
+        this.friendsPerUser = friendsPerUser;
+        this.celebrities = celebrities;
+        this.celebrityWeight = celebrityWeight;
+        this.pendingRatio = pendingRatio;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.writerThreads = writerThreads;
+        this.password = password;
+    }
+
+    /**
+     * Generates and inserts the users, then their friendships. Expects both tables to be empty.
+     *
+     * @throws IllegalStateException if an insert fails
+     */
+    public void seed() {
+        log.info("Seeding synthetic graph: {} users, ~{} friendships per user, seed {}",
+                users, friendsPerUser, seed);
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom userRandom = random.split();
+        SplittableRandom friendshipRandom = random.split();
+
+        long start = System.nanoTime();
+        String passwordHash = passwordEncoder.encode(password);
+        // Users are written completely before any friendship references them
+        try (BatchWriter writer = new BatchWriter(INSERT_USER_SQL)) {
+            generateUsers(userRandom, passwordHash, writer);
+        }
+        log.info("Inserted {} synthetic users in {} s", users, (System.nanoTime() - start) / 1_000_000_000);
+
+        start = System.nanoTime();
+        long friendships;
+        try (BatchWriter writer = new BatchWriter(INSERT_FRIENDSHIP_SQL)) {
+            friendships = generateFriendships(friendshipRandom, writer);
+        }
+        log.info("Inserted {} synthetic friendships in {} s",
+                friendships, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    /**
+     * Generates one user row per ID.
+     *
+     * @param random       the random source
+     * @param passwordHash the shared password hash
+     * @param sink         receives the rows, in ID order
+     */
+    void generateUsers(SplittableRandom random, String passwordHash, Consumer<Object[]> sink) {
+        for (long id = 1; id <= users; id++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String username = (firstName + "_" + lastName + id).toLowerCase();
+            int age = 18 + random.nextInt(40);
+            LocalDate birthDate = BASE_TIME.toLocalDate().minusYears(age).minusDays(random.nextInt(365));
+            LocalDateTime createdAt = BASE_TIME.plusSeconds(random.nextLong(SECONDS_PER_YEAR));
+            sink.accept(new Object[]{id, username, passwordHash, firstName, lastName, username + "@example.com",
+                    AccountStatus.ACTIVE.name(), age, "Synthetic user", birthDate, createdAt, createdAt});
+        }
+    }
+
+    /**
+     * Generates the friendships. Each user picks its partners among the users with lower IDs, so every pair
+     * is generated once and already in canonical order.
+     *
+     * @param random the random source
+     * @param sink   receives the rows, in ID order
+     * @return the number of generated friendships
+     */
+    long generateFriendships(SplittableRandom random, Consumer<Object[]> sink) {
+        double[] cumulativeWeights = cumulativeWeights();
+        int[] partners = new int[2 * friendsPerUser];
+        long friendshipId = 0;
+        for (int user = 1; user < users; user++) {
+            // Uniform between 1 and 2 * friendsPerUser - 1, so the mean is friendsPerUser
+            int count = Math.min(user, 1 + random.nextInt(2 * friendsPerUser - 1));
+            int distinct = drawPartners(cumulativeWeights, user, partners, count, random);
+            for (int i = 0; i < distinct; i++) {
+                sink.accept(friendshipRow(++friendshipId, partners[i] + 1L, user + 1L, random));
+            }
+        }
+        return friendshipId;
+    }
+
+    /**
+     * Draws distinct partners among the users before {@code user}, proportionally to their weights.
+     * Repeated draws of the same partner are drawn again a few times, so popular users do not make
+     * their friends' lists shorter.
+     *
+     * @param cumulativeWeights the running sum of the user weights
+     * @param user              the index (ID - 1) of the user the partners are drawn for
+     * @param partners          the buffer receiving the partner indexes
+     * @param count             the number of partners to draw
+     * @param random            the seeded random source
+     * @return the number of distinct partners, sorted at the start of {@code partners}
+     */
+    private static int drawPartners(double[] cumulativeWeights, int user, int[] partners, int count,
+                                    SplittableRandom random) {
+        int distinct = 0;
+        for (int round = 0; round < MAX_DRAW_ROUNDS && distinct < count; round++) {
+            for (int i = distinct; i < count; i++) {
+                partners[i] = samplePartner(cumulativeWeights, user, random);
+            }
+            Arrays.sort(partners, 0, count);
+            distinct = 0;
+            for (int i = 0; i < count; i++) {
+                if (i == 0 || partners[i] != partners[i - 1]) {
+                    partners[distinct++] = partners[i];
+                }
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Computes the running sum of the user weights, indexed by user ID - 1.
+     *
+     * @return the cumulative weights
+     */
+    private double[] cumulativeWeights() {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int i = 0; i < users; i++) {
+            sum += i < celebrities ? celebrityWeight : Math.pow(i - celebrities + 1, -ZIPF_EXPONENT);
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    /**
+     * Draws a partner among the users before {@code user}, proportionally to their weights.
+     *
+     * @param cumulativeWeights the running sum of the user weights
+     * @param user              the index (ID - 1) of the user the partner is drawn for
+     * @param random            the seeded random source
+     * @return the index (ID - 1) of the partner
+     */
+    private static int samplePartner(double[] cumulativeWeights, int user, SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeWeights[user - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, 0, user, target);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private Object[] friendshipRow(long id, long userOneId, long userTwoId, SplittableRandom random) {
+        FriendshipStatus status = random.nextDouble() < pendingRatio ? FriendshipStatus.PENDING
+                : FriendshipStatus.ACCEPTED;
+        long requesterId = random.nextBoolean() ? userOneId : userTwoId;
+        LocalDateTime createdAt = BASE_TIME.plusSeconds(random.nextLong(SECONDS_PER_YEAR));
+        return new Object[]{id, userOneId, userTwoId, requesterId, status.name(), createdAt, createdAt};
+    }
+
+    /**
+     * Collects rows into batches and inserts them on a small pool of writer threads.
+     * When all writers are busy the generating thread inserts the batch itself, which bounds memory use.
+     */
+    private final class BatchWriter implements Consumer<Object[]>, AutoCloseable {
+
+        private final String sql;
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+        private List<Object[]> batch = new ArrayList<>(batchSize);
+
+        private BatchWriter(String sql) {
+            this.sql = sql;
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(writerThreads), runnable -> {
+                        Thread thread = new Thread(runnable, "synthetic-seeder-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        /**
+         * Adds a row, submitting the batch once it is full.
+         *
+         * @param row the row arguments
+         */
+        @Override
+        public void accept(Object[] row) {
+            batch.add(row);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (failure.get() != null) {
+                throw new IllegalStateException("Synthetic seeding failed", failure.get());
+            }
+            List<Object[]> rows = batch;
+            batch = new ArrayList<>(batchSize);
+            executor.execute(() -> {
+                try {
+                    jdbcTemplate.batchUpdate(sql, rows);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+
+        /**
+         * Writes the last batch and waits until every batch is inserted.
+         *
+         * @throws IllegalStateException if a batch failed or the wait was interrupted
+         */
+        @Override
+        public void close() {
+            try {
+                if (!batch.isEmpty()) {
+                    flush();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while seeding", e);
+            }
+            if (failure.get() != null) {
+                throw new IllegalStateException("Synthetic seeding failed", failure.get());
+            }
+        }
+    }
+}
@@ -1,22 +1,24 @@
 package com.party_up.network.config.interceptor;
 
-import java.io.IOException;
-import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import io.micrometer.common.lang.NonNull;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import com.party_up.network.config.log_cached_body.request.CachedBodyHttpServletRequest;
+import com.party_up.network.config.log_cached_body.request.RequestBodyCacheFilter;
 import com.party_up.network.config.log_cached_body.response.CachedBodyHttpServletResponse;
+import com.party_up.network.config.log_cached_body.response.ResponseCaptureFilter;
 import com.party_up.network.model.RequestResponseLog;
-import com.party_up.network.repository.RequestResponseLogRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -25,39 +27,65 @@ import lombok.extern.slf4j.Slf4j;
  * <p>
  * This interceptor logs requests and responses for auditing and monitoring purposes,
  * excluding certain endpoints configured in {@link ExcludedEndpointsConfig}.
+ * The request half of an entry is kept in a request attribute and completed after the response,
+ * then handed to {@link RequestLogWriter} for asynchronous persistence.
  * </p>
  */
 @Slf4j
 @Component
 public class LogInterceptor implements HandlerInterceptor {
 
-    private final RequestResponseLogRepository requestResponseLogRepository;
+    /**
+     * Request attribute holding the in-flight log entry.
+     */
+    static final String LOG_ENTRY_ATTRIBUTE = LogInterceptor.class.getName() + ".logEntry";
+
+    /**
+     * Request attribute holding the {@link System#nanoTime()} at which the request was received.
+     */
+    static final String START_NANOS_ATTRIBUTE = LogInterceptor.class.getName() + ".startNanos";
+
+    private final RequestLogWriter requestLogWriter;
+
+    private final DistributionSummary requestBodySize;
+
+    private final DistributionSummary responseBodySize;
 
     @Autowired
     private ExcludedEndpointsConfig excludedEndpointsConfig;
 
     /**
-     * Constructs the LogInterceptor with the required repository.
+     * Constructs the LogInterceptor with the required writer.
      *
-     * @param requestResponseLogRepository Repository for storing request-response logs.
+     * @param requestLogWriter Asynchronous writer for request-response logs.
+     * @param meterRegistry Registry for the captured body size metrics.
      */
-    public LogInterceptor(RequestResponseLogRepository requestResponseLogRepository) {
-        this.requestResponseLogRepository = requestResponseLogRepository;
+    public LogInterceptor(RequestLogWriter requestLogWriter, MeterRegistry meterRegistry) {
+        this.requestLogWriter = requestLogWriter;
+        this.requestBodySize = bodySizeSummary(meterRegistry, "request");
+        this.responseBodySize = bodySizeSummary(meterRegistry, "response");
+    }
+
+    private static DistributionSummary bodySizeSummary(MeterRegistry meterRegistry, String direction) {
+        return DistributionSummary.builder("http.body.size")
+                .description("Size of logged HTTP bodies, including bytes beyond the capture limit")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(meterRegistry);
     }
 
     /**
-     * Intercepts each incoming request to log its details before processing.
+     * Intercepts each incoming request to capture its details before processing.
      *
      * @param request  the current HTTP request
      * @param response the current HTTP response
      * @param handler  the chosen handler to execute, for type and/or instance evaluation
      * @return true if the request should proceed to the handler, false otherwise
-     * @throws IOException if an input or output error occurs while reading the request body
      */
     @Override
     public boolean preHandle(HttpServletRequest request,
                              @NonNull HttpServletResponse response,
-                             @NonNull Object handler) throws IOException {
+                             @NonNull Object handler) {
         String requestUri = request.getRequestURI();
         log.info("Received request for URI: {}", requestUri);
 
@@ -67,27 +95,20 @@ public class LogInterceptor implements HandlerInterceptor {
             return true;
         }
 
-        // Wrap request to cache the body for logging
-        CachedBodyHttpServletRequest cachedBodyHttpServletRequest = new CachedBodyHttpServletRequest(request);
-
-        String requestBody = new String(cachedBodyHttpServletRequest.getInputStream().readAllBytes());
-
-        // Log request details
+        // Capture request details; the body and response are added once the request is complete
         RequestResponseLog logg = new RequestResponseLog();
         logg.setMethod(request.getMethod());
-        logg.setEndpoint(request.getRequestURI());
-        logg.setRequestBody(requestBody);
+        logg.setEndpoint(requestUri);
         logg.setTimestamp(LocalDateTime.now());
 
-        // Save the log entry to the database
-        requestResponseLogRepository.save(logg);
-        log.info("Request details saved to log: [Method: {}, URI: {}]", request.getMethod(), requestUri);
+        request.setAttribute(LOG_ENTRY_ATTRIBUTE, logg);
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
 
         return true;
     }
 
     /**
-     * Finalizes request logging after request completion, capturing response details.
+     * Completes the log entry started in {@link #preHandle} with response details and queues it for writing.
      *
      * @param request  the current HTTP request
      * @param response the current HTTP response
@@ -99,51 +120,42 @@ public class LogInterceptor implements HandlerInterceptor {
     public void afterCompletion(HttpServletRequest request,
                                 @NonNull HttpServletResponse response,
                                 @NonNull Object handler, Exception ex) {
-        String requestUri = request.getRequestURI();
-
-        // Check if the endpoint is excluded from logging
-        if (excludedEndpointsConfig.getExcludedEndpoint().contains(requestUri)) {
+        // Entries are only started for requests that are not excluded from logging
+        RequestResponseLog logg = (RequestResponseLog) request.getAttribute(LOG_ENTRY_ATTRIBUTE);
+        if (logg == null) {
             return;
         }
-        // Retrieve the wrapped response to access cached response body content
-        CachedBodyHttpServletResponse responseWrapper =
-                (CachedBodyHttpServletResponse) request.getAttribute("responseWrapper");
+
+        // The request body was captured while the handler consumed it
+        CachedBodyHttpServletRequest requestWrapper = (CachedBodyHttpServletRequest)
+                request.getAttribute(RequestBodyCacheFilter.REQUEST_WRAPPER_ATTRIBUTE);
+        if (requestWrapper != null) {
+            logg.setRequestBody(requestWrapper.getCapturedBody());
+            requestBodySize.record(requestWrapper.getCaptureBuffer().totalBytes());
+        }
+
+        // Retrieve the wrapped response to access captured response body content
+        CachedBodyHttpServletResponse responseWrapper = (CachedBodyHttpServletResponse)
+                request.getAttribute(ResponseCaptureFilter.RESPONSE_WRAPPER_ATTRIBUTE);
 
         if (responseWrapper != null) {
-            String responseBody = new String(responseWrapper.getCachedContent());
+            logg.setResponseBody(responseWrapper.getCapturedBody());
+            responseBodySize.record(responseWrapper.getCaptureBuffer().totalBytes());
             log.info("Captured response body for logging");
-
-            // Find the latest log entry for this specific request URI and method
-            RequestResponseLog logg = requestResponseLogRepository.
-                    findTopByEndpointAndMethodOrderByTimestampDesc(request.getRequestURI(),
-                            request.getMethod());
-
-            if (logg != null) {
-                LocalDateTime requestTimestamp = logg.getTimestamp();
-                LocalDateTime responseTimestamp = LocalDateTime.now();
-                Long executionTime = Duration.between(requestTimestamp, responseTimestamp).toMillis();
-
-                // Populate log details with response data
-                logg.setStatusCode(response.getStatus());
-                logg.setResponseTimestamp(responseTimestamp);
-                logg.setExecutionTime(executionTime);
-                logg.setResponseBody(responseBody);
-
-                try {
-                    // Save the updated log entry
-                    requestResponseLogRepository.save(logg);
-                    log.info("Log saved successfully for URI: {}, with status: {}",
-                            request.getRequestURI(), response.getStatus());
-                } catch (Exception e) {
-                    log.error("Error saving log for URI: {} - {}", request.getRequestURI(), e.getMessage());
-                }
-            } else {
-                log.warn("No matching log entry found for URI: {}, Method: {}",
-                        request.getRequestURI(), request.getMethod());
-            }
         } else {
             log.warn("No response wrapper available, unable to capture response body.");
         }
+
+        long startNanos = (Long) request.getAttribute(START_NANOS_ATTRIBUTE);
+
+        // Populate log details with response data
+        logg.setStatusCode(response.getStatus());
+        logg.setResponseTimestamp(LocalDateTime.now());
+        logg.setExecutionTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        if (requestLogWriter.submit(logg)) {
+            log.info("Log queued for URI: {}, with status: {}", logg.getEndpoint(), response.getStatus());
+        }
     }
 
 }
@@ -0,0 +1,284 @@
+package com.party_up.network.config.interceptor;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import com.party_up.network.model.RequestResponseLog;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous writer for completed {@link RequestResponseLog} entries.
+ * <p>
+ * Request threads only enqueue finished entries into a bounded queue. A single background thread drains
+ * the queue and persists entries with JDBC batch inserts. When the queue is full, entries are either
+ * dropped or the caller waits briefly for space, depending on the configured {@link OverflowPolicy}.
+ * Queue depth, written, dropped and failed entries, batch sizes and batch insert latency are exposed as metrics.
+ * </p>
+ */
+@Slf4j
+@Component
+public class RequestLogWriter {
+
+    /**
+     * Maximum stored length of the request body, matching the column size.
+     */
+    static final int MAX_REQUEST_BODY_LENGTH = 255;
+
+    /**
+     * Maximum stored length of the response body, matching the column size.
+     */
+    static final int MAX_RESPONSE_BODY_LENGTH = 2500;
+
+    private static final String INSERT_SQL = "INSERT INTO request_response_log "
+            + "(method, endpoint, request_body, response_body, status_code, timestamp, response_timestamp, "
+            + "execution_time) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Defines what happens when an entry is submitted while the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the new entry immediately.
+         */
+        DROP,
+
+        /**
+         * Wait up to the configured timeout for space, then drop the entry.
+         */
+        BLOCK
+    }
+
+    private final BlockingQueue<RequestResponseLog> queue;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final long blockTimeoutMs;
+
+    private final Counter writtenCounter;
+
+    private final Counter droppedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer batchWriteTimer;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-log-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean running;
+
+    /**
+     * Constructs the writer and registers its metrics.
+     *
+     * @param jdbcTemplate   the JDBC template used for batch inserts
+     * @param meterRegistry  the registry for queue and throughput metrics
+     * @param queueCapacity  the maximum number of entries waiting to be written
+     * @param batchSize      the maximum number of entries written per batch
+     * @param overflowPolicy what to do when the queue is full
+     * @param blockTimeoutMs how long to wait for space under {@link OverflowPolicy#BLOCK}
+     */
+    public RequestLogWriter(JdbcTemplate jdbcTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${audit.log.queue-capacity:10000}") int queueCapacity,
+                            @Value("${audit.log.batch-size:200}") int batchSize,
+                            @Value("${audit.log.overflow-policy:DROP}") OverflowPolicy overflowPolicy,
+                            @Value("${audit.log.block-timeout-ms:50}") long blockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeoutMs = blockTimeoutMs;
+
+        Gauge.builder("audit.log.queue.depth", queue, BlockingQueue::size)
+                .description("Request/response log entries waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.log.written")
+                .description("Request/response log entries written to the database")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.log.dropped")
+                .description("Request/response log entries dropped because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.log.write.failures")
+                .description("Request/response log entries lost because a batch insert failed")
+                .register(meterRegistry);
+        this.batchWriteTimer = Timer.builder("audit.log.batch.write")
+                .description("Latency of request/response log batch inserts")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("audit.log.batch.size")
+                .description("Request/response log entries per batch insert")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        executor.execute(this::drainLoop);
+        log.info("Request log writer started with batch size {} and overflow policy {}", batchSize, overflowPolicy);
+    }
+
+    /**
+     * Stops the background writer and writes any entries still in the queue.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Request log writer did not stop in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drainRemaining();
+    }
+
+    /**
+     * Submits a completed log entry for asynchronous persistence.
+     *
+     * @param entry the completed log entry
+     * @return true if the entry was queued, false if it was dropped
+     */
+    public boolean submit(RequestResponseLog entry) {
+        boolean accepted;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                accepted = queue.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } else {
+            accepted = queue.offer(entry);
+        }
+
+        if (!accepted) {
+            droppedCounter.increment();
+            log.warn("Request log queue is full, dropping entry for URI: {}", entry.getEndpoint());
+        }
+        return accepted;
+    }
+
+    /**
+     * Returns the number of entries waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Takes entries from the queue and writes them in batches until the writer is stopped.
+     */
+    private void drainLoop() {
+        List<RequestResponseLog> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                RequestResponseLog first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in request log writer: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes everything left in the queue on the calling thread.
+     */
+    void drainRemaining() {
+        List<RequestResponseLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Persists a batch of log entries with a single JDBC batch insert.
+     *
+     * @param batch the entries to write
+     */
+    private void writeBatch(List<RequestResponseLog> batch) {
+        List<Object[]> batchArgs = new ArrayList<>(batch.size());
+        for (RequestResponseLog entry : batch) {
+            batchArgs.add(new Object[]{
+                    entry.getMethod(),
+                    entry.getEndpoint(),
+                    truncate(entry.getRequestBody(), MAX_REQUEST_BODY_LENGTH),
+                    truncate(entry.getResponseBody(), MAX_RESPONSE_BODY_LENGTH),
+                    entry.getStatusCode(),
+                    toTimestamp(entry.getTimestamp()),
+                    toTimestamp(entry.getResponseTimestamp()),
+                    entry.getExecutionTime()
+            });
+        }
+
+        batchSizeSummary.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+            writtenCounter.increment(batch.size());
+            log.debug("Wrote {} request/response log entries", batch.size());
+        } catch (DataAccessException e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} request/response log entries: {}", batch.size(), e.getMessage());
+        } finally {
+            sample.stop(batchWriteTimer);
+        }
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return dateTime != null ? Timestamp.valueOf(dateTime) : null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.party_up.network.config.log_cached_body;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Config class for request and response body capture.
+ * <p>
+ * Defines the maximum number of bytes kept per body ({@code body.capture.max-bytes}) and the content type
+ * prefixes that are never captured ({@code body.capture.excluded-content-types}), such as images.
+ * </p>
+ */
+@Slf4j
+@Getter
+@Component
+public class BodyCaptureConfig {
+
+    private final int maxBytes;
+
+    private final List<String> excludedContentTypes;
+
+    /**
+     * Constructs the capture config from application properties.
+     *
+     * @param maxBytes             the maximum number of bytes kept per body
+     * @param excludedContentTypes comma separated content type prefixes to skip
+     */
+    public BodyCaptureConfig(@Value("${body.capture.max-bytes:4096}") int maxBytes,
+                             @Value("${body.capture.excluded-content-types:image/,video/,audio/,"
+                                     + "application/octet-stream,multipart/form-data,text/event-stream}")
+                             String excludedContentTypes) {
+        this.maxBytes = maxBytes;
+        this.excludedContentTypes = Arrays.stream(excludedContentTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .toList();
+        log.debug("Body capture limited to {} bytes, excluded content types: {}", maxBytes, this.excludedContentTypes);
+    }
+
+    /**
+     * Checks if a body with the given content type should be captured.
+     *
+     * @param contentType the content type of the body, may be null
+     * @return true if the body should be captured, false otherwise
+     */
+    public boolean shouldCapture(String contentType) {
+        if (maxBytes <= 0) {
+            return false;
+        }
+        if (contentType == null) {
+            return true;
+        }
+        String normalized = contentType.toLowerCase(Locale.ROOT);
+        return excludedContentTypes.stream().noneMatch(normalized::startsWith);
+    }
+}
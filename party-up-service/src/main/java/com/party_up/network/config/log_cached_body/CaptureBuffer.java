@@ -0,0 +1,117 @@
+package com.party_up.network.config.log_cached_body;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Size-capped byte buffer that keeps a prefix of the data streamed through it.
+ * <p>
+ * Bytes beyond {@code maxBytes} are counted but not stored, so a large body can stream through
+ * while only a bounded prefix is kept for logging. Not thread-safe; each request or response owns its buffer.
+ * </p>
+ */
+public class CaptureBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final int maxBytes;
+
+    private byte[] buffer;
+
+    private int count;
+
+    private long totalBytes;
+
+    /**
+     * Constructs a buffer that keeps at most {@code maxBytes} bytes.
+     *
+     * @param maxBytes the maximum number of bytes to keep; zero disables capturing
+     */
+    public CaptureBuffer(int maxBytes) {
+        this.maxBytes = Math.max(0, maxBytes);
+        this.buffer = new byte[Math.min(this.maxBytes, INITIAL_CAPACITY)];
+    }
+
+    /**
+     * Appends a single byte.
+     *
+     * @param b the byte to append
+     */
+    public void write(int b) {
+        totalBytes++;
+        if (count < maxBytes) {
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+        }
+    }
+
+    /**
+     * Appends a range of bytes, keeping only what fits under the cap.
+     *
+     * @param b   the source array
+     * @param off the start offset in the source array
+     * @param len the number of bytes to append
+     */
+    public void write(byte[] b, int off, int len) {
+        totalBytes += len;
+        int toCopy = Math.min(len, maxBytes - count);
+        if (toCopy > 0) {
+            ensureCapacity(count + toCopy);
+            System.arraycopy(b, off, buffer, count, toCopy);
+            count += toCopy;
+        }
+    }
+
+    /**
+     * Returns a copy of the captured bytes.
+     *
+     * @return the captured prefix
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, count);
+    }
+
+    /**
+     * Decodes the captured bytes without an intermediate copy.
+     *
+     * @param charset the charset to decode with
+     * @return the captured prefix as a string
+     */
+    public String toString(Charset charset) {
+        return new String(buffer, 0, count, charset);
+    }
+
+    /**
+     * Returns the number of captured bytes.
+     *
+     * @return the captured size
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the total number of bytes that passed through, including ones that were not kept.
+     *
+     * @return the total size
+     */
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Checks if more bytes passed through than were kept.
+     *
+     * @return true if the captured content is only a prefix
+     */
+    public boolean isTruncated() {
+        return totalBytes > count;
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > buffer.length) {
+            int newCapacity = Math.min(maxBytes, Math.max(minCapacity, buffer.length * 2));
+            buffer = Arrays.copyOf(buffer, newCapacity);
+        }
+    }
+}
@@ -10,23 +10,34 @@ import com.party_up.network.config.log_cached_body.response.ResponseCaptureFilte
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Configuration class to register filters for caching request and response bodies.
- * This enables access to request and response data multiple times within the application.
+ * Configuration class to register filters for capturing request and response bodies.
+ * This enables access to request and response data for logging after the request completes.
  */
 @Slf4j
 @Configuration
 public class FilterConfig {
 
+    private final BodyCaptureConfig bodyCaptureConfig;
+
+    /**
+     * Constructs the FilterConfig with the body capture configuration shared by both filters.
+     *
+     * @param bodyCaptureConfig the maximum capture size and excluded content types
+     */
+    public FilterConfig(BodyCaptureConfig bodyCaptureConfig) {
+        this.bodyCaptureConfig = bodyCaptureConfig;
+    }
+
     /**
      * Registers the RequestBodyCacheFilter to intercept all requests.
-     * This filter caches the request body so it can be accessed multiple times.
+     * This filter captures a size-capped prefix of the request body for logging.
      *
      * @return the FilterRegistrationBean for RequestBodyCacheFilter
      */
     @Bean
     public FilterRegistrationBean<RequestBodyCacheFilter> requestBodyCacheFilter() {
         FilterRegistrationBean<RequestBodyCacheFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new RequestBodyCacheFilter());
+        registrationBean.setFilter(new RequestBodyCacheFilter(bodyCaptureConfig));
         registrationBean.addUrlPatterns("/*"); // Apply to all URLs
         log.debug("RequestBodyCacheFilter registered for all URL patterns.");
         return registrationBean;
@@ -34,14 +45,14 @@ public class FilterConfig {
 
     /**
      * Registers the ResponseCaptureFilter to intercept all responses.
-     * This filter caches the response body for logging or other post-processing.
+     * This filter captures a size-capped prefix of the response body for logging or other post-processing.
      *
      * @return the FilterRegistrationBean for ResponseCaptureFilter
      */
     @Bean
     public FilterRegistrationBean<ResponseCaptureFilter> responseBodyCacheFilter() {
         FilterRegistrationBean<ResponseCaptureFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new ResponseCaptureFilter());
+        registrationBean.setFilter(new ResponseCaptureFilter(bodyCaptureConfig));
         registrationBean.addUrlPatterns("/*"); // Apply to all URLs
         log.debug("ResponseCaptureFilter registered for all URL patterns.");
         return registrationBean;
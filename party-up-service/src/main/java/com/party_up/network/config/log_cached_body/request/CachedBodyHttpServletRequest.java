@@ -3,66 +3,93 @@ package com.party_up.network.config.log_cached_body.request;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 
+import com.party_up.network.config.log_cached_body.CaptureBuffer;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Wrapper for HttpServletRequest to allow caching of the request body, enabling it to be read multiple times.
+ * Wrapper for HttpServletRequest that captures a size-capped prefix of the request body while it is read.
+ * <p>
+ * The body is not buffered up front: it streams through to the application unchanged and
+ * the captured prefix becomes available once the application has consumed it.
+ * </p>
  */
 @Slf4j
 public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
-    private final byte[] cachedBody;
+    private final CaptureBuffer captureBuffer;
+
+    private CachedBodyServletInputStream inputStream;
+
+    private BufferedReader reader;
 
     /**
-     * Constructs a CachedBodyHttpServletRequest, caching the request body for repeated access.
+     * Constructs a CachedBodyHttpServletRequest that keeps at most {@code maxBytes} of the body.
      *
-     * @param request the original HttpServletRequest
-     * @throws IOException if an input or output exception occurs
+     * @param request  the original HttpServletRequest
+     * @param maxBytes the maximum number of body bytes to capture
      */
-    public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) {
         super(request);
+        this.captureBuffer = new CaptureBuffer(maxBytes);
+    }
 
-        log.debug("Initializing CachedBodyHttpServletRequest with request body caching.");
-
-        // Read the request body and store it in a byte array
-        InputStreamReader inputStreamReader = new InputStreamReader(request.getInputStream());
-        BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
-        StringBuilder body = new StringBuilder();
-        String line;
-
-        while ((line = bufferedReader.readLine()) != null) {
-            body.append(line);
+    /**
+     * Returns a ServletInputStream that copies the bytes read into the capture buffer.
+     *
+     * @return the capturing ServletInputStream
+     * @throws IOException if the original input stream cannot be obtained
+     */
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CachedBodyServletInputStream(super.getInputStream(), captureBuffer);
         }
-
-        cachedBody = body.toString().getBytes();
-
-        log.debug("Request body cached successfully.");
+        return inputStream;
     }
 
     /**
-     * Returns a ServletInputStream for the cached request body.
+     * Returns a BufferedReader over the capturing input stream, using the request character encoding.
      *
-     * @return a ServletInputStream for reading the cached request body
+     * @return a BufferedReader for reading the request body
+     * @throws IOException if the original input stream cannot be obtained
      */
     @Override
-    public ServletInputStream getInputStream() {
-        log.debug("Providing cached ServletInputStream for request body.");
-        return new CachedBodyServletInputStream(cachedBody);
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), getBodyCharset()));
+        }
+        return reader;
     }
 
     /**
-     * Returns a BufferedReader for the cached request body.
+     * Returns the captured prefix of the request body as read so far.
      *
-     * @return a BufferedReader for reading the cached request body
+     * @return the captured body decoded with the request character encoding
      */
-    @Override
-    public BufferedReader getReader() {
-        log.debug("Providing BufferedReader for cached request body.");
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+    public String getCapturedBody() {
+        log.debug("Captured {} of {} request body bytes", captureBuffer.size(), captureBuffer.totalBytes());
+        return captureBuffer.toString(getBodyCharset());
+    }
+
+    /**
+     * Returns the capture buffer holding the request body prefix.
+     *
+     * @return the capture buffer
+     */
+    public CaptureBuffer getCaptureBuffer() {
+        return captureBuffer;
+    }
+
+    private Charset getBodyCharset() {
+        String encoding = getCharacterEncoding();
+        return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
     }
 }
@@ -1,28 +1,31 @@
 package com.party_up.network.config.log_cached_body.request;
 
-import java.io.ByteArrayInputStream;
+import java.io.IOException;
 
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 
-import lombok.extern.slf4j.Slf4j;
+import com.party_up.network.config.log_cached_body.CaptureBuffer;
 
 /**
- * Custom ServletInputStream that wraps a cached body, allowing multiple reads of the request body.
+ * Custom ServletInputStream that streams the original request body through
+ * and copies a size-capped prefix of it into a {@link CaptureBuffer}.
  */
-@Slf4j
 public class CachedBodyServletInputStream extends ServletInputStream {
 
-    private final ByteArrayInputStream inputStream;
+    private final ServletInputStream inputStream;
+
+    private final CaptureBuffer captureBuffer;
 
     /**
-     * Initializes a CachedBodyServletInputStream with the cached request body.
+     * Initializes a CachedBodyServletInputStream around the original request stream.
      *
-     * @param cachedBody byte array containing the cached request body
+     * @param inputStream   the original request input stream
+     * @param captureBuffer the buffer receiving a copy of the bytes read
      */
-    public CachedBodyServletInputStream(byte[] cachedBody) {
-        this.inputStream = new ByteArrayInputStream(cachedBody);
-        log.debug("CachedBodyServletInputStream initialized with cached request body.");
+    public CachedBodyServletInputStream(ServletInputStream inputStream, CaptureBuffer captureBuffer) {
+        this.inputStream = inputStream;
+        this.captureBuffer = captureBuffer;
     }
 
     /**
@@ -32,43 +35,69 @@ public class CachedBodyServletInputStream extends ServletInputStream {
      */
     @Override
     public boolean isFinished() {
-        boolean finished = inputStream.available() == 0;
-        log.debug("isFinished called. Result: {}", finished);
-        return finished;
+        return inputStream.isFinished();
     }
 
     /**
      * Indicates readiness to read from the stream.
      *
-     * @return true, as this stream is always ready to be read
+     * @return true if data can be read without blocking, false otherwise
      */
     @Override
     public boolean isReady() {
-        log.debug("isReady called. Result: true");
-        return true;
+        return inputStream.isReady();
     }
 
     /**
-     * Unsupported operation, as asynchronous reading is not implemented.
+     * Sets a ReadListener on the original stream for non-blocking reads.
      *
      * @param readListener The non-blocking IO read listener
-     * @throws UnsupportedOperationException as this operation is not supported
      */
     @Override
     public void setReadListener(ReadListener readListener) {
-        log.warn("setReadListener called, but operation is not supported.");
-        throw new UnsupportedOperationException("Non-blocking read is not supported.");
+        inputStream.setReadListener(readListener);
     }
 
     /**
      * Reads the next byte of data from the input stream.
      *
      * @return the next byte of data, or -1 if the end of stream is reached
+     * @throws IOException if an I/O error occurs
      */
     @Override
-    public int read() {
+    public int read() throws IOException {
         int byteData = inputStream.read();
-        log.debug("read called, Byte read: {}", byteData);
+        if (byteData != -1) {
+            captureBuffer.write(byteData);
+        }
         return byteData;
     }
+
+    /**
+     * Reads up to {@code len} bytes into the given array in a single call.
+     *
+     * @param b   the buffer into which the data is read
+     * @param off the start offset in the buffer
+     * @param len the maximum number of bytes to read
+     * @return the number of bytes read, or -1 if the end of stream is reached
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int bytesRead = inputStream.read(b, off, len);
+        if (bytesRead > 0) {
+            captureBuffer.write(b, off, bytesRead);
+        }
+        return bytesRead;
+    }
+
+    /**
+     * Closes the original input stream.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+    }
 }
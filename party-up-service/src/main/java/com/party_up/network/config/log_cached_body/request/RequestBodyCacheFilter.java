@@ -5,17 +5,35 @@ import java.io.IOException;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 
+import com.party_up.network.config.log_cached_body.BodyCaptureConfig;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Filter that wraps the HttpServletRequest to cache the request body,
- * allowing it to be read multiple times in subsequent processing.
+ * Filter that wraps the HttpServletRequest to capture a size-capped prefix of the request body
+ * as it streams through to the application.
  */
 @Slf4j
 public class RequestBodyCacheFilter implements Filter {
 
     /**
-     * Wraps the HttpServletRequest in a CachedBodyHttpServletRequest to enable repeated reading of the request body.
+     * Request attribute under which the request wrapper is exposed for logging.
+     */
+    public static final String REQUEST_WRAPPER_ATTRIBUTE = "requestWrapper";
+
+    private final BodyCaptureConfig bodyCaptureConfig;
+
+    /**
+     * Constructs the filter with the body capture configuration.
+     *
+     * @param bodyCaptureConfig the maximum capture size and excluded content types
+     */
+    public RequestBodyCacheFilter(BodyCaptureConfig bodyCaptureConfig) {
+        this.bodyCaptureConfig = bodyCaptureConfig;
+    }
+
+    /**
+     * Wraps the HttpServletRequest in a CachedBodyHttpServletRequest unless its content type is excluded.
      *
      * @param request  the incoming ServletRequest
      * @param response the outgoing ServletResponse
@@ -28,15 +46,19 @@ public class RequestBodyCacheFilter implements Filter {
             throws IOException, ServletException {
 
         HttpServletRequest httpRequest = (HttpServletRequest) request;
-        log.debug("RequestBodyCacheFilter invoked for URI: {}", httpRequest.getRequestURI());
 
-        // Wrap the original request in CachedBodyHttpServletRequest
-        CachedBodyHttpServletRequest wrappedRequest = new CachedBodyHttpServletRequest(httpRequest);
-        log.debug("HttpServletRequest wrapped with CachedBodyHttpServletRequest.");
+        if (!bodyCaptureConfig.shouldCapture(httpRequest.getContentType())) {
+            log.debug("Skipping request body capture for content type: {}", httpRequest.getContentType());
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Wrap the original request so the body is captured while the application reads it
+        CachedBodyHttpServletRequest wrappedRequest =
+                new CachedBodyHttpServletRequest(httpRequest, bodyCaptureConfig.getMaxBytes());
+        wrappedRequest.setAttribute(REQUEST_WRAPPER_ATTRIBUTE, wrappedRequest);
 
         // Pass the wrapped request through the filter chain
         chain.doFilter(wrappedRequest, response);
-        log.debug("Request passed through filter chain.");
     }
 }
-
@@ -1,37 +1,49 @@
 package com.party_up.network.config.log_cached_body.response;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 
+import com.party_up.network.config.log_cached_body.BodyCaptureConfig;
+import com.party_up.network.config.log_cached_body.CaptureBuffer;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * A HttpServletResponse wrapper that caches the response body,
- * allowing it to be accessed multiple times.
+ * A HttpServletResponse wrapper that captures a size-capped prefix of the response body
+ * while the full body streams through to the client.
  */
 @Slf4j
 public class CachedBodyHttpServletResponse extends HttpServletResponseWrapper {
 
-    private final ByteArrayOutputStream cachedContent = new ByteArrayOutputStream();
+    private final BodyCaptureConfig bodyCaptureConfig;
+
+    private final CaptureBuffer cachedContent;
 
     private ServletOutputStream outputStream;
 
+    private PrintWriter writer;
+
     /**
-     * Construct a CachedBodyHttpServletResponse to enable response caching.
+     * Construct a CachedBodyHttpServletResponse to enable response capturing.
      *
-     * @param response the original HttpServletResponse to be wrapped
+     * @param response          the original HttpServletResponse to be wrapped
+     * @param bodyCaptureConfig the maximum capture size and excluded content types
      */
-    public CachedBodyHttpServletResponse(HttpServletResponse response) {
+    public CachedBodyHttpServletResponse(HttpServletResponse response, BodyCaptureConfig bodyCaptureConfig) {
         super(response);
-        log.debug("CachedBodyHttpServletResponse initialized for response caching.");
+        this.bodyCaptureConfig = bodyCaptureConfig;
+        this.cachedContent = new CaptureBuffer(bodyCaptureConfig.getMaxBytes());
     }
 
     /**
-     * Retrieves the ServletOutputStream and caches the written data,
+     * Retrieves the ServletOutputStream, capturing the written data unless the content type is excluded.
+     * The content type is checked on first access, after the application has set the response headers.
      *
      * @return the ServletOutputStream for the response
      * @throws IOException if an I/O error occurs while obtaining the output stream
@@ -39,32 +51,77 @@ public class CachedBodyHttpServletResponse extends HttpServletResponseWrapper {
     @Override
     public ServletOutputStream getOutputStream() throws IOException {
         if (outputStream == null) {
-            outputStream = new TeeServletOutputStream(super.getOutputStream(), cachedContent);
-            log.debug("ServletOutputStream wrapped with caching output stream.");
+            if (bodyCaptureConfig.shouldCapture(getContentType())) {
+                outputStream = new TeeServletOutputStream(super.getOutputStream(), cachedContent);
+            } else {
+                log.debug("Skipping response body capture for content type: {}", getContentType());
+                outputStream = super.getOutputStream();
+            }
         }
         return outputStream;
     }
 
     /**
-     * Flushes the output stream buffer to ensure all data is written.
+     * Retrieves a PrintWriter that writes through the capturing output stream.
+     *
+     * @return the PrintWriter for the response
+     * @throws IOException if an I/O error occurs while obtaining the output stream
+     */
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getResponseCharset()));
+        }
+        return writer;
+    }
+
+    /**
+     * Flushes the writer and output stream buffers to ensure all data is written.
      *
      * @throws IOException if an I/O error occurs during flushing
      */
     @Override
     public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
         if (outputStream != null) {
             outputStream.flush();
-            log.debug("Output stream buffer flushed.");
         }
     }
 
     /**
-     * Returns the cached response content as a byte array.
+     * Returns the captured response content as a byte array.
      *
      * @return byte array of cached content
      */
     public byte[] getCachedContent() {
-        log.debug("Cached content retrieved with size: {} bytes.", cachedContent.size());
         return cachedContent.toByteArray();
     }
+
+    /**
+     * Returns the captured response content decoded with the response character encoding.
+     *
+     * @return the captured response body prefix
+     */
+    public String getCapturedBody() {
+        if (writer != null) {
+            writer.flush();
+        }
+        log.debug("Captured {} of {} response body bytes", cachedContent.size(), cachedContent.totalBytes());
+        return cachedContent.toString(getResponseCharset());
+    }
+
+    /**
+     * Returns the capture buffer holding the response body prefix.
+     *
+     * @return the capture buffer
+     */
+    public CaptureBuffer getCaptureBuffer() {
+        return cachedContent;
+    }
+
+    private Charset getResponseCharset() {
+        return Charset.forName(getCharacterEncoding());
+    }
 }
@@ -6,15 +6,33 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import com.party_up.network.config.log_cached_body.BodyCaptureConfig;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Filter that wraps the HttpServletResponse to allow capturing and caching the response body context.
- * This cached response is useful for logging or further processing after request completion.
+ * Filter that wraps the HttpServletResponse to allow capturing the response body content.
+ * This captured response is useful for logging or further processing after request completion.
  */
 @Slf4j
 public class ResponseCaptureFilter implements Filter {
 
+    /**
+     * Request attribute under which the response wrapper is exposed for logging.
+     */
+    public static final String RESPONSE_WRAPPER_ATTRIBUTE = "responseWrapper";
+
+    private final BodyCaptureConfig bodyCaptureConfig;
+
+    /**
+     * Constructs the filter with the body capture configuration.
+     *
+     * @param bodyCaptureConfig the maximum capture size and excluded content types
+     */
+    public ResponseCaptureFilter(BodyCaptureConfig bodyCaptureConfig) {
+        this.bodyCaptureConfig = bodyCaptureConfig;
+    }
+
     /**
      * Wraps the HttpServletResponse in a CachedBodyHttpServletResponse to capture response content.
      *
@@ -28,21 +46,19 @@ public class ResponseCaptureFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
 
-        log.debug("Initializing response capture filter for request: {}",
-                ((HttpServletRequest) request).getRequestURI());
-
         // Wraps the response to capture its content
         CachedBodyHttpServletResponse responseWrapper =
-                new CachedBodyHttpServletResponse((HttpServletResponse) response);
+                new CachedBodyHttpServletResponse((HttpServletResponse) response, bodyCaptureConfig);
 
         // Cast the request and set the wrapped response in the request attributes for later access
         HttpServletRequest httpRequest = (HttpServletRequest) request;
-        httpRequest.setAttribute("responseWrapper", responseWrapper);
-        log.debug("CachedBodyHttpServletResponse set in request attributes.");
+        httpRequest.setAttribute(RESPONSE_WRAPPER_ATTRIBUTE, responseWrapper);
 
-        chain.doFilter(httpRequest, responseWrapper);
-        log.debug("Response capture completed for request: {}", httpRequest.getRequestURI());
+        try {
+            chain.doFilter(httpRequest, responseWrapper);
+        } finally {
+            // The container does not know the wrapper's writer, so its buffered output is pushed through here
+            responseWrapper.flushBuffer();
+        }
     }
 }
-
-
@@ -1,47 +1,80 @@
 package com.party_up.network.config.log_cached_body.response;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 import jakarta.servlet.ServletOutputStream;
 
+import com.party_up.network.config.log_cached_body.CaptureBuffer;
+
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * A custom ServletOutputStream that duplicates (or "tees") the output stream.
  * This allows capturing the response body by writing to both the original response
- * output stream and a secondary copy stream simultaneously.
+ * output stream and a size-capped {@link CaptureBuffer} simultaneously.
  */
 @Slf4j
 public class TeeServletOutputStream extends ServletOutputStream {
 
     private final ServletOutputStream outputStream;
 
-    private final ByteArrayOutputStream copyStream;
+    private final CaptureBuffer copyBuffer;
 
     /**
-     * Constructs a TeeServletOutputStream with the given output and copy streams.
+     * Constructs a TeeServletOutputStream with the given output stream and capture buffer.
      *
      * @param outputStream the original response output stream to write to
-     * @param copyStream   a ByteArrayOutputStream to capture a copy of the written data
+     * @param copyBuffer   a CaptureBuffer to capture a prefix of the written data
      */
-    public TeeServletOutputStream(ServletOutputStream outputStream, ByteArrayOutputStream copyStream) {
+    public TeeServletOutputStream(ServletOutputStream outputStream, CaptureBuffer copyBuffer) {
         this.outputStream = outputStream;
-        this.copyStream = copyStream;
-        log.debug("TeeServletOutputStream initialized with output and copy streams.");
+        this.copyBuffer = copyBuffer;
     }
 
     /**
-     * Writes a byte to both the original output stream and the copy stream.
+     * Writes a byte to both the original output stream and the capture buffer.
      *
      * @param b the byte to be written {@code byte}.
-     * @throws IOException if an I/O error occurs while writing to either stream
+     * @throws IOException if an I/O error occurs while writing to the output stream
      */
     @Override
     public void write(int b) throws IOException {
         outputStream.write(b); // Write to the original response stream
-        copyStream.write(b); // Write to the copy stream for capturing response data
-        log.trace("Byte written to both output and copy streams.");
+        copyBuffer.write(b); // Write to the copy buffer for capturing response data
+    }
+
+    /**
+     * Writes a range of bytes to both the original output stream and the capture buffer in a single call.
+     *
+     * @param b   the data
+     * @param off the start offset in the data
+     * @param len the number of bytes to write
+     * @throws IOException if an I/O error occurs while writing to the output stream
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        outputStream.write(b, off, len);
+        copyBuffer.write(b, off, len);
+    }
+
+    /**
+     * Flushes the original output stream.
+     *
+     * @throws IOException if an I/O error occurs while flushing
+     */
+    @Override
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    /**
+     * Closes the original output stream.
+     *
+     * @throws IOException if an I/O error occurs while closing
+     */
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
     }
 
     /**
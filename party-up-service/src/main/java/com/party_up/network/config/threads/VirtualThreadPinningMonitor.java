@@ -0,0 +1,120 @@
+package com.party_up.network.config.threads;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects virtual threads that stay pinned to their carrier thread, e.g. while blocking inside a
+ * {@code synchronized} block or a native frame.
+ * <p>
+ * Active only when virtual threads are enabled ({@code spring.threads.virtual.enabled=true}). It streams the
+ * JFR {@code jdk.VirtualThreadPinned} event, records every pinning longer than the configured threshold in the
+ * {@code jvm.threads.virtual.pinned} timer and logs each distinct pinning site once.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    /**
+     * Name of the JFR event emitted when a virtual thread blocks while pinned.
+     */
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final String APPLICATION_PACKAGE = "com.party_up.";
+
+    private final Duration threshold;
+
+    private final Timer pinnedTimer;
+
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    private RecordingStream stream;
+
+    /**
+     * Constructs the monitor and registers its metrics.
+     *
+     * @param meterRegistry the registry for the pinning timer
+     * @param thresholdMs   the minimum pinning duration to report, in milliseconds
+     */
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+        this.pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming pinning events in the background.
+     */
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, event -> record(event.getDuration(), pinningSite(event)));
+        stream.startAsync();
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    /**
+     * Stops the event stream.
+     */
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Records a pinning and logs its site the first time it is seen.
+     *
+     * @param duration how long the virtual thread was pinned
+     * @param site     where the thread was pinned
+     */
+    void record(Duration duration, String site) {
+        pinnedTimer.record(duration);
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}", duration.toMillis(), site);
+        }
+    }
+
+    /**
+     * Returns the frame responsible for a pinning: the innermost application frame if there is one,
+     * otherwise the top frame.
+     *
+     * @param event the pinning event
+     * @return the pinning site as {@code Class.method:line}
+     */
+    private static String pinningSite(RecordedEvent event) {
+        if (event.getStackTrace() == null || event.getStackTrace().getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+}
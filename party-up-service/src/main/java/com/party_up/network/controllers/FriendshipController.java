@@ -1,12 +1,20 @@
 package com.party_up.network.controllers;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import com.party_up.network.model.dto.UserDTO;
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.FriendSuggestionDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.model.enums.RelationshipStatus;
+import com.party_up.network.service.FriendSuggestionService;
+import com.party_up.network.service.FriendshipEventPublisher;
 import com.party_up.network.service.FriendshipService;
 import com.party_up.network.service.UserService;
 
@@ -26,6 +34,10 @@ public class FriendshipController {
 
     private final UserService userService;
 
+    private final FriendSuggestionService friendSuggestionService;
+
+    private final FriendshipEventPublisher friendshipEventPublisher;
+
     /**
      * Endpoint to send a friend request.
      *
@@ -87,38 +99,113 @@ public class FriendshipController {
     }
 
     /**
-     * Endpoint to get all friends of a user.
+     * Endpoint to get friends of a user, one page at a time.
      *
      * @param userId ID of the user.
-     * @return List of friends (in UserDTOs).
+     * @param cursor cursor from the previous page, omitted for the first page.
+     * @param limit maximum number of friends to return.
+     * @return Page of friends (as user summaries) with the cursor of the next page.
      */
     @GetMapping("/friends")
-    public ResponseEntity<List<UserDTO>> getFriends(@RequestParam Long userId) {
-        return ResponseEntity.status(HttpStatus.OK).body(friendshipService.getFriends(userId));
+    public ResponseEntity<CursorPage<UserSummaryDTO>> getFriends(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(friendshipService.getFriends(userId, cursor, limit));
     }
 
     /**
-     * Endpoint to get pending friend requests for user.
+     * Endpoint to get pending friend requests for user, one page at a time.
      *
      * @param userId ID of the user.
-     * @return List of Users who sent friend request.
+     * @param cursor cursor from the previous page, omitted for the first page.
+     * @param limit maximum number of requests to return.
+     * @return Page of Users who sent friend request with the cursor of the next page.
      */
     @GetMapping("/pending-requests")
-    public ResponseEntity<List<UserDTO>> getPendingRequests(@RequestParam Long userId) {
-        return ResponseEntity.status(HttpStatus.OK).body(friendshipService.getPendingFriendRequest(userId));
+    public ResponseEntity<CursorPage<UserSummaryDTO>> getPendingRequests(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(friendshipService.getPendingFriendRequest(userId, cursor, limit));
     }
 
     /**
-     * Endpoint to get mutual friends between two users.
+     * Endpoint to get mutual friends between two users, one page at a time.
      *
      * @param userOneId ID of the first user.
      * @param userTwoId ID of the second user.
-     * @return List of the mutual friends.
+     * @param cursor cursor from the previous page, omitted for the first page.
+     * @param limit maximum number of mutual friends to return.
+     * @return Page of the mutual friends with the cursor of the next page.
      */
     @GetMapping("/mutual-friends")
-    public ResponseEntity<List<UserDTO>> getMutualFriends(
+    public ResponseEntity<CursorPage<UserSummaryDTO>> getMutualFriends(
+            @RequestParam Long userOneId,
+            @RequestParam Long userTwoId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(friendshipService.getMutualFriends(userOneId, userTwoId, cursor, limit));
+    }
+
+    /**
+     * Endpoint to get the number of mutual friends between two users.
+     *
+     * @param userOneId ID of the first user.
+     * @param userTwoId ID of the second user.
+     * @return Number of mutual friends.
+     */
+    @GetMapping("/mutual-friends/count")
+    public ResponseEntity<Long> getMutualFriendCount(
             @RequestParam Long userOneId,
             @RequestParam Long userTwoId) {
-        return ResponseEntity.status(HttpStatus.OK).body(friendshipService.getMutualFriends(userOneId, userTwoId));
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(friendshipService.getMutualFriendCount(userOneId, userTwoId));
+    }
+
+    /**
+     * Endpoint to get the relationship of many users to one user at once, e.g. for badges in a list of users.
+     *
+     * @param userId ID of the viewing user.
+     * @param targetIds IDs of the users in the list.
+     * @return Relationship status of each target user, keyed by user ID.
+     */
+    @GetMapping("/relationship-statuses")
+    public ResponseEntity<Map<Long, RelationshipStatus>> getRelationshipStatuses(
+            @RequestParam Long userId,
+            @RequestParam List<Long> targetIds) {
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(friendshipService.getRelationshipStatuses(userId, targetIds));
+    }
+
+    /**
+     * Endpoint to open a server-sent event stream of friendship events (requests received, accepted or rejected)
+     * for a user, replacing polling of the pending requests.
+     *
+     * @param userId ID of the user.
+     * @return Event stream that stays open until the client disconnects or the stream times out.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@RequestParam Long userId) {
+        return friendshipEventPublisher.subscribe(userId);
+    }
+
+    /**
+     * Endpoint to get "people you may know" suggestions for a user.
+     * Suggestions may lag changes between the user's friends and their friends by up to
+     * {@code friendship.suggestions.cache-ttl-seconds}.
+     *
+     * @param userId ID of the user.
+     * @param limit maximum number of suggestions to return, at most {@code friendship.suggestions.max-candidates}
+     *              (100 by default); larger values are rejected with 400 Bad Request.
+     * @return List of suggested users ranked by mutual friend count.
+     */
+    @GetMapping("/suggestions")
+    public ResponseEntity<List<FriendSuggestionDTO>> getSuggestions(
+            @RequestParam Long userId,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(friendSuggestionService.getSuggestions(userId, limit));
     }
 }
@@ -0,0 +1,145 @@
+package com.party_up.network.controllers;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import com.party_up.network.service.ProfileImageService;
+import com.party_up.network.service.image.ByteRange;
+import com.party_up.network.service.image.ImageResource;
+import com.party_up.network.service.image.StoredImage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller for uploading and serving user profile images.
+ * Stored images support conditional requests ({@code ETag}/{@code If-None-Match}) and single byte ranges.
+ */
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileImageController {
+
+    private final ProfileImageService profileImageService;
+
+    /**
+     * Endpoint to upload a profile image. The request body is the raw image (PNG, JPEG or GIF).
+     *
+     * @param userId ID of the user.
+     * @param request the HTTP request carrying the image.
+     * @return ResponseEntity with success message and the ETag of the new image.
+     * @throws IOException if the image cannot be stored.
+     */
+    @PutMapping("/{userId}/image")
+    public ResponseEntity<String> uploadProfileImage(@PathVariable Long userId, HttpServletRequest request)
+            throws IOException {
+        StoredImage stored = profileImageService.upload(userId, request.getInputStream());
+        return ResponseEntity.status(HttpStatus.OK)
+                .eTag(stored.hash())
+                .body("Profile image uploaded successfully.");
+    }
+
+    /**
+     * Endpoint to get the profile image of a user, or one of its thumbnails.
+     *
+     * @param userId ID of the user.
+     * @param size thumbnail size, omitted for the original image.
+     * @param request the HTTP request.
+     * @param response the HTTP response the image is written to.
+     * @throws IOException if the image cannot be written.
+     */
+    @GetMapping("/{userId}/image")
+    public void getProfileImage(@PathVariable Long userId,
+                                @RequestParam(required = false) Integer size,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        Optional<ProfileImageService.ProfileImage> stored = profileImageService.findStoredImage(userId, size);
+        if (stored.isEmpty()) {
+            writeLegacyImage(userId, response);
+            return;
+        }
+
+        ProfileImageService.ProfileImage image = stored.get();
+        ImageResource resource = image.resource();
+        long length = resource.length();
+
+        response.setHeader(HttpHeaders.ETAG, image.etag());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // Image URLs are stable per user, so clients revalidate with the ETag
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), image.etag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        ByteRange range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length);
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            return;
+        }
+
+        long start = 0;
+        long count = length;
+        if (range != null) {
+            start = range.start();
+            count = range.length();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    "bytes " + range.start() + "-" + range.end() + "/" + length);
+        } else {
+            response.setStatus(HttpStatus.OK.value());
+        }
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(count);
+
+        try (WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            resource.transferTo(start, count, out);
+        }
+    }
+
+    /**
+     * Writes an image kept in the legacy database column. Ranges and ETags are not supported for these.
+     *
+     * @param userId ID of the user.
+     * @param response the HTTP response.
+     * @throws IOException if the image cannot be written.
+     */
+    private void writeLegacyImage(Long userId, HttpServletResponse response) throws IOException {
+        ProfileImageService.ImageMetadata metadata = profileImageService.getImageMetadata(userId);
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(metadata.contentType());
+        response.setContentLengthLong(metadata.length());
+        profileImageService.writeImage(userId, response.getOutputStream());
+    }
+
+    /**
+     * Checks an If-None-Match header against the current entity tag.
+     *
+     * @param header the If-None-Match header, may be null
+     * @param etag the quoted entity tag of the image
+     * @return true if the client's copy is current
+     */
+    private static boolean matchesEtag(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
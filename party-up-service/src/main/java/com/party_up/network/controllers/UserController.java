@@ -2,6 +2,7 @@ package com.party_up.network.controllers;
 
 import java.util.Arrays;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -12,9 +13,13 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
+import com.party_up.network.exceptions.ServiceBusyException;
+import com.party_up.network.model.dto.CursorPage;
 import com.party_up.network.model.dto.LoginRequestDTO;
 import com.party_up.network.model.dto.LoginSuccessResponseDTO;
 import com.party_up.network.model.dto.UserDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.service.UserSearchService;
 import com.party_up.network.service.UserService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -32,8 +37,11 @@ public class UserController {
 
     private final UserService userService;
 
-    public UserController(UserService userService) {
+    private final UserSearchService userSearchService;
+
+    public UserController(UserService userService, UserSearchService userSearchService) {
         this.userService = userService;
+        this.userSearchService = userSearchService;
     }
 
     /**
@@ -59,6 +67,11 @@ public class UserController {
             response.addCookie(cookie);
 
             return ResponseEntity.status(HttpStatus.OK).body(responseDTO);
+        } catch (ServiceBusyException e) {
+            log.warn("Login for {} shed: {}", loginRequest.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
         } catch (RuntimeException e) {
             log.error("Login error for {}: {}", loginRequest.getUsername(), e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
@@ -130,4 +143,20 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
+
+    /**
+     * Searches users by username, first name and last name, one page at a time.
+     *
+     * @param q the search text
+     * @param cursor cursor from the previous page, omitted for the first page.
+     * @param limit maximum number of users to return.
+     * @return Page of matching users, best matches first, with the cursor of the next page.
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<CursorPage<UserSummaryDTO>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(userSearchService.search(q, cursor, limit));
+    }
 }
@@ -0,0 +1,17 @@
+package com.party_up.network.exceptions;
+
+/**
+ * Exception thrown when a request is shed because the service is at capacity.
+ * The client may retry the request later.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceBusyException with the specified detail message.
+     *
+     * @param message the detail message which is saved for later retrieval by the getMessage() method
+     */
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -10,9 +10,16 @@ import lombok.NoArgsConstructor;
 
 /**
  * Entity class representing an authentication token.
- * This class is mapped to the 'auth_tokens' table in the database.
+ * This class is mapped to the 'auth_token' table in the database. Tokens are stored and looked up by their
+ * SHA-256 hash, never as the raw JWT.
  */
 @Entity
+@Table(name = "auth_token",
+        uniqueConstraints = @UniqueConstraint(name = "uk_auth_token_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_auth_token_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_auth_token_revoked_at", columnList = "revoked_at")
+        })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -26,9 +33,17 @@ public class AuthToken {
     private Long id;
 
     /**
-     * The JWT token string used for authentication.
+     * The SHA-256 hash of the JWT used for authentication, see
+     * {@link com.party_up.network.config.authentication.TokenHasher}.
      */
-    private String token;
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    /**
+     * The unique ID (jti claim) of the JWT.
+     */
+    @Column(length = 36)
+    private String jti;
 
     /**
      * The timestamp when the token was created.
@@ -45,6 +60,11 @@ public class AuthToken {
      */
     private LocalDateTime expiresAt;
 
+    /**
+     * The timestamp when the token was revoked by logout, or null if it was not revoked.
+     */
+    private LocalDateTime revokedAt;
+
     /**
      * The user associated with this authentication token.
      * This field establishes a many-to-one relationship with the User entity.
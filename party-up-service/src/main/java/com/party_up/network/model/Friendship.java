@@ -13,13 +13,22 @@ import lombok.NoArgsConstructor;
 /**
  * Entity class representing a friendship between users.
  * This class is mapped to the "friendships" table in the database.
+ * <p>
+ * Each pair of users is stored once under a canonical key: {@code userOne} always has the lower ID and
+ * {@code userTwo} the higher one, so a pair lookup is a single seek on the unique (user_one_id, user_two_id)
+ * index. The user who sent the request is kept separately in {@code requester}.
+ * </p>
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "friendships",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_one_id", "user_two_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_one_id", "user_two_id"}),
+        indexes = {
+                @Index(name = "idx_friendships_user_one_status", columnList = "user_one_id, status, user_two_id"),
+                @Index(name = "idx_friendships_user_two_status", columnList = "user_two_id, status, user_one_id")
+        })
 public class Friendship {
 
     /**
@@ -30,19 +39,26 @@ public class Friendship {
     private Long id;
 
     /**
-     * Represents first user of friendship.
+     * Represents first user of friendship, the one with the lower ID.
      */
     @ManyToOne
     @JoinColumn(name = "user_one_id", nullable = false)
     private User userOne;
 
     /**
-     * Represents second user of friendship.
+     * Represents second user of friendship, the one with the higher ID.
      */
     @ManyToOne
     @JoinColumn(name = "user_two_id", nullable = false)
     private User userTwo;
 
+    /**
+     * Represents the user who sent the friend request.
+     */
+    @ManyToOne
+    @JoinColumn(name = "requester_id")
+    private User requester;
+
     /**
      * Represents a friendship status(PENDING, ACCEPTED, REJECTED).
      */
@@ -62,9 +78,19 @@ public class Friendship {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    public Friendship(User userOne, User userTwo, FriendshipStatus status) {
-        this.userOne = userOne;
-        this.userTwo = userTwo;
+    /**
+     * Creates a friendship between two users, storing them in canonical order.
+     *
+     * @param requester the user who sent the friend request
+     * @param recipient the user who received the friend request
+     * @param status    the status of the friendship
+     */
+    public Friendship(User requester, User recipient, FriendshipStatus status) {
+        boolean requesterFirst = requester.getId() == null || recipient.getId() == null
+                || requester.getId() < recipient.getId();
+        this.userOne = requesterFirst ? requester : recipient;
+        this.userTwo = requesterFirst ? recipient : requester;
+        this.requester = requester;
         this.status = status;
     }
 
@@ -13,6 +13,7 @@ import lombok.NoArgsConstructor;
  * This class is mapped to the 'request_response_log' table in the database.
  */
 @Entity
+@Table(indexes = @Index(name = "idx_request_response_log_timestamp", columnList = "timestamp"))
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
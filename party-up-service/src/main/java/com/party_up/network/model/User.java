@@ -7,7 +7,9 @@ import java.util.List;
 import jakarta.persistence.*;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.party_up.network.config.cache.UserCacheInvalidationListener;
 import com.party_up.network.model.enums.AccountStatus;
+import com.party_up.network.service.UserSearchIndexListener;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,6 +23,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@EntityListeners({UserCacheInvalidationListener.class, UserSearchIndexListener.class})
 public class User {
 
     /**
@@ -66,11 +69,23 @@ public class User {
     private AccountStatus status;
 
     /**
-     * User profile image.
+     * Legacy profile image stored in the database, superseded by {@link #imageHash}.
      */
     @Lob
     private byte[] image;
 
+    /**
+     * Content hash of the profile image in the image store.
+     */
+    @Column(length = 64)
+    private String imageHash;
+
+    /**
+     * Content type of the profile image in the image store.
+     */
+    @Column(length = 64)
+    private String imageContentType;
+
     /**
      * Users day of birth.
      */
@@ -0,0 +1,24 @@
+package com.party_up.network.model.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one page of a keyset-paginated listing.
+ * The {@code next} cursor is opaque to clients; it is passed back unchanged to fetch the following page
+ * and is null when there are no more items.
+ *
+ * @param <T> the type of the listed items
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private String next;
+}
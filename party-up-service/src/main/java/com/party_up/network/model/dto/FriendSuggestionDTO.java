@@ -0,0 +1,25 @@
+package com.party_up.network.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a "people you may know" suggestion.
+ * Includes basic user information and the number of friends the suggested user shares with the viewer.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class FriendSuggestionDTO {
+
+    private Long id;
+
+    private String username;
+
+    private String firstName;
+
+    private String lastName;
+
+    private int mutualFriendCount;
+}
@@ -0,0 +1,25 @@
+package com.party_up.network.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.party_up.network.model.enums.FriendshipEventType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a friendship event pushed to a connected user.
+ * Identifies the other user, so clients can update their state without refetching whole lists.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class FriendshipEventDTO {
+
+    private FriendshipEventType type;
+
+    private Long userId;
+
+    private LocalDateTime timestamp;
+}
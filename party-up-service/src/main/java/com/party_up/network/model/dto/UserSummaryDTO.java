@@ -0,0 +1,48 @@
+package com.party_up.network.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight DTO for users shown in lists (friends, pending requests, mutual friends).
+ * It never carries the profile image itself, only the URL it can be fetched from.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class UserSummaryDTO {
+
+    private Long id;
+
+    private String username;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String avatarUrl;
+
+    /**
+     * Constructor used by the summary projection query.
+     *
+     * @param id        the ID of the user
+     * @param username  the username of the user
+     * @param firstName the first name of the user
+     * @param lastName  the last name of the user
+     * @param hasImage  whether the user has a profile image
+     */
+    public UserSummaryDTO(Long id, String username, String firstName, String lastName, Boolean hasImage) {
+        this(id, username, firstName, lastName, Boolean.TRUE.equals(hasImage) ? avatarUrl(id) : null);
+    }
+
+    /**
+     * Builds the URL of a user's profile image endpoint.
+     *
+     * @param userId the ID of the user
+     * @return the image URL
+     */
+    public static String avatarUrl(Long userId) {
+        return "/api/users/" + userId + "/image";
+    }
+}
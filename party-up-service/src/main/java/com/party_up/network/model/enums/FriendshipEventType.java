@@ -0,0 +1,23 @@
+package com.party_up.network.model.enums;
+
+/**
+ * Enum representing the kind of friendship event pushed to a connected user.
+ * The type can be REQUEST_RECEIVED, REQUEST_ACCEPTED, REQUEST_REJECTED.
+ */
+public enum FriendshipEventType {
+
+    /**
+     * Indicates that another user sent the user a friend request.
+     */
+    REQUEST_RECEIVED,
+
+    /**
+     * Indicates that another user accepted a friend request.
+     */
+    REQUEST_ACCEPTED,
+
+    /**
+     * Indicates that another user rejected a friend request.
+     */
+    REQUEST_REJECTED
+}
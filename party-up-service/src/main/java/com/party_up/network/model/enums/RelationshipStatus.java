@@ -0,0 +1,28 @@
+package com.party_up.network.model.enums;
+
+/**
+ * Enum representing the relationship of another user to the viewing user.
+ * The status can be NONE, FRIENDS, REQUEST_SENT, REQUEST_RECEIVED.
+ */
+public enum RelationshipStatus {
+
+    /**
+     * Indicates that there is no friendship or pending request between the users.
+     */
+    NONE,
+
+    /**
+     * Indicates that the users are friends.
+     */
+    FRIENDS,
+
+    /**
+     * Indicates that the viewer sent a friend request that is still pending.
+     */
+    REQUEST_SENT,
+
+    /**
+     * Indicates that the viewer received a friend request that is still pending.
+     */
+    REQUEST_RECEIVED
+}
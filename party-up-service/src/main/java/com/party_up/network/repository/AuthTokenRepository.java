@@ -15,10 +15,10 @@ import com.party_up.network.model.AuthToken;
 public interface AuthTokenRepository extends JpaRepository<AuthToken, Long> {
 
     /**
-     * Finds an {@link AuthToken} by its token string.
+     * Finds an {@link AuthToken} by the hash of its token string.
      *
-     * @param token the token string to search for
+     * @param tokenHash the SHA-256 hash of the token string to search for
      * @return an {@link Optional} containing the found {@link AuthToken}, or empty if not found
      */
-    Optional<AuthToken> findByToken(String token);
+    Optional<AuthToken> findByTokenHash(String tokenHash);
 }
@@ -1,5 +1,6 @@
 package com.party_up.network.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import com.party_up.network.model.Friendship;
 import com.party_up.network.model.User;
+import com.party_up.network.model.enums.FriendshipStatus;
 
 /**
  * Repository interface for managing {@link Friendship} entities.
@@ -36,10 +38,19 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
      * @param userTwo second user.
      * @return Returns friendship object between two users.
      */
-    @Query("SELECT f FROM Friendship f " +
-            "WHERE (f.userOne = :userOne AND f.userTwo = :userTwo) " +
-            "   OR (f.userOne = :userTwo AND f.userTwo = :userOne)")
-    Optional<Friendship> findFriendshipByUsers(@Param("userOne") User userOne, @Param("userTwo") User userTwo);
+    default Optional<Friendship> findFriendshipByUsers(User userOne, User userTwo) {
+        return findByPair(Math.min(userOne.getId(), userTwo.getId()), Math.max(userOne.getId(), userTwo.getId()));
+    }
+
+    /**
+     * Looks up a friendship by its canonical key with a single seek on the unique pair index.
+     *
+     * @param lowId  the lower of the two user IDs.
+     * @param highId the higher of the two user IDs.
+     * @return Returns friendship object between two users.
+     */
+    @Query("SELECT f FROM Friendship f WHERE f.userOne.id = :lowId AND f.userTwo.id = :highId")
+    Optional<Friendship> findByPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
 
     /**
      * Check are two users friends or not.
@@ -47,11 +58,19 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
      * @param user2 second user.
      * @return boolean which represent are user friends or not.
      */
+    default boolean areUsersFriends(User user1, User user2) {
+        return existsAcceptedPair(Math.min(user1.getId(), user2.getId()), Math.max(user1.getId(), user2.getId()));
+    }
+
+    /**
+     * @param lowId  the lower of the two user IDs.
+     * @param highId the higher of the two user IDs.
+     * @return Returns true if the pair has an ACCEPTED friendship.
+     */
     @Query("SELECT CASE WHEN COUNT(f) > 0 THEN TRUE ELSE FALSE END " +
             "FROM Friendship f " +
-            "WHERE ((f.userOne = :user1 AND f.userTwo = :user2) OR (f.userOne = :user2 AND f.userTwo = :user1)) " +
-            "AND f.status = 'ACCEPTED'")
-    boolean areUsersFriends(@Param("user1") User user1, @Param("user2") User user2);
+            "WHERE f.userOne.id = :lowId AND f.userTwo.id = :highId AND f.status = 'ACCEPTED'")
+    boolean existsAcceptedPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
 
     /**
      * @param userId ID of the user
@@ -70,10 +89,17 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
      * @param user1 first user.
      * @param user2 second user.
      */
+    default void deleteFriendshipBetweenUsers(User user1, User user2) {
+        deleteByPair(Math.min(user1.getId(), user2.getId()), Math.max(user1.getId(), user2.getId()));
+    }
+
+    /**
+     * @param lowId  the lower of the two user IDs.
+     * @param highId the higher of the two user IDs.
+     */
     @Modifying
-    @Query("DELETE FROM Friendship f WHERE (f.userOne = :user1 AND f.userTwo = :user2) " +
-            "OR (f.userOne = :user2 AND f.userTwo = :user1)")
-    void deleteFriendshipBetweenUsers(@Param("user1") User user1, @Param("user2") User user2);
+    @Query("DELETE FROM Friendship f WHERE f.userOne.id = :lowId AND f.userTwo.id = :highId")
+    void deleteByPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
 
     /**
      * @param currentUser the user who make the call.
@@ -88,20 +114,124 @@ public interface FriendshipRepository extends JpaRepository<Friendship, Long> {
     List<User> findFriendsOfOtherUser(@Param("currentUser") User currentUser, @Param("otherUser") User otherUser);
 
     /**
+     * Symmetric projection of a user's ACCEPTED friendships onto friend IDs. Each branch is answered
+     * by one of the (user, status) indexes on the friendships table.
+     */
+    String FRIEND_IDS_OF_USER_ONE = "SELECT f.user_two_id AS friend_id FROM friendships f "
+            + "WHERE f.user_one_id = :user1 AND f.status = 'ACCEPTED' "
+            + "UNION ALL "
+            + "SELECT f.user_one_id AS friend_id FROM friendships f "
+            + "WHERE f.user_two_id = :user1 AND f.status = 'ACCEPTED'";
+
+    /**
+     * Same projection as {@link #FRIEND_IDS_OF_USER_ONE} for the second user.
+     */
+    String FRIEND_IDS_OF_USER_TWO = "SELECT f.user_two_id AS friend_id FROM friendships f "
+            + "WHERE f.user_one_id = :user2 AND f.status = 'ACCEPTED' "
+            + "UNION ALL "
+            + "SELECT f.user_one_id AS friend_id FROM friendships f "
+            + "WHERE f.user_two_id = :user2 AND f.status = 'ACCEPTED'";
+
+    /**
+     * Joins the friend ID lists of both users instead of their friendship rows, so the cost grows
+     * with the size of the two lists rather than with their product.
+     *
      * @param user1 first user.
      * @param user2 second user.
-     * @return Returns a list of mutual friends IDs.
-     */
-    @Query("SELECT DISTINCT CASE " +
-            "WHEN f1.userOne.id = f2.userOne.id THEN f1.userOne.id " +
-            "WHEN f1.userOne.id = f2.userTwo.id THEN f1.userOne.id " +
-            "WHEN f1.userTwo.id = f2.userOne.id THEN f1.userTwo.id " +
-            "WHEN f1.userTwo.id = f2.userTwo.id THEN f1.userTwo.id " +
-            "ELSE NULL END " +
-            "FROM Friendship f1, Friendship f2 " +
-            "WHERE (f1.userOne.id = :user1 OR f1.userTwo.id = :user1) " +
-            "AND (f2.userOne.id = :user2 OR f2.userTwo.id = :user2) " +
-            "AND f1.status = 'ACCEPTED' " +
-            "AND f2.status = 'ACCEPTED'")
+     * @return Returns a list of mutual friends IDs, in ascending order.
+     */
+    @Query(value = "SELECT a.friend_id FROM (" + FRIEND_IDS_OF_USER_ONE + ") a "
+            + "JOIN (" + FRIEND_IDS_OF_USER_TWO + ") b ON a.friend_id = b.friend_id "
+            + "ORDER BY a.friend_id",
+            nativeQuery = true)
     List<Long> findMutualFriendIds(@Param("user1") Long user1, @Param("user2") Long user2);
+
+    /**
+     * @param user1 first user.
+     * @param user2 second user.
+     * @return Returns the number of mutual friends without loading them.
+     */
+    @Query(value = "SELECT COUNT(*) FROM (" + FRIEND_IDS_OF_USER_ONE + ") a "
+            + "JOIN (" + FRIEND_IDS_OF_USER_TWO + ") b ON a.friend_id = b.friend_id",
+            nativeQuery = true)
+    long countMutualFriends(@Param("user1") Long user1, @Param("user2") Long user2);
+
+    /**
+     * @param userId  ID of the user.
+     * @param afterId only friends with a greater ID are returned (keyset cursor).
+     * @param limit   maximum number of IDs to return.
+     * @return Returns friend IDs of the user in ascending order, starting after the given ID.
+     */
+    @Query(value = "SELECT x.friend_id FROM ("
+            + "SELECT f.user_two_id AS friend_id FROM friendships f "
+            + "WHERE f.user_one_id = :userId AND f.status = 'ACCEPTED' AND f.user_two_id > :afterId "
+            + "UNION ALL "
+            + "SELECT f.user_one_id AS friend_id FROM friendships f "
+            + "WHERE f.user_two_id = :userId AND f.status = 'ACCEPTED' AND f.user_one_id > :afterId"
+            + ") x ORDER BY x.friend_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findFriendIdsPage(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                 @Param("limit") int limit);
+
+    /**
+     * @param userId  ID of the user.
+     * @param afterId only users with a greater ID are returned (keyset cursor).
+     * @param limit   maximum number of IDs to return.
+     * @return Returns IDs of users with a PENDING request to or from the user, in ascending order.
+     */
+    @Query(value = "SELECT x.friend_id FROM ("
+            + "SELECT f.user_two_id AS friend_id FROM friendships f "
+            + "WHERE f.user_one_id = :userId AND f.status = 'PENDING' AND f.user_two_id > :afterId "
+            + "UNION ALL "
+            + "SELECT f.user_one_id AS friend_id FROM friendships f "
+            + "WHERE f.user_two_id = :userId AND f.status = 'PENDING' AND f.user_one_id > :afterId"
+            + ") x ORDER BY x.friend_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findPendingRequestIdsPage(@Param("userId") Long userId, @Param("afterId") Long afterId,
+                                         @Param("limit") int limit);
+
+    /**
+     * @param user1   first user.
+     * @param user2   second user.
+     * @param afterId only mutual friends with a greater ID are returned (keyset cursor).
+     * @param limit   maximum number of IDs to return.
+     * @return Returns mutual friend IDs in ascending order, starting after the given ID.
+     */
+    @Query(value = "SELECT a.friend_id FROM ("
+            + "SELECT f.user_two_id AS friend_id FROM friendships f "
+            + "WHERE f.user_one_id = :user1 AND f.status = 'ACCEPTED' AND f.user_two_id > :afterId "
+            + "UNION ALL "
+            + "SELECT f.user_one_id AS friend_id FROM friendships f "
+            + "WHERE f.user_two_id = :user1 AND f.status = 'ACCEPTED' AND f.user_one_id > :afterId"
+            + ") a JOIN (" + FRIEND_IDS_OF_USER_TWO + ") b ON a.friend_id = b.friend_id "
+            + "ORDER BY a.friend_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findMutualFriendIdsPage(@Param("user1") Long user1, @Param("user2") Long user2,
+                                       @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    /**
+     * @param userIds IDs of the users whose friendships are needed.
+     * @return Returns [userOneId, userTwoId] pairs of all ACCEPTED friendships that involve any of the given users.
+     */
+    @Query("SELECT f.userOne.id, f.userTwo.id " +
+            "FROM Friendship f " +
+            "WHERE (f.userOne.id IN :userIds OR f.userTwo.id IN :userIds) " +
+            "AND f.status = 'ACCEPTED'")
+    List<Object[]> findAcceptedFriendshipPairs(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * @param viewerId  ID of the viewing user.
+     * @param targetIds IDs of the other users.
+     * @param statuses  friendship statuses to include.
+     * @return Returns [otherUserId, status, requesterId] rows of the viewer's friendships with any of the targets.
+     */
+    @Query("SELECT CASE WHEN f.userOne.id = :viewerId THEN f.userTwo.id ELSE f.userOne.id END, " +
+            "f.status, f.requester.id " +
+            "FROM Friendship f " +
+            "WHERE ((f.userOne.id = :viewerId AND f.userTwo.id IN :targetIds) " +
+            "OR (f.userTwo.id = :viewerId AND f.userOne.id IN :targetIds)) " +
+            "AND f.status IN :statuses")
+    List<Object[]> findRelationships(@Param("viewerId") Long viewerId,
+                                     @Param("targetIds") Collection<Long> targetIds,
+                                     @Param("statuses") Collection<FriendshipStatus> statuses);
 }
@@ -2,12 +2,17 @@ package com.party_up.network.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import com.party_up.network.model.RequestResponseLog;
 
 /**
@@ -18,39 +23,66 @@ import com.party_up.network.model.RequestResponseLog;
 public interface RequestResponseLogRepository extends JpaRepository<RequestResponseLog, Long> {
 
     /**
-     * Finds all {@link RequestResponseLog} entries within the specified time range.
+     * Fetches one page of {@link RequestResponseLog} entries, ordered by ID.
      *
-     * @param start the start time of the range
-     * @param end   the end time of the range
-     * @return a lsit of {@link RequestResponseLog} entries within the specified time range
+     * @param afterId the ID after which the page starts (exclusive), 0 for the first page
+     * @param limit   the maximum number of entries to return
+     * @return the entries of the page
      */
-    List<RequestResponseLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end);
+    List<RequestResponseLog> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 
     /**
-     * Finds the most recent {@link RequestResponseLog} entry for a given endpoints and method.
+     * Fetches one page of {@link RequestResponseLog} entries within the specified time range, ordered by ID.
      *
-     * @param endpoint the endpoint to search for
-     * @param method   the HTTP method (e.g., GET, POST) to search for
-     * @return the most recent {@link RequestResponseLog} entry matching the given endpoint and method
+     * @param start   the start time of the range
+     * @param end     the end time of the range
+     * @param afterId the ID after which the page starts (exclusive), 0 for the first page
+     * @param limit   the maximum number of entries to return
+     * @return the entries of the page
      */
-    RequestResponseLog findTopByEndpointAndMethodOrderByTimestampDesc(String endpoint, String method);
+    List<RequestResponseLog> findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(
+            LocalDateTime start, LocalDateTime end, Long afterId, Limit limit);
 
     /**
-     * Finds {@link RequestResponseLog} entries based on various criteria.
+     * Fetches one page of {@link RequestResponseLog} entries matching various criteria, ordered by ID.
      *
      * @param endpoint   the endpoint to filter by (optional)
      * @param method     the HTTP method to filter by (optional)
      * @param statusCode the status code to filter by (optional)
-     * @return an {@link Optional} containing a list of matching
-     *  {@link RequestResponseLog} entries, or empty if no matches are found
+     * @param afterId    the ID after which the page starts (exclusive), 0 for the first page
+     * @param limit      the maximum number of entries to return
+     * @return the matching entries of the page
      */
     @Query("SELECT r FROM RequestResponseLog r " +
             "WHERE (:endpoint IS NULL OR r.endpoint LIKE %:endpoint%) " +
             "AND (:method IS NULL OR r.method LIKE %:method%) " +
-            "AND (:statusCode IS NULL OR r.statusCode = :statusCode)")
-    Optional<List<RequestResponseLog>> findByCriteria(
+            "AND (:statusCode IS NULL OR r.statusCode = :statusCode) " +
+            "AND r.id > :afterId ORDER BY r.id")
+    List<RequestResponseLog> findPageByCriteria(
             String endpoint,
             String method,
-            Integer statusCode);
+            Integer statusCode,
+            Long afterId,
+            Limit limit);
+
+    /**
+     * Streams all {@link RequestResponseLog} entries within the specified time range, ordered by ID.
+     * <p>
+     * The entries are read forward-only and read-only. The fetch size of {@link Integer#MIN_VALUE} makes the
+     * MySQL driver stream rows one by one instead of buffering the whole result set in memory.
+     * Must be consumed within a transaction and closed afterwards.
+     * </p>
+     *
+     * @param start the start time of the range
+     * @param end   the end time of the range
+     * @return a stream of the entries within the range
+     */
+    @Query("SELECT r FROM RequestResponseLog r WHERE r.timestamp BETWEEN :start AND :end ORDER BY r.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<RequestResponseLog> streamByTimestampBetween(LocalDateTime start, LocalDateTime end);
 
 }
@@ -1,11 +1,19 @@
 package com.party_up.network.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.party_up.network.model.User;
+import com.party_up.network.model.dto.UserSummaryDTO;
 
 /**
  * Repository interface for managing {@link User} entities.
@@ -29,4 +37,90 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return an {@link Optional} containing the found {@link User}, or empty if no user is found
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Loads summaries of the given users without reading their profile images.
+     *
+     * @param ids the IDs of the users
+     * @return summaries of the found users, in no particular order
+     */
+    @Query("SELECT new com.party_up.network.model.dto.UserSummaryDTO("
+            + "u.id, u.username, u.firstName, u.lastName, "
+            + "CASE WHEN u.imageHash IS NULL AND u.image IS NULL THEN FALSE ELSE TRUE END) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds summaries of users whose username starts with the given pattern.
+     * Used by user search while the in-memory search index is disabled or still loading. Only the username is
+     * matched so the query is a range scan of its unique index that stops after the limit.
+     *
+     * @param pattern the LIKE pattern, with {@code !} as the escape character
+     * @param limit   the maximum number of results
+     * @return the matching summaries, ordered by username
+     */
+    @Query("SELECT new com.party_up.network.model.dto.UserSummaryDTO("
+            + "u.id, u.username, u.firstName, u.lastName, "
+            + "CASE WHEN u.imageHash IS NULL AND u.image IS NULL THEN FALSE ELSE TRUE END) "
+            + "FROM User u WHERE u.username LIKE :pattern ESCAPE '!' ORDER BY u.username")
+    List<UserSummaryDTO> searchSummariesByUsernamePrefix(@Param("pattern") String pattern, Limit limit);
+
+    /**
+     * Finds the stored profile image reference of a user.
+     *
+     * @param id the ID of the user
+     * @return the image reference, or empty if no user is found
+     */
+    Optional<ProfileImageRef> findImageRefById(Long id);
+
+    /**
+     * Counts users whose profile image has the given content hash.
+     *
+     * @param imageHash the content hash
+     * @return the number of users referencing the image
+     */
+    long countByImageHash(String imageHash);
+
+    /**
+     * Replaces the stored password hash of a user.
+     *
+     * @param id       the ID of the user
+     * @param password the new password hash
+     * @return the number of updated users
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    /**
+     * Points a user's profile image at a stored image and drops the legacy database image.
+     *
+     * @param id          the ID of the user
+     * @param imageHash   the content hash of the stored image
+     * @param contentType the content type of the stored image
+     * @return the number of updated users
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.imageHash = :imageHash, u.imageContentType = :contentType, u.image = NULL "
+            + "WHERE u.id = :id")
+    int updateImage(@Param("id") Long id, @Param("imageHash") String imageHash,
+                    @Param("contentType") String contentType);
+
+    /**
+     * Projection of the profile image columns of a user, without the legacy image itself.
+     */
+    interface ProfileImageRef {
+
+        /**
+         * @return the content hash of the stored image, or null if none
+         */
+        String getImageHash();
+
+        /**
+         * @return the content type of the stored image, or null if none
+         */
+        String getImageContentType();
+    }
 }
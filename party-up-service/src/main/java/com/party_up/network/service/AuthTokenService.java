@@ -1,11 +1,17 @@
 package com.party_up.network.service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import io.jsonwebtoken.Claims;
+
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.SessionCache;
+import com.party_up.network.config.authentication.TokenDenyList;
+import com.party_up.network.config.authentication.TokenHasher;
 import com.party_up.network.exceptions.DatabaseException;
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.AuthToken;
@@ -22,9 +28,16 @@ public class AuthTokenService {
 
     private final JwtUtil jwtUtil;
 
-    public AuthTokenService(AuthTokenRepository authTokenRepository, JwtUtil jwtUtil) {
+    private final SessionCache sessionCache;
+
+    private final TokenDenyList tokenDenyList;
+
+    public AuthTokenService(AuthTokenRepository authTokenRepository, JwtUtil jwtUtil, SessionCache sessionCache,
+                            TokenDenyList tokenDenyList) {
         this.authTokenRepository = authTokenRepository;
         this.jwtUtil = jwtUtil;
+        this.sessionCache = sessionCache;
+        this.tokenDenyList = tokenDenyList;
     }
 
     /**
@@ -38,12 +51,13 @@ public class AuthTokenService {
     public AuthToken createAuthToken(String token, User user) {
         try {
             AuthToken authToken = new AuthToken();
-            authToken.setToken(token);
+            authToken.setTokenHash(TokenHasher.hash(token));
+            authToken.setJti(jwtUtil.extractClaim(token, Claims::getId));
             authToken.setUser(user);
             authToken.setCreatedAt(LocalDateTime.now());
             authToken.setLastUsedAt(LocalDateTime.now());
 
-            LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(30);
+            LocalDateTime expiresAt = LocalDateTime.now().plus(JwtUtil.TOKEN_LIFETIME);
             authToken.setExpiresAt(expiresAt);
 
             log.info("Creating auth token for user: {}", user.getUsername());
@@ -55,13 +69,21 @@ public class AuthTokenService {
     }
 
     /**
-     * Marks the given authentication token as expired.
+     * Marks the given authentication token as expired and revoked, evicts it from the session cache and
+     * adds it to the deny-list used by stateless validation.
      *
      * @param authToken the token to be updated
      */
     public void updateToExpired(AuthToken authToken) {
-        authToken.setExpiresAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        authToken.setExpiresAt(now);
+        authToken.setRevokedAt(now);
         authTokenRepository.save(authToken);
+        sessionCache.invalidateHash(authToken.getTokenHash());
+        if (authToken.getCreatedAt() != null) {
+            tokenDenyList.revoke(authToken.getJti(), authToken.getCreatedAt().plus(JwtUtil.TOKEN_LIFETIME)
+                    .atZone(ZoneId.systemDefault()).toInstant());
+        }
         log.info("Auth token for user {} marked as expired", authToken.getUser().getEmail());
     }
 
@@ -74,8 +96,8 @@ public class AuthTokenService {
      */
     public AuthToken findByToken(String token) {
         try {
-            return authTokenRepository.findByToken(token).orElseThrow(() ->
-                    new ResourceNotFoundException("Token not found: " + token)
+            return authTokenRepository.findByTokenHash(TokenHasher.hash(token)).orElseThrow(() ->
+                    new ResourceNotFoundException("Token not found")
             );
         } catch (DataAccessException e) {
             log.error("Resource not found: {},", e.getMessage());
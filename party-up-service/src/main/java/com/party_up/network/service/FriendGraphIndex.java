@@ -0,0 +1,267 @@
+package com.party_up.network.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-process adjacency index of the ACCEPTED friendship graph.
+ * <p>
+ * Each user maps to a sorted {@code long[]} of friend IDs. The index is loaded once the application is ready
+ * with a single streaming scan of the friendships table, and then kept current by {@link FriendshipService}
+ * through {@link #addFriendship(long, long)} and {@link #removeFriendship(long, long)}. Arrays are never modified
+ * in place, so readers always see a consistent friend list without locking. Until loading has finished
+ * {@link #isReady()} returns false and callers fall back to the database.
+ * </p>
+ * <p>
+ * Enabled with {@code friendship.graph-index.enabled=true}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class FriendGraphIndex {
+
+    private static final String SCAN_SQL =
+            "SELECT user_one_id, user_two_id FROM friendships WHERE status = 'ACCEPTED'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+
+    private volatile Map<Long, long[]> adjacency = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private boolean loading;
+
+    private final List<long[]> updatesDuringLoad = new ArrayList<>();
+
+    /**
+     * Constructs the index.
+     *
+     * @param jdbcTemplate the JDBC template used for the startup scan
+     * @param enabled      whether the index should be built and used
+     */
+    public FriendGraphIndex(JdbcTemplate jdbcTemplate,
+                            @Value("${friendship.graph-index.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks if the index is loaded and can answer queries.
+     *
+     * @return true if the index is ready, false otherwise
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads the index once the application has started, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            load();
+        } else {
+            log.info("Friend graph index is disabled, friendship queries use the database");
+        }
+    }
+
+    /**
+     * Builds the index with a streaming scan of all ACCEPTED friendships and makes it ready.
+     * <p>
+     * If the scan fails, the failure is logged and the index keeps its previous state: callers keep using the
+     * database until it was loaded once, and {@code load()} can be called again.
+     * </p>
+     */
+    public void load() {
+        stateLock.lock();
+        try {
+            loading = true;
+            updatesDuringLoad.clear();
+        } finally {
+            stateLock.unlock();
+        }
+
+        long start = System.nanoTime();
+        boolean loaded = false;
+        try {
+            Map<Long, SortedLongArrays.LongList> builder = new HashMap<>();
+            long[] edges = new long[1];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SCAN_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Instructs the MySQL driver to stream rows instead of buffering the whole result
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (ResultSet resultSet) -> {
+                long userOne = resultSet.getLong(1);
+                long userTwo = resultSet.getLong(2);
+                builder.computeIfAbsent(userOne, id -> new SortedLongArrays.LongList()).add(userTwo);
+                builder.computeIfAbsent(userTwo, id -> new SortedLongArrays.LongList()).add(userOne);
+                edges[0]++;
+            });
+
+            Map<Long, long[]> scanned = new ConcurrentHashMap<>(builder.size() * 4 / 3 + 1);
+            builder.forEach((userId, friends) -> scanned.put(userId, friends.toSortedDistinctArray()));
+
+            stateLock.lock();
+            try {
+                adjacency = scanned;
+                replayUpdatesDuringLoad();
+                ready = true;
+                loaded = true;
+            } finally {
+                stateLock.unlock();
+            }
+
+            log.info("Friend graph index loaded: {} users, {} friendships in {} ms",
+                    scanned.size(), edges[0], (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the friend graph index, friendship queries keep using the database", e);
+        } finally {
+            if (!loaded) {
+                stateLock.lock();
+                try {
+                    // A reload keeps serving the previous lists, which still need the queued updates
+                    if (ready) {
+                        replayUpdatesDuringLoad();
+                    } else {
+                        updatesDuringLoad.clear();
+                        loading = false;
+                    }
+                } finally {
+                    stateLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the sorted friend IDs of a user. The returned array must not be modified.
+     *
+     * @param userId the ID of the user
+     * @return the sorted friend IDs, empty if the user has no friends
+     */
+    public long[] getFriendIds(long userId) {
+        return adjacency.getOrDefault(userId, SortedLongArrays.EMPTY);
+    }
+
+    /**
+     * Checks if two users are friends.
+     *
+     * @param userOne the ID of the first user
+     * @param userTwo the ID of the second user
+     * @return true if the users are friends, false otherwise
+     */
+    public boolean areFriends(long userOne, long userTwo) {
+        long[] smaller = getFriendIds(userOne);
+        long[] other = getFriendIds(userTwo);
+        if (other.length < smaller.length) {
+            return Arrays.binarySearch(other, userOne) >= 0;
+        }
+        return Arrays.binarySearch(smaller, userTwo) >= 0;
+    }
+
+    /**
+     * Returns the sorted IDs of the mutual friends of two users.
+     *
+     * @param userOne the ID of the first user
+     * @param userTwo the ID of the second user
+     * @return the sorted mutual friend IDs
+     */
+    public long[] getMutualFriendIds(long userOne, long userTwo) {
+        return SortedLongArrays.intersect(getFriendIds(userOne), getFriendIds(userTwo));
+    }
+
+    /**
+     * Records a new ACCEPTED friendship.
+     *
+     * @param userOne the ID of the first user
+     * @param userTwo the ID of the second user
+     */
+    public void addFriendship(long userOne, long userTwo) {
+        mutate(userOne, userTwo, true);
+    }
+
+    /**
+     * Removes a friendship, if present.
+     *
+     * @param userOne the ID of the first user
+     * @param userTwo the ID of the second user
+     */
+    public void removeFriendship(long userOne, long userTwo) {
+        mutate(userOne, userTwo, false);
+    }
+
+    private void mutate(long userOne, long userTwo, boolean add) {
+        if (!enabled) {
+            return;
+        }
+        // Applied under the lock, so an update cannot land in the old adjacency map while load() swaps it
+        stateLock.lock();
+        try {
+            if (loading) {
+                updatesDuringLoad.add(new long[]{userOne, userTwo, add ? 1 : 0});
+            } else if (add) {
+                applyAdd(userOne, userTwo);
+            } else {
+                applyRemove(userOne, userTwo);
+            }
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the mutations queued while the scan was running and ends the loading phase.
+     * Must be called with the state lock held.
+     */
+    private void replayUpdatesDuringLoad() {
+        for (long[] update : updatesDuringLoad) {
+            if (update[2] == 1) {
+                applyAdd(update[0], update[1]);
+            } else {
+                applyRemove(update[0], update[1]);
+            }
+        }
+        updatesDuringLoad.clear();
+        loading = false;
+    }
+
+    private void applyAdd(long userOne, long userTwo) {
+        adjacency.compute(userOne, (id, friends) -> SortedLongArrays.insert(
+                friends == null ? SortedLongArrays.EMPTY : friends, userTwo));
+        adjacency.compute(userTwo, (id, friends) -> SortedLongArrays.insert(
+                friends == null ? SortedLongArrays.EMPTY : friends, userOne));
+    }
+
+    private void applyRemove(long userOne, long userTwo) {
+        adjacency.computeIfPresent(userOne, (id, friends) -> withoutFriend(friends, userTwo));
+        adjacency.computeIfPresent(userTwo, (id, friends) -> withoutFriend(friends, userOne));
+    }
+
+    private static long[] withoutFriend(long[] friends, long friendId) {
+        long[] remaining = SortedLongArrays.delete(friends, friendId);
+        // Users without friends are dropped from the map
+        return remaining.length == 0 ? null : remaining;
+    }
+}
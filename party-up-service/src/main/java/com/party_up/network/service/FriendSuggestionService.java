@@ -0,0 +1,219 @@
+package com.party_up.network.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.party_up.network.config.cache.BoundedTtlCache;
+import com.party_up.network.model.dto.FriendSuggestionDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.repository.FriendshipRepository;
+import com.party_up.network.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service class for "people you may know" suggestions.
+ * <p>
+ * Suggestions are second-degree connections ranked by the number of mutual friends, excluding existing
+ * friends and pending requests. The ranked candidate list of a user is computed from the {@link FriendGraphIndex}
+ * when it is loaded, and from batched edge queries otherwise, and kept in a bounded cache.
+ * </p>
+ * <p>
+ * {@link FriendshipService} invalidates the lists of both users whenever a friendship between them changes.
+ * Changes between other users, such as a friend gaining a new friend, are not tracked: a cached list can miss
+ * them for up to {@code friendship.suggestions.cache-ttl-seconds} (10 minutes by default). At most
+ * {@code friendship.suggestions.max-candidates} candidates are ranked per user, which also caps the page size.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FriendSuggestionService {
+
+    /**
+     * Maximum number of IDs passed to a single IN clause.
+     */
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    private final FriendshipRepository friendshipRepository;
+
+    private final UserRepository userRepository;
+
+    private final FriendGraphIndex friendGraphIndex;
+
+    private final BoundedTtlCache<Long, List<Candidate>> candidateCache;
+
+    private final int maxCandidates;
+
+    /**
+     * Constructor for injecting dependencies and configuring the candidate cache.
+     *
+     * @param friendshipRepository the repository for managing Friendship entities
+     * @param userRepository       the repository for managing User entities
+     * @param friendGraphIndex     the optional in-memory index of accepted friendships
+     * @param cacheSize            the maximum number of users whose candidates are cached
+     * @param cacheTtlSeconds      how long a computed candidate list is kept, in seconds
+     * @param maxCandidates        the maximum number of ranked candidates kept per user
+     */
+    public FriendSuggestionService(FriendshipRepository friendshipRepository,
+                                   UserRepository userRepository,
+                                   FriendGraphIndex friendGraphIndex,
+                                   @Value("${friendship.suggestions.cache-size:10000}") int cacheSize,
+                                   @Value("${friendship.suggestions.cache-ttl-seconds:600}") long cacheTtlSeconds,
+                                   @Value("${friendship.suggestions.max-candidates:100}") int maxCandidates) {
+        this.friendshipRepository = friendshipRepository;
+        this.userRepository = userRepository;
+        this.friendGraphIndex = friendGraphIndex;
+        this.candidateCache = new BoundedTtlCache<>(cacheSize, Duration.ofSeconds(cacheTtlSeconds));
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * Returns friend suggestions for a user, ranked by mutual friend count.
+     *
+     * @param userId the ID of the user to suggest friends for
+     * @param limit  the maximum number of suggestions to return, at most the configured maximum candidates
+     * @return a ranked list of suggestions
+     * @throws IllegalArgumentException if the limit is not between 1 and the configured maximum candidates
+     */
+    public List<FriendSuggestionDTO> getSuggestions(Long userId, int limit) {
+        if (limit <= 0 || limit > maxCandidates) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxCandidates);
+        }
+
+        List<Candidate> candidates = candidateCache.get(userId);
+        if (candidates == null) {
+            candidates = computeCandidates(userId);
+            candidateCache.put(userId, candidates);
+        }
+
+        List<Candidate> page = candidates.subList(0, Math.min(limit, candidates.size()));
+        if (page.isEmpty()) {
+            return List.of();
+        }
+
+        // Load only the users on the requested page and keep the ranking order
+        Map<Long, UserSummaryDTO> usersById = userRepository
+                .findSummariesByIdIn(page.stream().map(Candidate::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(UserSummaryDTO::getId, Function.identity()));
+
+        List<FriendSuggestionDTO> suggestions = new ArrayList<>(page.size());
+        for (Candidate candidate : page) {
+            UserSummaryDTO user = usersById.get(candidate.userId());
+            if (user != null) {
+                suggestions.add(new FriendSuggestionDTO(user.getId(), user.getUsername(), user.getFirstName(),
+                        user.getLastName(), candidate.mutualFriendCount()));
+            }
+        }
+        log.info("Returning {} friend suggestions for user {}", suggestions.size(), userId);
+        return suggestions;
+    }
+
+    /**
+     * Drops the cached candidates of the given users, e.g. after their friendship changed.
+     *
+     * @param userIds the IDs of the affected users
+     */
+    public void invalidate(Long... userIds) {
+        for (Long userId : userIds) {
+            candidateCache.invalidate(userId);
+        }
+    }
+
+    /**
+     * Computes the ranked candidate list of a user from the friendships of their friends.
+     * Uses the in-memory graph index when it is loaded and the database otherwise.
+     *
+     * @param userId the ID of the user
+     * @return the candidates, best first, capped at the configured maximum
+     */
+    List<Candidate> computeCandidates(Long userId) {
+        // Read once, so a load completing midway does not mix both sources
+        boolean useIndex = friendGraphIndex.isReady();
+        long[] indexedFriendIds = useIndex ? friendGraphIndex.getFriendIds(userId) : null;
+
+        Set<Long> friendIds = new HashSet<>();
+        if (useIndex) {
+            for (long friendId : indexedFriendIds) {
+                friendIds.add(friendId);
+            }
+        } else {
+            friendIds.addAll(friendshipRepository.findFriendIdsByUserId(userId));
+        }
+        if (friendIds.isEmpty()) {
+            return List.of();
+        }
+
+        // Existing friends, pending requests (in either direction) and the user itself are never suggested
+        Set<Long> excluded = new HashSet<>(friendIds);
+        excluded.addAll(friendshipRepository.findPendingRequestsForUser(userId));
+        excluded.add(userId);
+
+        Map<Long, Integer> mutualCounts = new HashMap<>();
+        if (useIndex) {
+            // Adjacency lists are read straight from memory, no edge query per friend
+            for (long friendId : indexedFriendIds) {
+                for (long candidate : friendGraphIndex.getFriendIds(friendId)) {
+                    if (!excluded.contains(candidate)) {
+                        mutualCounts.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+        } else {
+            for (List<Long> chunk : chunk(friendIds)) {
+                for (Object[] pair : friendshipRepository.findAcceptedFriendshipPairs(chunk)) {
+                    countSecondDegree((Long) pair[0], (Long) pair[1], friendIds, excluded, mutualCounts);
+                    countSecondDegree((Long) pair[1], (Long) pair[0], friendIds, excluded, mutualCounts);
+                }
+            }
+        }
+
+        List<Candidate> candidates = mutualCounts.entrySet().stream()
+                .map(entry -> new Candidate(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingInt(Candidate::mutualFriendCount).reversed()
+                        .thenComparingLong(Candidate::userId))
+                .limit(maxCandidates)
+                .toList();
+
+        log.debug("Computed {} suggestion candidates for user {} from {} friends ({})",
+                candidates.size(), userId, friendIds.size(), useIndex ? "index" : "database");
+        return candidates;
+    }
+
+    private static void countSecondDegree(Long friend, Long candidate, Set<Long> friendIds,
+                                          Set<Long> excluded, Map<Long, Integer> mutualCounts) {
+        if (friendIds.contains(friend) && !excluded.contains(candidate)) {
+            mutualCounts.merge(candidate, 1, Integer::sum);
+        }
+    }
+
+    private static List<List<Long>> chunk(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += QUERY_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + QUERY_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * A suggested user and the number of mutual friends they share with the viewer.
+     *
+     * @param userId            the ID of the suggested user
+     * @param mutualFriendCount the number of mutual friends
+     */
+    record Candidate(long userId, int mutualFriendCount) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.party_up.network.service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+import com.party_up.network.model.dto.FriendshipEventDTO;
+import com.party_up.network.model.enums.FriendshipEventType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process registry of server-sent event streams that pushes friendship events to connected users.
+ * <p>
+ * Streams are servlet async requests, so an idle connection holds no request thread. Each connection has
+ * a bounded buffer drained by a small shared sender pool; publishing never blocks the caller on a slow
+ * client. A connection whose buffer overflows is closed and the client is expected to reconnect and
+ * refetch its pending requests. Heartbeat comments detect connections that were dropped silently.
+ * </p>
+ */
+@Slf4j
+@Service
+public class FriendshipEventPublisher {
+
+    private static final String EVENT_NAME = "friendship";
+
+    private final Map<Long, List<Subscription>> subscriptions = new ConcurrentHashMap<>();
+
+    private final ExecutorService sender;
+
+    private final int bufferSize;
+
+    private final long timeoutMs;
+
+    private final int maxConnectionsPerUser;
+
+    private final Counter overflowCounter;
+
+    /**
+     * Constructs the publisher and registers its metrics.
+     *
+     * @param meterRegistry         the registry for connection metrics
+     * @param bufferSize            the maximum number of undelivered events per connection
+     * @param timeoutMs             how long a stream stays open before the client has to reconnect
+     * @param maxConnectionsPerUser the maximum number of open streams per user, the oldest is closed beyond it
+     * @param senderThreads         the number of threads writing events to the connections
+     */
+    public FriendshipEventPublisher(MeterRegistry meterRegistry,
+                                    @Value("${friendship.events.buffer-size:32}") int bufferSize,
+                                    @Value("${friendship.events.timeout-ms:1800000}") long timeoutMs,
+                                    @Value("${friendship.events.max-connections-per-user:5}") int maxConnectionsPerUser,
+                                    @Value("${friendship.events.sender-threads:2}") int senderThreads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "friendship-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("friendship.events.connections", this, FriendshipEventPublisher::connectionCount)
+                .description("Open friendship event streams")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("friendship.events.overflows")
+                .description("Event streams closed because the client did not keep up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens an event stream for a user.
+     *
+     * @param userId the ID of the connecting user
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = createEmitter();
+        Subscription subscription = new Subscription(userId, emitter);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+
+        // Added and trimmed atomically with respect to unregister, which drops empty lists
+        List<Subscription> evicted = new ArrayList<>();
+        List<Subscription> userSubscriptions = subscriptions.compute(userId, (id, existing) -> {
+            List<Subscription> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+            list.add(subscription);
+            while (list.size() > maxConnectionsPerUser) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        evicted.forEach(Subscription::close);
+        log.debug("User {} subscribed to friendship events ({} open streams)", userId, userSubscriptions.size());
+        return emitter;
+    }
+
+    /**
+     * Pushes a friendship event to every open stream of a user. Does nothing if the user is not connected.
+     *
+     * @param userId      the ID of the user to notify
+     * @param type        the type of the event
+     * @param otherUserId the ID of the user who caused the event
+     */
+    public void publish(Long userId, FriendshipEventType type, Long otherUserId) {
+        List<Subscription> userSubscriptions = subscriptions.get(userId);
+        if (userSubscriptions == null) {
+            return;
+        }
+        FriendshipEventDTO event = new FriendshipEventDTO(type, otherUserId, LocalDateTime.now());
+        // Event builders are stateful, so every connection gets its own
+        for (Subscription subscription : userSubscriptions) {
+            subscription.enqueue(SseEmitter.event().name(EVENT_NAME).data(event));
+        }
+    }
+
+    /**
+     * Sends a heartbeat comment on every open stream, so dead connections are detected and released.
+     * Runs at a fixed delay configured by {@code friendship.events.heartbeat-interval-ms}.
+     */
+    @Scheduled(fixedDelayString = "${friendship.events.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions
+                .forEach(subscription -> subscription.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    /**
+     * Returns the number of open streams.
+     *
+     * @return the open stream count
+     */
+    public int connectionCount() {
+        return subscriptions.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Closes all streams and stops the sender threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(Subscription::close));
+        sender.shutdownNow();
+    }
+
+    /**
+     * Creates the emitter of a new stream.
+     *
+     * @return the emitter, timing out after the configured stream timeout
+     */
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    /**
+     * Removes a closed subscription from the registry.
+     *
+     * @param subscription the closed subscription
+     */
+    private void unregister(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId, (userId, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    /**
+     * One open stream with its bounded buffer of undelivered events.
+     */
+    private final class Subscription {
+
+        private final Long userId;
+
+        private final SseEmitter emitter;
+
+        private final Queue<SseEmitter.SseEventBuilder> buffer;
+
+        // Ensures a single sender thread writes to the connection at a time
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Buffers an event and schedules its delivery, closing the stream if the buffer is full.
+         *
+         * @param event the event to send
+         */
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                overflowCounter.increment();
+                log.warn("Friendship event buffer of user {} is full, closing the stream", userId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        /**
+         * Starts a sender task unless one is already running for this stream.
+         */
+        private void scheduleDrain() {
+            if (!closed.get() && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    sender.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        /**
+         * Writes all buffered events to the connection.
+         */
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Friendship event stream of user {} is gone: {}", userId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // Events buffered while the loop was finishing
+            scheduleDrain();
+        }
+
+        /**
+         * Closes the stream and removes it from the registry. Safe to call more than once.
+         */
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                unregister(this);
+                buffer.clear();
+                try {
+                    emitter.complete();
+                } catch (IllegalStateException e) {
+                    log.debug("Friendship event stream of user {} was already completed: {}", userId, e.getMessage());
+                }
+            }
+        }
+    }
+}
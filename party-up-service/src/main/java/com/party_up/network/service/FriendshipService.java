@@ -1,16 +1,29 @@
 package com.party_up.network.service;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.annotation.Timed;
+
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.Friendship;
 import com.party_up.network.model.User;
-import com.party_up.network.model.dto.UserDTO;
-import com.party_up.network.model.dto.mappers.UserMapper;
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.model.enums.FriendshipEventType;
 import com.party_up.network.model.enums.FriendshipStatus;
+import com.party_up.network.model.enums.RelationshipStatus;
 import com.party_up.network.repository.FriendshipRepository;
 import com.party_up.network.repository.UserRepository;
 
@@ -18,33 +31,60 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service class for managing friendship-related operations.
+ * Public operations are timed in {@value #OPERATION_METRIC}, tagged with the operation name.
  */
 @Slf4j
 @Service
 public class FriendshipService {
 
+    /**
+     * Largest page size accepted by the paginated listings.
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Largest number of target users accepted by a relationship status lookup.
+     */
+    public static final int MAX_STATUS_BATCH_SIZE = 500;
+
+    /**
+     * Name of the timer recording friendship operations.
+     */
+    public static final String OPERATION_METRIC = "friendship.operation";
+
     private final FriendshipRepository friendshipRepository;
 
     private final UserService userService;
 
-    private final UserMapper userMapper;
-
     private final UserRepository userRepository;
 
+    private final FriendSuggestionService friendSuggestionService;
+
+    private final FriendGraphIndex friendGraphIndex;
+
+    private final FriendshipEventPublisher friendshipEventPublisher;
+
     /**
      * Constructor for injecting the FriendshipRepository.
      *
      * @param friendshipRepository the repository for managing Friendship entities.
      * @param userService the service class for managing User operations.
      * @param userRepository the repository for managing User entities.
-     * @param userMapper the class with implemented methods for converting User to UserDTO
+     * @param friendSuggestionService the service holding cached friend suggestions.
+     * @param friendGraphIndex the optional in-memory index of accepted friendships.
+     * @param friendshipEventPublisher the publisher pushing friendship events to connected users.
      */
     public FriendshipService(FriendshipRepository friendshipRepository, UserService userService,
-                             UserMapper userMapper, UserRepository userRepository) {
+                             UserRepository userRepository,
+                             FriendSuggestionService friendSuggestionService,
+                             FriendGraphIndex friendGraphIndex,
+                             FriendshipEventPublisher friendshipEventPublisher) {
         this.friendshipRepository = friendshipRepository;
         this.userService = userService;
-        this.userMapper = userMapper;
         this.userRepository = userRepository;
+        this.friendSuggestionService = friendSuggestionService;
+        this.friendGraphIndex = friendGraphIndex;
+        this.friendshipEventPublisher = friendshipEventPublisher;
     }
 
     /**
@@ -54,6 +94,7 @@ public class FriendshipService {
      * @param userTwo the user receiving the friend request.
      * @return the created friendship object.
      */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "send_request"})
     public Friendship sendFriendshipRequest(Long userOne, Long userTwo) {
         log.info("Sending friend request from user {} to user {}", userOne, userTwo);
 
@@ -75,7 +116,10 @@ public class FriendshipService {
 
         // Create new friendship
         Friendship friendship = new Friendship(sender, recipient, FriendshipStatus.PENDING);
-        return friendshipRepository.save(friendship);
+        Friendship saved = friendshipRepository.save(friendship);
+        friendSuggestionService.invalidate(userOne, userTwo);
+        friendshipEventPublisher.publish(userTwo, FriendshipEventType.REQUEST_RECEIVED, userOne);
+        return saved;
     }
 
     /**
@@ -85,6 +129,7 @@ public class FriendshipService {
      * @param userTwoId the ID of the second user in relationship.
      * @return the updated(accepted) Friendship object.
      */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "accept_request"})
     public Friendship acceptFriendRequest(Long userOneId, Long userTwoId) {
         // Find users
         User user1 = userService.getUserById(userOneId);
@@ -103,7 +148,11 @@ public class FriendshipService {
 
         log.info("Accepting friend request with ID {}", friendship.getId());
         friendship.setStatus(FriendshipStatus.ACCEPTED);
-        return friendshipRepository.save(friendship);
+        Friendship saved = friendshipRepository.save(friendship);
+        friendGraphIndex.addFriendship(userOneId, userTwoId);
+        friendSuggestionService.invalidate(userOneId, userTwoId);
+        notifyRequester(friendship, FriendshipEventType.REQUEST_ACCEPTED, userOneId, userTwoId);
+        return saved;
     }
 
     /**
@@ -112,6 +161,7 @@ public class FriendshipService {
      * @param userOneId the ID of the first user in the relationship.
      * @param userTwoId the ID of the second user in the relationship.
      */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "reject_request"})
     public void rejectFriendRequest(Long userOneId, Long userTwoId) {
         // Find users
         User userOne = userService.getUserById(userOneId);
@@ -130,21 +180,28 @@ public class FriendshipService {
 
         log.info("Rejecting (deleting) friend request with ID {}", friendship.getId());
         friendshipRepository.delete(friendship);
+        friendSuggestionService.invalidate(userOneId, userTwoId);
+        notifyRequester(friendship, FriendshipEventType.REQUEST_REJECTED, userOneId, userTwoId);
     }
 
     /**
-     * Gets all friends of a specific user.
+     * Gets one page of friends of a specific user, ordered by user ID.
      *
      * @param userId the user ID for whom to retrieve friends.
-     * @return a list of User objects representing accepted friends.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param limit the maximum number of friends to return.
+     * @return a page of user summaries representing accepted friends.
      */
-    public List<UserDTO> getFriends(Long userId) {
-        // Find user IDs
-        List<Long> ids = friendshipRepository.findFriendIdsByUserId(userId);
-
-        // Get all friends based on their IDs
-        List<User> users = userRepository.findAllById(ids);
-        return userMapper.toDtoList(users);
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "friends"})
+    public CursorPage<UserSummaryDTO> getFriends(Long userId, String cursor, int limit) {
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+
+        // Fetch one extra ID to know whether another page exists
+        List<Long> ids = friendGraphIndex.isReady()
+                ? sliceAfter(friendGraphIndex.getFriendIds(userId), afterId, limit + 1)
+                : friendshipRepository.findFriendIdsPage(userId, afterId, limit + 1);
+        return toPage(ids, limit);
     }
 
 
@@ -157,37 +214,124 @@ public class FriendshipService {
      */
     public boolean areUsersFriends(User userOne, User userTwo) {
         log.info("Checking if user {} and user {} are friends", userOne.getId(), userTwo.getId());
+        if (friendGraphIndex.isReady()) {
+            return friendGraphIndex.areFriends(userOne.getId(), userTwo.getId());
+        }
         return friendshipRepository.areUsersFriends(userOne, userTwo);
     }
 
     /**
-     * Gets mutual friends between two users.
+     * Gets the relationship of each target user to the viewer in one lookup.
+     * Friendships come from the graph index when it is loaded, so only pending requests are queried;
+     * otherwise all relationships are read with a single query.
+     *
+     * @param viewerId the ID of the viewing user.
+     * @param targetIds the IDs of the users to get the relationship with.
+     * @return the relationship status of each distinct target, in request order.
+     */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "relationship_statuses"})
+    public Map<Long, RelationshipStatus> getRelationshipStatuses(Long viewerId, Collection<Long> targetIds) {
+        if (targetIds == null || targetIds.isEmpty() || targetIds.size() > MAX_STATUS_BATCH_SIZE) {
+            throw new IllegalArgumentException("Number of target IDs must be between 1 and " + MAX_STATUS_BATCH_SIZE);
+        }
+
+        Map<Long, RelationshipStatus> statuses = new LinkedHashMap<>();
+        targetIds.forEach(targetId -> statuses.put(targetId, RelationshipStatus.NONE));
+
+        Set<Long> remaining = new HashSet<>(statuses.keySet());
+        List<FriendshipStatus> queried = List.of(FriendshipStatus.PENDING, FriendshipStatus.ACCEPTED);
+        if (friendGraphIndex.isReady()) {
+            for (Long targetId : statuses.keySet()) {
+                if (friendGraphIndex.areFriends(viewerId, targetId)) {
+                    statuses.put(targetId, RelationshipStatus.FRIENDS);
+                    remaining.remove(targetId);
+                }
+            }
+            queried = List.of(FriendshipStatus.PENDING);
+        }
+
+        if (!remaining.isEmpty()) {
+            for (Object[] row : friendshipRepository.findRelationships(viewerId, remaining, queried)) {
+                statuses.put((Long) row[0], toRelationshipStatus(viewerId, (FriendshipStatus) row[1], (Long) row[2]));
+            }
+        }
+        return statuses;
+    }
+
+    /**
+     * Maps a friendship row to the relationship seen by the viewer.
+     *
+     * @param viewerId the ID of the viewing user
+     * @param status the status of the friendship
+     * @param requesterId the ID of the user who sent the request
+     * @return the relationship status
+     */
+    private static RelationshipStatus toRelationshipStatus(Long viewerId, FriendshipStatus status, Long requesterId) {
+        if (status == FriendshipStatus.ACCEPTED) {
+            return RelationshipStatus.FRIENDS;
+        }
+        if (status == FriendshipStatus.PENDING) {
+            return viewerId.equals(requesterId) ? RelationshipStatus.REQUEST_SENT : RelationshipStatus.REQUEST_RECEIVED;
+        }
+        return RelationshipStatus.NONE;
+    }
+
+    /**
+     * Gets one page of mutual friends between two users, ordered by user ID.
      *
      * @param userOneId the first user.
      * @param userTwoId the second user.
-     * @return a list of mutual friends.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param limit the maximum number of mutual friends to return.
+     * @return a page of mutual friends.
      */
-    public List<UserDTO> getMutualFriends(Long userOneId, Long userTwoId) {
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "mutual_friends"})
+    public CursorPage<UserSummaryDTO> getMutualFriends(Long userOneId, Long userTwoId, String cursor, int limit) {
         log.info("Fetching mutual friends between user {} and user {}", userOneId, userTwoId);
-        List<Long> mutualUserIDs = friendshipRepository.findMutualFriendIds(userOneId, userTwoId);
-        List<User> mutualUsers = userRepository.findAllById(mutualUserIDs);
-        return userMapper.toDtoList(mutualUsers);
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+
+        List<Long> mutualUserIDs = friendGraphIndex.isReady()
+                ? sliceAfter(friendGraphIndex.getMutualFriendIds(userOneId, userTwoId), afterId, limit + 1)
+                : friendshipRepository.findMutualFriendIdsPage(userOneId, userTwoId, afterId, limit + 1);
+        return toPage(mutualUserIDs, limit);
     }
 
     /**
-     * Fetches a list of pending friend requests for a user.
+     * Counts mutual friends between two users without loading them.
+     *
+     * @param userOneId the first user.
+     * @param userTwoId the second user.
+     * @return the number of mutual friends.
+     */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "mutual_friend_count"})
+    public long getMutualFriendCount(Long userOneId, Long userTwoId) {
+        if (friendGraphIndex.isReady()) {
+            return friendGraphIndex.getMutualFriendIds(userOneId, userTwoId).length;
+        }
+        return friendshipRepository.countMutualFriends(userOneId, userTwoId);
+    }
+
+    /**
+     * Fetches one page of pending friend requests for a user, ordered by user ID.
      *
      * @param userId of the user.
-     * @return list of pending friend requests as UserDTOs.
+     * @param cursor the cursor returned with the previous page, or null for the first page.
+     * @param limit the maximum number of requests to return.
+     * @return page of pending friend requests as user summaries.
      */
-    public List<UserDTO> getPendingFriendRequest(Long userId) {
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "pending_requests"})
+    public CursorPage<UserSummaryDTO> getPendingFriendRequest(Long userId, String cursor, int limit) {
         log.info("Fetching pending friend request for user with ID: {}", userId);
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+
         // Find PENDING requests
-        List<Long> userIDs = friendshipRepository.findPendingRequestsForUser(userId);
-        List<User> pendingRequests = userRepository.findAllById(userIDs);
+        List<Long> userIDs = friendshipRepository.findPendingRequestIdsPage(userId, afterId, limit + 1);
+        CursorPage<UserSummaryDTO> page = toPage(userIDs, limit);
 
-        log.info("Found {} pending friend requests for user with ID: {}", pendingRequests.size(), userId);
-        return userMapper.toDtoList(pendingRequests);
+        log.info("Found {} pending friend requests for user with ID: {}", page.getItems().size(), userId);
+        return page;
     }
 
     /**
@@ -196,6 +340,7 @@ public class FriendshipService {
      * @param userOneId ID of the first user.
      * @param userTwoId ID of the second user.
      */
+    @Timed(value = OPERATION_METRIC, extraTags = {"operation", "remove_friend"})
     public void deleteFriendship(Long userOneId, Long userTwoId) {
         log.info("Deleting friendship between user {} and user {}", userOneId, userTwoId);
         User userOne = userService.getUserById(userOneId);
@@ -205,10 +350,78 @@ public class FriendshipService {
 
         if(friendship.isPresent()) {
             friendshipRepository.delete(friendship.get());
+            friendGraphIndex.removeFriendship(userOneId, userTwoId);
+            friendSuggestionService.invalidate(userOneId, userTwoId);
             log.info("Friendship successfully deleted between user {} and user {}", userOneId, userTwoId);
         } else {
             log.warn("No friendship found between user {} and user {}", userOneId, userTwoId);
             throw new ResourceNotFoundException("Friendship not found between the specified users.");
         }
     }
+
+    /**
+     * Notifies the user who sent a friend request that the other user answered it.
+     *
+     * @param friendship the answered friendship
+     * @param type       the type of the answer
+     * @param userOneId  the ID of the first user in the relationship
+     * @param userTwoId  the ID of the second user in the relationship
+     */
+    private void notifyRequester(Friendship friendship, FriendshipEventType type, Long userOneId, Long userTwoId) {
+        Long requesterId = friendship.getRequester() != null ? friendship.getRequester().getId() : userOneId;
+        Long answeringId = requesterId.equals(userOneId) ? userTwoId : userOneId;
+        friendshipEventPublisher.publish(requesterId, type, answeringId);
+    }
+
+    /**
+     * Checks that a requested page size is within bounds.
+     *
+     * @param limit the requested page size
+     */
+    private static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Takes up to {@code count} IDs greater than {@code afterId} from a sorted array of the graph index.
+     *
+     * @param sortedIds the sorted IDs
+     * @param afterId   the exclusive lower bound
+     * @param count     the maximum number of IDs to take
+     * @return the selected IDs in ascending order
+     */
+    private static List<Long> sliceAfter(long[] sortedIds, long afterId, int count) {
+        int index = Arrays.binarySearch(sortedIds, afterId);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        int to = (int) Math.min(sortedIds.length, (long) from + count);
+        return Arrays.stream(sortedIds, from, to).boxed().toList();
+    }
+
+    /**
+     * Loads the user summaries of one page, keeping the ID order, and builds the next cursor.
+     *
+     * @param ids   the ordered IDs, including one extra ID if another page exists
+     * @param limit the page size
+     * @return the page of user summaries
+     */
+    private CursorPage<UserSummaryDTO> toPage(List<Long> ids, int limit) {
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        // Summaries are loaded without the profile image column
+        Map<Long, UserSummaryDTO> usersById = userRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(UserSummaryDTO::getId, Function.identity()));
+        List<UserSummaryDTO> users = pageIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        String next = hasMore ? KeysetCursor.encode(pageIds.get(pageIds.size() - 1)) : null;
+        return new CursorPage<>(users, next);
+    }
 }
@@ -0,0 +1,50 @@
+package com.party_up.network.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors used by keyset-paginated listings.
+ * A cursor carries the sort key (user or log ID) of the last item on the previous page.
+ */
+final class KeysetCursor {
+
+    private static final String PREFIX = "id:";
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the sort key of the last returned item.
+     *
+     * @param lastId the ID of the last item on the page
+     * @return the opaque cursor
+     */
+    static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into the sort key after which the next page starts.
+     *
+     * @param cursor the cursor received from the client, may be null or blank for the first page
+     * @return the ID after which to continue, or 0 for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException and Base64 errors are both IllegalArgumentExceptions
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package com.party_up.network.service;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.party_up.network.model.RequestResponseLog;
+import com.party_up.network.model.dto.CursorPage;
 import com.party_up.network.model.dto.RequestResponseLogDTO;
 import com.party_up.network.model.dto.mappers.RequestResponseLogMapper;
 import com.party_up.network.repository.RequestResponseLogRepository;
@@ -29,12 +41,28 @@ public class LogService {
 
     private final RequestResponseLogMapper requestResponseLogMapper;
 
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
     public LogService(RequestResponseLogRepository requestResponseLogRepository,
-                      RequestResponseLogMapper requestResponseLogMapper) {
+                      RequestResponseLogMapper requestResponseLogMapper,
+                      EntityManager entityManager,
+                      ObjectMapper objectMapper) {
         this.requestResponseLogRepository = requestResponseLogRepository;
         this.requestResponseLogMapper = requestResponseLogMapper;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Largest page size accepted by the paginated log queries.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final String CSV_HEADER =
+            "timestamp,method,endpoint,statusCode,executionTime,requestBody,responseBody\n";
+
     private static final List<DateTimeFormatter> FORMATTERS = Arrays.asList(
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS"),
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
@@ -43,53 +71,113 @@ public class LogService {
     );
 
     /**
-     * Retrieves all request/response logs.
+     * Retrieves one page of request/response logs, ordered by ID.
      *
-     * @return a list of RequestResponseLogDTO objects containing all logs
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of logs to return
+     * @return a page of RequestResponseLogDTO objects
      */
-    public List<RequestResponseLogDTO> getAllLogs() {
-        List<RequestResponseLog> response = requestResponseLogRepository.findAll();
-        log.info("Retrieved all logs, count: {}", response.size());
-        return requestResponseLogMapper.toDtoList(response);
+    public CursorPage<RequestResponseLogDTO> getLogs(String cursor, int limit) {
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+
+        // Fetch one extra row to know whether another page exists
+        List<RequestResponseLog> logs =
+                requestResponseLogRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
+        log.info("Retrieved {} logs after ID {}", logs.size(), afterId);
+        return toPage(logs, limit);
     }
 
     /**
-     * Finds logs based on specified criteria.
+     * Finds one page of logs based on specified criteria, ordered by ID.
      *
      * @param endpoint   the endpoint to filter logs by
      * @param method     the HTTP method to filter logs by
      * @param statusCode the HTTP status code to filter logs by
-     * @return a list of RequestResponseLogDTO matching the criteria, or an empty list if none found
+     * @param cursor     the cursor returned with the previous page, or null for the first page
+     * @param limit      the maximum number of logs to return
+     * @return a page of RequestResponseLogDTO matching the criteria
      */
-    public List<RequestResponseLogDTO> findByCriteria(String endpoint, String method, Integer statusCode) {
-        Optional<List<RequestResponseLog>> response =
-                requestResponseLogRepository.findByCriteria(endpoint, method, statusCode);
-        if (response.isPresent()) {
-            log.info("Found {} logs for criteria: endpoint={}, method={}, statusCode={}",
-                    response.get().size(), endpoint, method, statusCode);
-        } else {
-            log.info("No logs found for criteria: endpoint={}, method={}, statusCode={}",
-                    endpoint, method, statusCode);
-        }
-        return response.map(requestResponseLogMapper::toDtoList).orElseGet(Collections::emptyList);
+    public CursorPage<RequestResponseLogDTO> findByCriteria(String endpoint, String method, Integer statusCode,
+                                                            String cursor, int limit) {
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
+
+        List<RequestResponseLog> logs = requestResponseLogRepository.findPageByCriteria(
+                endpoint, method, statusCode, afterId, Limit.of(limit + 1));
+        log.info("Found {} logs for criteria: endpoint={}, method={}, statusCode={}",
+                logs.size(), endpoint, method, statusCode);
+        return toPage(logs, limit);
     }
 
     /**
-     * Retrieves logs that fall within the specified timestamp range.
+     * Retrieves one page of logs that fall within the specified timestamp range, ordered by ID.
      *
-     * @param start teh start of the timestamp range (inclusive)
-     * @param end   the end of the timestamp range (inclusive)
-     * @return a list of RequestResponseLogDTO containing logs within the specified range
+     * @param start  the start of the timestamp range (inclusive)
+     * @param end    the end of the timestamp range (inclusive)
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param limit  the maximum number of logs to return
+     * @return a page of RequestResponseLogDTO containing logs within the specified range
      */
-    public List<RequestResponseLogDTO> getLogsByTimestamp(String start, String end) {
+    public CursorPage<RequestResponseLogDTO> getLogsByTimestamp(String start, String end, String cursor, int limit) {
         LocalDateTime startDateTime = parseDate(start);
         LocalDateTime endDateTime = parseDate(end);
+        validateLimit(limit);
+        long afterId = KeysetCursor.decode(cursor);
 
         log.info("Retrieving logs between {} and {}", startDateTime, endDateTime);
-        List<RequestResponseLog> logs = requestResponseLogRepository.findByTimestampBetween(startDateTime, endDateTime);
+        List<RequestResponseLog> logs = requestResponseLogRepository
+                .findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(
+                        startDateTime, endDateTime, afterId, Limit.of(limit + 1));
         log.info("Retrieved {} logs between {} and {}", logs.size(), startDateTime, endDateTime);
+        return toPage(logs, limit);
+    }
+
+    /**
+     * Exports all logs within the specified timestamp range, writing them directly to the given stream.
+     * <p>
+     * Rows are read through a forward-only stream and detached from the persistence context once written,
+     * so memory use stays flat regardless of the size of the range. The output stream is flushed but not closed.
+     * </p>
+     *
+     * @param start  the start of the timestamp range (inclusive)
+     * @param end    the end of the timestamp range (inclusive)
+     * @param format the output format
+     * @param out    the stream to write to, e.g. the HTTP response body
+     * @return the number of exported logs
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public long exportLogs(String start, String end, ExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime startDateTime = parseDate(start);
+        LocalDateTime endDateTime = parseDate(end);
 
-        return requestResponseLogMapper.toDtoList(logs);
+        log.info("Exporting logs between {} and {} as {}", startDateTime, endDateTime, format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        try (Stream<RequestResponseLog> logs =
+                     requestResponseLogRepository.streamByTimestampBetween(startDateTime, endDateTime)) {
+            Iterator<RequestResponseLog> iterator = logs.iterator();
+            while (iterator.hasNext()) {
+                RequestResponseLog entry = iterator.next();
+                RequestResponseLogDTO dto = requestResponseLogMapper.toDTO(entry);
+                if (format == ExportFormat.CSV) {
+                    writeCsvLine(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                    writer.write('\n');
+                }
+                // Written rows are not needed anymore, keep the persistence context empty
+                entityManager.detach(entry);
+                count++;
+            }
+        }
+        writer.flush();
+        log.info("Exported {} logs between {} and {}", count, startDateTime, endDateTime);
+        return count;
     }
 
     /**
@@ -117,4 +205,100 @@ public class LogService {
         log.error("Invalid date format: {}", dateString);
         throw new IllegalArgumentException("Invalid date format: " + dateString);
     }
+
+    /**
+     * Checks that a requested page size is within bounds.
+     *
+     * @param limit the requested page size
+     */
+    private static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    /**
+     * Converts the logs of one page and builds the next cursor.
+     *
+     * @param logs  the ordered logs, including one extra log if another page exists
+     * @param limit the page size
+     * @return the page of log DTOs
+     */
+    private CursorPage<RequestResponseLogDTO> toPage(List<RequestResponseLog> logs, int limit) {
+        boolean hasMore = logs.size() > limit;
+        List<RequestResponseLog> pageLogs = hasMore ? logs.subList(0, limit) : logs;
+        String next = hasMore ? KeysetCursor.encode(pageLogs.get(pageLogs.size() - 1).getId()) : null;
+        return new CursorPage<>(requestResponseLogMapper.toDtoList(pageLogs), next);
+    }
+
+    /**
+     * Writes a log as one CSV line.
+     *
+     * @param writer the writer to write to
+     * @param dto    the log to write
+     * @throws IOException if writing fails
+     */
+    private static void writeCsvLine(Writer writer, RequestResponseLogDTO dto) throws IOException {
+        writer.write(csvField(dto.getTimestamp() == null ? null : dto.getTimestamp().toString()));
+        writer.write(',');
+        writer.write(csvField(dto.getMethod()));
+        writer.write(',');
+        writer.write(csvField(dto.getEndpoint()));
+        writer.write(',');
+        writer.write(Integer.toString(dto.getStatusCode()));
+        writer.write(',');
+        writer.write(dto.getExecutionTime() == null ? "" : dto.getExecutionTime().toString());
+        writer.write(',');
+        writer.write(csvField(dto.getRequestBody()));
+        writer.write(',');
+        writer.write(csvField(dto.getResponseBody()));
+        writer.write('\n');
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote or line break.
+     *
+     * @param value the field value, may be null
+     * @return the escaped field
+     */
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Output formats of the log export.
+     */
+    public enum ExportFormat {
+
+        /**
+         * One JSON object per line.
+         */
+        NDJSON("application/x-ndjson"),
+
+        /**
+         * Comma-separated values with a header line.
+         */
+        CSV("text/csv");
+
+        private final String contentType;
+
+        ExportFormat(String contentType) {
+            this.contentType = contentType;
+        }
+
+        /**
+         * Returns the media type of the format.
+         *
+         * @return the content type
+         */
+        public String getContentType() {
+            return contentType;
+        }
+    }
 }
@@ -0,0 +1,250 @@
+package com.party_up.network.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.party_up.network.config.cache.UserCache;
+import com.party_up.network.exceptions.ResourceNotFoundException;
+import com.party_up.network.repository.UserRepository;
+import com.party_up.network.service.image.ImageFormats;
+import com.party_up.network.service.image.ImageResource;
+import com.party_up.network.service.image.ImageStore;
+import com.party_up.network.service.image.StoredImage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service class for storing and serving user profile images.
+ * <p>
+ * Images live in the {@link ImageStore}; the user row only references them by content hash. Images uploaded
+ * before the store existed are still kept in the legacy {@code image} column and are read with plain JDBC,
+ * copied straight from the result set stream to the response. In both cases image bytes never pass through
+ * Hibernate entities or JSON serialization.
+ * </p>
+ * <p>
+ * Replaced images are not deleted right away: another upload of the same content may be about to reference
+ * them again. They are collected by a periodic pass instead, once they have been unreferenced and not stored
+ * again for a grace period.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ProfileImageService {
+
+    private static final String METADATA_SQL = "SELECT OCTET_LENGTH(image), SUBSTRING(image, 1, "
+            + ImageFormats.HEADER_LENGTH + ") FROM `user` WHERE id = ?";
+
+    private static final String CONTENT_SQL = "SELECT image FROM `user` WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final UserRepository userRepository;
+
+    private final ImageStore imageStore;
+
+    private final UserCache userCache;
+
+    private final long gcGracePeriodMs;
+
+    /**
+     * Hashes of replaced images, with the time they were released.
+     */
+    private final Map<String, Instant> releasedImages = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for injecting dependencies.
+     *
+     * @param jdbcTemplate     the JDBC template used to read legacy images
+     * @param userRepository   the repository for managing User entities
+     * @param imageStore       the store holding profile images
+     * @param userCache        the user cache, invalidated when the image reference changes
+     * @param gcGracePeriodMs  how long a released image is kept after it was last released or stored
+     */
+    public ProfileImageService(JdbcTemplate jdbcTemplate, UserRepository userRepository, ImageStore imageStore,
+                               UserCache userCache,
+                               @Value("${image.store.gc-grace-period-ms:300000}") long gcGracePeriodMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.imageStore = imageStore;
+        this.userCache = userCache;
+        this.gcGracePeriodMs = gcGracePeriodMs;
+    }
+
+    /**
+     * Stores a new profile image for a user and releases the previous one for garbage collection.
+     *
+     * @param userId the ID of the user
+     * @param data   the image bytes
+     * @return the stored image
+     * @throws IOException               if the image cannot be stored
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    public StoredImage upload(Long userId, InputStream data) throws IOException {
+        UserRepository.ProfileImageRef previous = userRepository.findImageRefById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+
+        StoredImage stored = imageStore.store(data);
+        userRepository.updateImage(userId, stored.hash(), stored.contentType());
+        // Bulk updates bypass the entity listener that normally invalidates the cache
+        userCache.invalidate(userId);
+        log.info("Profile image of user {} set to {}", userId, stored.hash());
+
+        String previousHash = previous.getImageHash();
+        if (previousHash != null && !previousHash.equals(stored.hash())) {
+            releasedImages.put(previousHash, Instant.now());
+        }
+        return stored;
+    }
+
+    /**
+     * Deletes released images that no user references any more.
+     * <p>
+     * An image is only considered once the grace period has passed since its release, and the store keeps it
+     * if it was stored again within the grace period, so an upload of the same content that has not yet
+     * updated its user row does not lose its file. Runs at a fixed delay configured by
+     * {@code image.store.gc-interval-ms}.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${image.store.gc-interval-ms:60000}")
+    public void collectReleasedImages() {
+        Instant cutoff = Instant.now().minusMillis(gcGracePeriodMs);
+        for (Map.Entry<String, Instant> entry : releasedImages.entrySet()) {
+            String hash = entry.getKey();
+            if (entry.getValue().isAfter(cutoff) || !releasedImages.remove(hash, entry.getValue())) {
+                continue;
+            }
+            if (userRepository.countByImageHash(hash) > 0) {
+                continue;
+            }
+            try {
+                imageStore.deleteIfStoredBefore(hash, cutoff);
+            } catch (IOException e) {
+                log.warn("Failed to delete released image {}: {}", hash, e.getMessage());
+                // Retry on the next pass unless the image has been released again meanwhile
+                releasedImages.putIfAbsent(hash, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the number of released images waiting to be collected.
+     *
+     * @return the pending image count
+     */
+    public int releasedImageCount() {
+        return releasedImages.size();
+    }
+
+    /**
+     * Finds the profile image of a user in the image store.
+     *
+     * @param userId the ID of the user
+     * @param size   the thumbnail size, or null for the original image
+     * @return the image, or empty if the user only has a legacy image or none at all
+     * @throws IOException               if the image cannot be opened
+     * @throws IllegalArgumentException  if the size is not one of the generated thumbnail sizes
+     * @throws ResourceNotFoundException if the user does not exist or the stored image is missing
+     */
+    public Optional<ProfileImage> findStoredImage(Long userId, Integer size) throws IOException {
+        if (size != null && !imageStore.thumbnailSizes().contains(size)) {
+            throw new IllegalArgumentException("Unsupported image size, expected one of "
+                    + imageStore.thumbnailSizes());
+        }
+
+        UserRepository.ProfileImageRef ref = userRepository.findImageRefById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        String hash = ref.getImageHash();
+        if (hash == null) {
+            return Optional.empty();
+        }
+
+        ImageResource resource = imageStore.open(hash, size)
+                .orElseThrow(() -> new ResourceNotFoundException("Profile image not found for user: " + userId));
+        String contentType = size == null
+                ? Objects.requireNonNullElse(ref.getImageContentType(), ImageFormats.detectContentType(null))
+                : ImageStore.THUMBNAIL_CONTENT_TYPE;
+        String etag = "\"" + hash + (size == null ? "" : "-" + size) + "\"";
+        return Optional.of(new ProfileImage(resource, contentType, etag));
+    }
+
+    /**
+     * Returns the size and content type of a user's legacy profile image.
+     *
+     * @param userId the ID of the user
+     * @return the image metadata
+     * @throws ResourceNotFoundException if the user does not exist or has no image
+     */
+    public ImageMetadata getImageMetadata(Long userId) {
+        List<ImageMetadata> result = jdbcTemplate.query(METADATA_SQL, (rs, rowNum) -> {
+            long length = rs.getLong(1);
+            if (rs.wasNull()) {
+                return null;
+            }
+            return new ImageMetadata(length, ImageFormats.detectContentType(rs.getBytes(2)));
+        }, userId);
+
+        if (result.isEmpty() || result.get(0) == null) {
+            throw new ResourceNotFoundException("Profile image not found for user: " + userId);
+        }
+        return result.get(0);
+    }
+
+    /**
+     * Streams a user's legacy profile image to the given output stream.
+     *
+     * @param userId the ID of the user
+     * @param out    the stream to write the image to
+     */
+    public void writeImage(Long userId, OutputStream out) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CONTENT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Instructs the MySQL driver to stream the row instead of buffering it
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, userId);
+            return statement;
+        }, (ResultSet resultSet) -> {
+            try (InputStream in = resultSet.getBinaryStream(1)) {
+                if (in != null) {
+                    in.transferTo(out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to stream profile image of user " + userId, e);
+            }
+        });
+    }
+
+    /**
+     * A profile image from the image store, ready to be served.
+     *
+     * @param resource    the image bytes
+     * @param contentType the content type of the image
+     * @param etag        the quoted entity tag of the image
+     */
+    public record ProfileImage(ImageResource resource, String contentType, String etag) {
+    }
+
+    /**
+     * Size and content type of a legacy profile image.
+     *
+     * @param length      the size of the image in bytes
+     * @param contentType the content type of the image
+     */
+    public record ImageMetadata(long length, String contentType) {
+    }
+}
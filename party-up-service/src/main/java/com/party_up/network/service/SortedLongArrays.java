@@ -0,0 +1,175 @@
+package com.party_up.network.service;
+
+import java.util.Arrays;
+
+/**
+ * Operations on sorted, distinct {@code long[]} arrays of IDs, shared by the in-memory indexes.
+ * <p>
+ * Arrays are treated as immutable: every update returns a new array and leaves its input untouched, so
+ * readers holding the old array never see it change.
+ * </p>
+ */
+final class SortedLongArrays {
+
+    /**
+     * The empty array.
+     */
+    static final long[] EMPTY = new long[0];
+
+    /**
+     * When one array is this many times larger than the other, intersection uses binary search instead of a merge.
+     */
+    private static final int GALLOP_RATIO = 16;
+
+    private SortedLongArrays() {
+    }
+
+    /**
+     * Returns the array with a value added.
+     *
+     * @param sorted a sorted array
+     * @param value  the value to add
+     * @return a new sorted array containing the value, or the input if it already contains it
+     */
+    static long[] insert(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index >= 0) {
+            return sorted;
+        }
+        int position = -index - 1;
+        long[] result = new long[sorted.length + 1];
+        System.arraycopy(sorted, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(sorted, position, result, position + 1, sorted.length - position);
+        return result;
+    }
+
+    /**
+     * Returns the array with a value removed.
+     *
+     * @param sorted a sorted array
+     * @param value  the value to remove
+     * @return a new sorted array without the value, or the input if it does not contain it
+     */
+    static long[] delete(long[] sorted, long value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return sorted;
+        }
+        long[] result = new long[sorted.length - 1];
+        System.arraycopy(sorted, 0, result, 0, index);
+        System.arraycopy(sorted, index + 1, result, index, sorted.length - index - 1);
+        return result;
+    }
+
+    /**
+     * Intersects two sorted arrays. Uses a linear merge for similar sizes and binary search of the smaller
+     * array's elements in the larger one when the sizes are very different.
+     *
+     * @param first  a sorted array
+     * @param second a sorted array
+     * @return the sorted intersection
+     */
+    static long[] intersect(long[] first, long[] second) {
+        long[] small = first.length <= second.length ? first : second;
+        long[] large = small == first ? second : first;
+        if (small.length == 0) {
+            return EMPTY;
+        }
+        long[] result = new long[small.length];
+        int count = 0;
+
+        if (large.length / small.length >= GALLOP_RATIO) {
+            int from = 0;
+            for (long value : small) {
+                int index = Arrays.binarySearch(large, from, large.length, value);
+                if (index >= 0) {
+                    result[count++] = value;
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] == large[j]) {
+                    result[count++] = small[i];
+                    i++;
+                    j++;
+                } else if (small[i] < large[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Merges two sorted arrays into their sorted, distinct union.
+     *
+     * @param first  a sorted array
+     * @param second a sorted array
+     * @return the sorted union
+     */
+    static long[] union(long[] first, long[] second) {
+        long[] result = new long[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < first.length || j < second.length) {
+            long next;
+            if (j >= second.length || (i < first.length && first[i] <= second[j])) {
+                next = first[i++];
+            } else {
+                next = second[j++];
+            }
+            if (count == 0 || result[count - 1] != next) {
+                result[count++] = next;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Minimal growable list of primitive longs used while building an index.
+     */
+    static final class LongList {
+
+        private long[] values = new long[4];
+
+        private int size;
+
+        /**
+         * Appends a value.
+         *
+         * @param value the value to append
+         */
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /**
+         * Returns the values sorted and without duplicates.
+         *
+         * @return a new sorted, distinct array
+         */
+        long[] toSortedDistinctArray() {
+            long[] sorted = Arrays.copyOf(values, size);
+            Arrays.sort(sorted);
+            int count = 0;
+            for (int i = 0; i < sorted.length; i++) {
+                if (i == 0 || sorted[i] != sorted[i - 1]) {
+                    sorted[count++] = sorted[i];
+                }
+            }
+            return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+        }
+    }
+}
@@ -0,0 +1,590 @@
+package com.party_up.network.service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.party_up.network.model.User;
+import com.party_up.network.model.dto.UserSummaryDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Optional in-process search index over the username, first name and last name of all users.
+ * <p>
+ * Names are normalized (lower case, accents and punctuation removed) and split into tokens. Each token is
+ * posted under its prefixes of up to {@value #MAX_PREFIX_LENGTH} characters, for search-as-you-type, and
+ * under its padded trigrams, for typo-tolerant matching. Postings are sorted {@code long[]} arrays of user IDs
+ * that are replaced rather than modified, so searches never lock. The index is loaded once the application
+ * is ready with a single streaming scan of the users table and then kept current through {@link #add(User)}
+ * and {@link #remove(long)}. Until loading has finished {@link #isReady()} returns false and callers fall
+ * back to the database.
+ * </p>
+ * <p>
+ * Enabled with {@code user-search.index.enabled=true}.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UserSearchIndex {
+
+    /**
+     * Longest prefix posted per token; longer query terms are verified against the matched tokens.
+     */
+    static final int MAX_PREFIX_LENGTH = 6;
+
+    /**
+     * Shortest query term that is also matched with typo tolerance.
+     */
+    static final int MIN_FUZZY_TERM_LENGTH = 4;
+
+    private static final int MAX_QUERY_TERMS = 5;
+
+    private static final String SCAN_SQL = "SELECT id, username, first_name, last_name, "
+            + "(image_hash IS NOT NULL OR image IS NOT NULL) AS has_image FROM `user`";
+
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparing(match -> match.user().username())
+            .thenComparingLong(match -> match.user().id());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final boolean enabled;
+
+    private final ReentrantLock stateLock = new ReentrantLock();
+
+    private volatile Map<Long, IndexedUser> users = new ConcurrentHashMap<>();
+
+    private volatile Map<String, long[]> postings = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private boolean loading;
+
+    private final List<Runnable> updatesDuringLoad = new ArrayList<>();
+
+    /**
+     * Constructs the index.
+     *
+     * @param jdbcTemplate the JDBC template used for the startup scan
+     * @param enabled      whether the index should be built and used
+     */
+    public UserSearchIndex(JdbcTemplate jdbcTemplate,
+                           @Value("${user-search.index.enabled:false}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks if the index is loaded and can answer queries.
+     *
+     * @return true if the index is ready, false otherwise
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Loads the index once the application has started, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            load();
+        } else {
+            log.info("User search index is disabled, user search uses the database");
+        }
+    }
+
+    /**
+     * Builds the index with a streaming scan of all users and makes it ready.
+     * <p>
+     * If the scan fails, the failure is logged and the index keeps its previous state: searches keep using the
+     * database until it was loaded once, and {@code load()} can be called again.
+     * </p>
+     */
+    public void load() {
+        stateLock.lock();
+        try {
+            loading = true;
+            updatesDuringLoad.clear();
+        } finally {
+            stateLock.unlock();
+        }
+
+        long start = System.nanoTime();
+        boolean loaded = false;
+        try {
+            Map<Long, IndexedUser> loadedUsers = new ConcurrentHashMap<>();
+            Map<String, SortedLongArrays.LongList> builder = new HashMap<>();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SCAN_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Instructs the MySQL driver to stream rows instead of buffering the whole result
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, (ResultSet resultSet) -> {
+                IndexedUser user = IndexedUser.of(resultSet.getLong(1), resultSet.getString(2),
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getBoolean(5));
+                loadedUsers.put(user.id(), user);
+                for (String key : keysOf(user)) {
+                    builder.computeIfAbsent(key, k -> new SortedLongArrays.LongList()).add(user.id());
+                }
+            });
+
+            Map<String, long[]> loadedPostings = new ConcurrentHashMap<>(builder.size() * 4 / 3 + 1);
+            builder.forEach((key, ids) -> loadedPostings.put(key, ids.toSortedDistinctArray()));
+
+            stateLock.lock();
+            try {
+                users = loadedUsers;
+                postings = loadedPostings;
+                replayUpdatesDuringLoad();
+                ready = true;
+                loaded = true;
+            } finally {
+                stateLock.unlock();
+            }
+
+            log.info("User search index loaded: {} users, {} keys in {} ms",
+                    loadedUsers.size(), loadedPostings.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Failed to load the user search index, user search keeps using the database", e);
+        } finally {
+            if (!loaded) {
+                stateLock.lock();
+                try {
+                    // A reload keeps serving the previous index, which still needs the queued updates
+                    if (ready) {
+                        replayUpdatesDuringLoad();
+                    } else {
+                        updatesDuringLoad.clear();
+                        loading = false;
+                    }
+                } finally {
+                    stateLock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a user to the index, or replaces the indexed names of an existing user.
+     * Does nothing if the indexed fields of the user are unchanged.
+     *
+     * @param user the saved user
+     */
+    public void add(User user) {
+        if (!enabled || user.getId() == null) {
+            return;
+        }
+        IndexedUser indexed = IndexedUser.of(user.getId(), user.getUsername(), user.getFirstName(),
+                user.getLastName(), user.getImageHash() != null || user.getImage() != null);
+        mutate(() -> {
+            // Most updates do not touch the indexed fields and leave the postings as they are
+            if (indexed.sameAs(users.get(indexed.id()))) {
+                return;
+            }
+            applyRemove(indexed.id());
+            users.put(indexed.id(), indexed);
+            for (String key : keysOf(indexed)) {
+                postings.compute(key, (k, ids) -> SortedLongArrays.insert(
+                        ids == null ? SortedLongArrays.EMPTY : ids, indexed.id()));
+            }
+        });
+    }
+
+    /**
+     * Removes a user from the index, if present.
+     *
+     * @param userId the ID of the removed user
+     */
+    public void remove(long userId) {
+        if (!enabled) {
+            return;
+        }
+        mutate(() -> applyRemove(userId));
+    }
+
+    /**
+     * Returns the number of indexed users.
+     *
+     * @return the indexed user count
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Searches users whose names match every term of the query, ranked by match quality.
+     * <p>
+     * A term matches a name token that starts with it, scored highest for a whole-token match. Terms of at
+     * least {@value #MIN_FUZZY_TERM_LENGTH} characters also match tokens whose start is within one edit
+     * (two for long terms), which is only looked up when prefix matches alone cannot fill the requested page.
+     * </p>
+     *
+     * @param query  the search text
+     * @param offset the number of ranked results to skip
+     * @param limit  the maximum number of results to return
+     * @return the ranked user summaries
+     */
+    public List<UserSummaryDTO> search(String query, int offset, int limit) {
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, long[]> currentPostings = postings;
+        Map<Long, IndexedUser> currentUsers = users;
+        int needed = offset + limit;
+
+        long[] candidates = null;
+        for (String term : terms) {
+            long[] termCandidates = prefixCandidates(currentPostings, term);
+            if (termCandidates.length < needed && term.length() >= MIN_FUZZY_TERM_LENGTH) {
+                termCandidates = SortedLongArrays.union(termCandidates, fuzzyCandidates(currentPostings, term));
+            }
+            candidates = candidates == null ? termCandidates : SortedLongArrays.intersect(candidates, termCandidates);
+            if (candidates.length == 0) {
+                return List.of();
+            }
+        }
+
+        // Keeps only the best offset + limit matches, worst on top, instead of sorting every candidate
+        PriorityQueue<Match> best = new PriorityQueue<>(needed + 1, RANKING.reversed());
+        for (long id : candidates) {
+            IndexedUser user = currentUsers.get(id);
+            double score = user == null ? 0 : score(user, terms);
+            if (score > 0) {
+                Match match = new Match(user, score);
+                if (best.size() < needed) {
+                    best.add(match);
+                } else if (RANKING.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches.stream()
+                .skip(offset)
+                .map(match -> match.user().toSummary())
+                .toList();
+    }
+
+    /**
+     * Normalizes text for indexing and matching: lower case, accents removed, other characters as spaces.
+     *
+     * @param value the text, may be null
+     * @return the normalized text
+     */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            normalized.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Splits a search query into distinct normalized terms.
+     *
+     * @param query the search text
+     * @return the terms, at most {@value #MAX_QUERY_TERMS}
+     */
+    private static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : normalize(query).split(" +")) {
+            if (!term.isEmpty() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term);
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    /**
+     * Returns the IDs of users with a token starting with the term, or with its first
+     * {@value #MAX_PREFIX_LENGTH} characters for longer terms.
+     *
+     * @param postings the posting lists to read
+     * @param term     the normalized query term
+     * @return the sorted user IDs
+     */
+    private static long[] prefixCandidates(Map<String, long[]> postings, String term) {
+        String prefix = term.length() > MAX_PREFIX_LENGTH ? term.substring(0, MAX_PREFIX_LENGTH) : term;
+        return postings.getOrDefault(prefixKey(prefix), SortedLongArrays.EMPTY);
+    }
+
+    /**
+     * Returns the IDs of users sharing enough trigrams with the term to be within the allowed edits of a token.
+     *
+     * @param postings the posting lists to read
+     * @param term     the normalized query term
+     * @return the sorted user IDs
+     */
+    private static long[] fuzzyCandidates(Map<String, long[]> postings, String term) {
+        List<String> trigrams = trigrams(term);
+        // One edit changes at most three trigrams of the padded term
+        int required = Math.max(1, trigrams.size() - 3 * maxEdits(term));
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams) {
+            for (long id : postings.getOrDefault(trigramKey(trigram), SortedLongArrays.EMPTY)) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+        return shared.entrySet().stream()
+                .filter(entry -> entry.getValue() >= required)
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Scores how well a user matches all query terms.
+     *
+     * @param user  the candidate user
+     * @param terms the normalized query terms
+     * @return the sum of the best score of each term, or 0 if any term does not match
+     */
+    private static double score(IndexedUser user, List<String> terms) {
+        double total = 0;
+        for (String term : terms) {
+            double best = 0;
+            for (int i = 0; i < user.tokens().length; i++) {
+                // Username tokens come first and rank slightly above name tokens
+                double weight = i < user.usernameTokens() ? 1.0 : 0.9;
+                best = Math.max(best, weight * termScore(term, user.tokens()[i]));
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    /**
+     * Scores a single term against a single token.
+     *
+     * @param term  the normalized query term
+     * @param token the normalized name token
+     * @return 3 for an exact match, between 2 and 3 for a prefix, below 1 for a typo match, otherwise 0
+     */
+    private static double termScore(String term, String token) {
+        if (token.equals(term)) {
+            return 3.0;
+        }
+        if (token.startsWith(term)) {
+            // Prefer tokens the term nearly completes
+            return 2.0 + (double) term.length() / token.length();
+        }
+        if (term.length() < MIN_FUZZY_TERM_LENGTH) {
+            return 0;
+        }
+        int maxEdits = maxEdits(term);
+        int distance = Math.min(
+                boundedDistance(term, token.substring(0, Math.min(token.length(), term.length())), maxEdits),
+                boundedDistance(term, token, maxEdits));
+        return distance <= maxEdits ? 1.0 - 0.25 * distance : 0;
+    }
+
+    private static int maxEdits(String term) {
+        return term.length() >= 8 ? 2 : 1;
+    }
+
+    /**
+     * Computes the edit distance of two short strings, counting a swap of adjacent characters as one edit,
+     * and stops early once it exceeds the bound.
+     *
+     * @param first  the first string
+     * @param second the second string
+     * @param bound  the largest distance of interest
+     * @return the distance, or {@code bound + 1} if it is larger than the bound
+     */
+    private static int boundedDistance(String first, String second, int bound) {
+        if (Math.abs(first.length() - second.length()) > bound) {
+            return bound + 1;
+        }
+        int[] beforePrevious = new int[second.length() + 1];
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && first.charAt(i - 1) == second.charAt(j - 2)
+                        && first.charAt(i - 2) == second.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                }
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[second.length()], bound + 1);
+    }
+
+    /**
+     * Returns all posting keys of a user.
+     *
+     * @param user the indexed user
+     * @return the prefix and trigram keys of all tokens of the user
+     */
+    private static Set<String> keysOf(IndexedUser user) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String token : user.tokens()) {
+            for (int length = 1; length <= Math.min(token.length(), MAX_PREFIX_LENGTH); length++) {
+                keys.add(prefixKey(token.substring(0, length)));
+            }
+            trigrams(token).forEach(trigram -> keys.add(trigramKey(trigram)));
+        }
+        return keys;
+    }
+
+    private static List<String> trigrams(String token) {
+        String padded = "^" + token + "$";
+        List<String> trigrams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static String prefixKey(String prefix) {
+        return "p" + prefix;
+    }
+
+    private static String trigramKey(String trigram) {
+        return "t" + trigram;
+    }
+
+    private void mutate(Runnable update) {
+        stateLock.lock();
+        try {
+            if (loading) {
+                updatesDuringLoad.add(update);
+                return;
+            }
+            update.run();
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    /**
+     * Applies the mutations queued while a scan was running and ends the loading phase. Called with the state
+     * lock held.
+     */
+    private void replayUpdatesDuringLoad() {
+        updatesDuringLoad.forEach(Runnable::run);
+        updatesDuringLoad.clear();
+        loading = false;
+    }
+
+    private void applyRemove(long userId) {
+        IndexedUser existing = users.remove(userId);
+        if (existing == null) {
+            return;
+        }
+        for (String key : keysOf(existing)) {
+            postings.computeIfPresent(key, (k, ids) -> {
+                long[] remaining = SortedLongArrays.delete(ids, userId);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+
+    /**
+     * A user as stored in the index, with the normalized tokens of the username followed by those of the names.
+     *
+     * @param id             the ID of the user
+     * @param username       the username
+     * @param firstName      the first name
+     * @param lastName       the last name
+     * @param hasImage       whether the user has a profile image
+     * @param tokens         the normalized tokens
+     * @param usernameTokens the number of leading tokens that come from the username
+     */
+    private record IndexedUser(long id, String username, String firstName, String lastName, boolean hasImage,
+                               String[] tokens, int usernameTokens) {
+
+        static IndexedUser of(long id, String username, String firstName, String lastName, boolean hasImage) {
+            Set<String> tokens = new LinkedHashSet<>();
+            String[] usernameParts = normalize(username).trim().split(" +");
+            for (String part : usernameParts) {
+                if (!part.isEmpty()) {
+                    tokens.add(part);
+                }
+            }
+            // "john_doe" is also matched as "johndoe"
+            if (usernameParts.length > 1) {
+                tokens.add(String.join("", usernameParts));
+            }
+            int usernameTokens = tokens.size();
+            for (String name : new String[]{firstName, lastName}) {
+                for (String part : normalize(name).trim().split(" +")) {
+                    if (!part.isEmpty()) {
+                        tokens.add(part);
+                    }
+                }
+            }
+            return new IndexedUser(id, username, firstName, lastName, hasImage,
+                    tokens.toArray(String[]::new), usernameTokens);
+        }
+
+        boolean sameAs(IndexedUser other) {
+            return other != null && hasImage == other.hasImage && Objects.equals(username, other.username)
+                    && Objects.equals(firstName, other.firstName) && Objects.equals(lastName, other.lastName);
+        }
+
+        UserSummaryDTO toSummary() {
+            return new UserSummaryDTO(id, username, firstName, lastName, hasImage);
+        }
+    }
+
+    /**
+     * A matched user with its score.
+     *
+     * @param user  the matched user
+     * @param score the match score, higher is better
+     */
+    private record Match(IndexedUser user, double score) {
+    }
+}
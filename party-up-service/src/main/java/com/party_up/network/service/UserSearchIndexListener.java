@@ -0,0 +1,47 @@
+package com.party_up.network.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import com.party_up.network.model.User;
+
+/**
+ * JPA entity listener that keeps the {@link UserSearchIndex} in line with renamed and removed users.
+ * New users are added by {@link UserService#createUser}; bulk JPQL updates bypass entity listeners.
+ */
+public class UserSearchIndexListener {
+
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    /**
+     * Constructs the listener. The index is resolved lazily because listeners are created together with
+     * the entity manager factory.
+     *
+     * @param userSearchIndex provider of the user search index
+     */
+    public UserSearchIndexListener(ObjectProvider<UserSearchIndex> userSearchIndex) {
+        this.userSearchIndex = userSearchIndex;
+    }
+
+    /**
+     * Re-indexes the names of an updated user.
+     *
+     * @param user the updated user
+     */
+    @PostUpdate
+    public void onUserUpdated(User user) {
+        userSearchIndex.ifAvailable(index -> index.add(user));
+    }
+
+    /**
+     * Drops a removed user from the index.
+     *
+     * @param user the removed user
+     */
+    @PostRemove
+    public void onUserRemoved(User user) {
+        userSearchIndex.ifAvailable(index -> index.remove(user.getId()));
+    }
+}
@@ -0,0 +1,125 @@
+package com.party_up.network.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service class for searching users by username, first name and last name.
+ * <p>
+ * Queries are answered from the {@link UserSearchIndex}, which ranks prefix and typo-tolerant matches in
+ * memory. While the index is disabled or still loading, the first query term is matched as a username prefix
+ * in the database instead, ordered by username and without name matching or typo tolerance. Results are
+ * ranked rather than keyed, so the cursor carries the offset of the next result and paging is capped at
+ * {@value #MAX_RESULTS} results.
+ * </p>
+ */
+@Slf4j
+@Service
+public class UserSearchService {
+
+    /**
+     * Maximum number of results per page.
+     */
+    public static final int MAX_PAGE_SIZE = 50;
+
+    /**
+     * Maximum number of results reachable by paging through one query.
+     */
+    static final int MAX_RESULTS = 1000;
+
+    /**
+     * Maximum length of a search query.
+     */
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final UserRepository userRepository;
+
+    private final Timer indexTimer;
+
+    private final Timer databaseTimer;
+
+    /**
+     * Constructor for injecting dependencies and registering the search timers.
+     *
+     * @param userSearchIndex the in-memory search index
+     * @param userRepository  the user repository, used while the index is not ready
+     * @param meterRegistry   the registry for search metrics
+     */
+    public UserSearchService(UserSearchIndex userSearchIndex, UserRepository userRepository,
+                             MeterRegistry meterRegistry) {
+        this.userSearchIndex = userSearchIndex;
+        this.userRepository = userRepository;
+        this.indexTimer = Timer.builder("user.search")
+                .description("Time spent answering user searches")
+                .tag("source", "index")
+                .register(meterRegistry);
+        this.databaseTimer = Timer.builder("user.search")
+                .description("Time spent answering user searches")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Searches users matching every term of the query, one page at a time.
+     *
+     * @param query  the search text
+     * @param cursor the cursor from the previous page, null or blank for the first page
+     * @param limit  the maximum number of users to return
+     * @return the page of user summaries, best matches first, with the cursor of the next page
+     * @throws IllegalArgumentException if the query, cursor or limit is invalid
+     */
+    public CursorPage<UserSummaryDTO> search(String query, String cursor, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Query must contain between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        // The cursor holds the offset of the next result rather than a sort key
+        long offset = KeysetCursor.decode(cursor);
+        if (offset >= MAX_RESULTS) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int start = (int) offset;
+        int count = Math.min(limit, MAX_RESULTS - start);
+
+        List<UserSummaryDTO> users = userSearchIndex.isReady()
+                ? indexTimer.record(() -> userSearchIndex.search(query, start, count + 1))
+                : databaseTimer.record(() -> searchDatabase(query, start, count + 1));
+
+        boolean hasMore = users.size() > count && start + count < MAX_RESULTS;
+        List<UserSummaryDTO> page = users.size() > count ? users.subList(0, count) : users;
+        return new CursorPage<>(page, hasMore ? KeysetCursor.encode(start + count) : null);
+    }
+
+    /**
+     * Searches users by username prefix in the database.
+     *
+     * @param query  the search text, whose first term is used as the prefix
+     * @param offset the number of results to skip
+     * @param count  the maximum number of results to return
+     * @return the matching summaries, ordered by username
+     */
+    private List<UserSummaryDTO> searchDatabase(String query, int offset, int count) {
+        String pattern = query.trim().split("\\s+")[0]
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_") + "%";
+        List<UserSummaryDTO> users = userRepository.searchSummariesByUsernamePrefix(pattern, Limit.of(offset + count));
+        return users.size() > offset ? users.subList(offset, users.size()) : List.of();
+    }
+}
@@ -2,14 +2,16 @@ package com.party_up.network.service;
 
 import java.time.format.DateTimeFormatter;
 
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.LoginExecutor;
+import com.party_up.network.config.cache.CachedUser;
+import com.party_up.network.config.cache.UserCache;
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.AuthToken;
 import com.party_up.network.model.User;
@@ -36,26 +38,38 @@ public class UserService {
 
     private final JwtUtil jwtUtil;
 
-    private final AuthenticationManager authenticationManager;
-
     private final AuthTokenService authTokenService;
 
     private final UserMapper userMapper;
 
+    private final UserCache userCache;
+
+    private final LoginExecutor loginExecutor;
+
+    private final UserSearchIndex userSearchIndex;
+
+    private final Timer passwordCheckTimer;
 
     public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                       JwtUtil jwtUtil, AuthenticationManager authenticationManager,
-                       AuthTokenService authTokenService, UserMapper userMapper) {
+                       JwtUtil jwtUtil, AuthTokenService authTokenService, UserMapper userMapper,
+                       UserCache userCache, LoginExecutor loginExecutor, UserSearchIndex userSearchIndex,
+                       MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
-        this.authenticationManager = authenticationManager;
         this.authTokenService = authTokenService;
         this.userMapper = userMapper;
+        this.userCache = userCache;
+        this.loginExecutor = loginExecutor;
+        this.userSearchIndex = userSearchIndex;
+        this.passwordCheckTimer = Timer.builder("auth.login.password.check")
+                .description("Time spent hashing and comparing passwords during login")
+                .register(meterRegistry);
     }
 
     /**
      * Authenticates a user using their email and password and generates a JWT token if successful.
+     * Credentials are verified once, on the bounded {@link LoginExecutor}.
      *
      * @param loginRequestDTO containing username and password for login
      * @return Map containing user details and JWT token
@@ -64,39 +78,58 @@ public class UserService {
         String username = loginRequestDTO.getUsername();
         String password = loginRequestDTO.getPassword();
 
-        try {
-            // Fetch user by username
-            User user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        User user = loginExecutor.execute(() -> verifyCredentials(username, password));
 
-            if (!passwordEncoder.matches(password, user.getPassword())) {
-                throw new RuntimeException("Invalid credentials");
-            }
+        // Generate JWT token
+        String token = jwtUtil.generateToken(user);
 
-            if (!user.getStatus().equals(AccountStatus.ACTIVE)) {
-                throw new RuntimeException("User account is inactive");
-            }
+        AuthToken authToken = authTokenService.createAuthToken(token, user);
 
-            // Authenticate the user using AuthenticationManager
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+        // Format expiration date and prepare response
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+        String formattedExpiresAt = authToken.getExpiresAt().format(formatter);
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user);
+        LoginSuccessResponseDTO response = fillSuccessfulLoginResponse(user, token, formattedExpiresAt);
 
-            AuthToken authToken = authTokenService.createAuthToken(token, user);
-
-            // Format expiration date and prepare response
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-            String formattedExpiresAt = authToken.getExpiresAt().format(formatter);
+        log.info("Login successful for user: {}", user.getEmail());
+        return response;
+    }
 
-            LoginSuccessResponseDTO response = fillSuccessfulLoginResponse(user, token, formattedExpiresAt);
+    /**
+     * Loads the user and checks the password and account status. If the stored hash was created with a
+     * weaker cost factor than the one configured, the password is rehashed while it is known.
+     *
+     * @param username the username to log in with
+     * @param password the raw password
+     * @return the authenticated user
+     */
+    private User verifyCredentials(String username, String password) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null) {
+            log.error("Authentication failed for user: {}", username);
+            throw new RuntimeException("Invalid credentials");
+        }
 
-            log.info("Login successful for user: {}", user.getEmail());
-            return response;
-        } catch (AuthenticationException e) {
-            log.error("Authentication failed for user: {}", username, e);
+        Timer.Sample sample = Timer.start();
+        boolean passwordMatches = passwordEncoder.matches(password, user.getPassword());
+        sample.stop(passwordCheckTimer);
+        if (!passwordMatches) {
             throw new RuntimeException("Invalid credentials");
         }
+
+        if (!user.getStatus().equals(AccountStatus.ACTIVE)) {
+            throw new RuntimeException("User account is inactive");
+        }
+
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String rehashed = passwordEncoder.encode(password);
+            userRepository.updatePassword(user.getId(), rehashed);
+            user.setPassword(rehashed);
+            // Bulk updates bypass the entity listener that normally invalidates the cache
+            userCache.invalidate(user.getId());
+            log.info("Rehashed password of user {} with the current cost factor", user.getId());
+        }
+        return user;
     }
 
     /**
@@ -140,6 +173,7 @@ public class UserService {
 
         // Save the new user in the repository
         userRepository.save(newUser);
+        userSearchIndex.add(newUser);
         log.info("User successfully created with username: {}", userDTO.getUsername());
 
         // Convert entity back to DTO and return it
@@ -188,13 +222,21 @@ public class UserService {
 
     /**
      * Returns a User object by ID.
+     * Served from the user cache when possible; cached users are detached copies and must not be saved.
      *
      * @param userId ID of the user.
      * @return User object.
      */
     public User getUserById(Long userId) {
-        return userRepository.findById(userId)
+        CachedUser cached = userCache.getById(userId);
+        if (cached != null) {
+            return cached.toUser();
+        }
+
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with ID: " + userId));
+        userCache.put(CachedUser.from(user));
+        return user;
     }
 
 }
@@ -0,0 +1,68 @@
+package com.party_up.network.service.image;
+
+/**
+ * A single byte range requested with an HTTP {@code Range} header.
+ *
+ * @param start the offset of the first byte, inclusive
+ * @param end   the offset of the last byte, inclusive
+ */
+public record ByteRange(long start, long end) {
+
+    /**
+     * Marker for a syntactically valid range that lies outside the resource.
+     */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    private static final String BYTES_PREFIX = "bytes=";
+
+    /**
+     * Parses a {@code Range} header against a resource of the given length.
+     * Only single ranges are supported; multiple ranges and malformed headers are ignored, which
+     * means the whole resource is served.
+     *
+     * @param header the Range header, may be null
+     * @param length the length of the resource
+     * @return the requested range, {@link #UNSATISFIABLE}, or null to serve the whole resource
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.startsWith(BYTES_PREFIX) || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring(BYTES_PREFIX.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return start <= end ? new ByteRange(start, end) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes in the range.
+     *
+     * @return the range length
+     */
+    public long length() {
+        return end - start + 1;
+    }
+}
@@ -0,0 +1,318 @@
+package com.party_up.network.service.image;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Default {@link ImageStore} keeping images as files under a root directory.
+ * <p>
+ * An image with hash {@code abcdef...} is stored as {@code ab/cd/abcdef...}, and its thumbnails as
+ * {@code ab/cd/abcdef..._<size>.png}. Uploads are first written to a temporary file while being hashed and
+ * then moved into place, so readers never see partial files. Reads use {@link FileChannel#transferTo}.
+ * </p>
+ * <p>
+ * The modification time of an original records when it was last stored. Placing an original and deleting it
+ * are serialized per hash, so a delete never removes an image that an upload has just stored again.
+ * </p>
+ * <p>
+ * Selected with {@code image.store.type=filesystem} (the default).
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "image.store.type", havingValue = "filesystem", matchIfMissing = true)
+public class FileSystemImageStore implements ImageStore {
+
+    /**
+     * Decoded images above this many pixels are rejected to protect the heap from decompression bombs.
+     */
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+
+    private final Path tmpDir;
+
+    private final long maxBytes;
+
+    private final List<Integer> thumbnailSizes;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    /**
+     * Constructs the store.
+     *
+     * @param root           the directory images are stored in
+     * @param maxBytes       the maximum accepted image size in bytes
+     * @param thumbnailSizes the thumbnail sizes generated for every image
+     */
+    public FileSystemImageStore(@Value("${image.store.root:data/images}") String root,
+                                @Value("${image.store.max-bytes:5242880}") long maxBytes,
+                                @Value("${image.store.thumbnail-sizes:64,256}") List<Integer> thumbnailSizes) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        this.maxBytes = maxBytes;
+        this.thumbnailSizes = List.copyOf(thumbnailSizes);
+        Arrays.setAll(locks, i -> new Object());
+    }
+
+    /**
+     * Creates the storage directories.
+     *
+     * @throws IOException if the directories cannot be created
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(tmpDir);
+        log.info("Storing profile images in {}", root);
+    }
+
+    @Override
+    public StoredImage store(InputStream data) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            byte[] header = new byte[ImageFormats.HEADER_LENGTH];
+            int headerLength = 0;
+            long length = 0;
+
+            try (OutputStream out = Files.newOutputStream(tmp, StandardOpenOption.WRITE)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = data.read(buffer)) != -1) {
+                    length += read;
+                    if (length > maxBytes) {
+                        throw new IllegalArgumentException("Image exceeds the maximum size of " + maxBytes + " bytes");
+                    }
+                    if (headerLength < header.length) {
+                        int copied = Math.min(read, header.length - headerLength);
+                        System.arraycopy(buffer, 0, header, headerLength, copied);
+                        headerLength += copied;
+                    }
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+
+            String contentType = ImageFormats.detectContentType(Arrays.copyOf(header, headerLength));
+            if (!contentType.startsWith("image/")) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path target = originalPath(hash);
+            BufferedImage source = decode(tmp);
+
+            synchronized (lockFor(hash)) {
+                if (Files.exists(target)) {
+                    // Same content already stored, e.g. by another user; mark it as stored again
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                    log.debug("Image {} already stored", hash);
+                } else {
+                    Files.createDirectories(target.getParent());
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                    Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+                }
+            }
+
+            for (int size : thumbnailSizes) {
+                writeThumbnail(source, size, thumbnailPath(hash, size));
+            }
+
+            log.info("Stored image {} ({} bytes, {})", hash, length, contentType);
+            return new StoredImage(hash, contentType, length);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Optional<ImageResource> open(String hash, Integer size) throws IOException {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = size == null ? originalPath(hash) : thumbnailPath(hash, size);
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileImageResource(path, Files.size(path)));
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(String hash, Instant cutoff) throws IOException {
+        if (!HASH_PATTERN.matcher(hash).matches()) {
+            return false;
+        }
+        Path original = originalPath(hash);
+        synchronized (lockFor(hash)) {
+            if (Files.exists(original) && !Files.getLastModifiedTime(original).toInstant().isBefore(cutoff)) {
+                log.debug("Keeping recently stored image {}", hash);
+                return false;
+            }
+            Files.deleteIfExists(original);
+            for (int size : thumbnailSizes) {
+                Files.deleteIfExists(thumbnailPath(hash, size));
+            }
+        }
+        log.info("Deleted image {}", hash);
+        return true;
+    }
+
+    @Override
+    public List<Integer> thumbnailSizes() {
+        return thumbnailSizes;
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % LOCK_STRIPES];
+    }
+
+    private Path originalPath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private Path thumbnailPath(String hash, int size) {
+        return originalPath(hash).resolveSibling(hash + "_" + size + ".png");
+    }
+
+    /**
+     * Decodes an image after checking its dimensions against {@link #MAX_PIXELS}.
+     *
+     * @param file the image file
+     * @return the decoded image
+     * @throws IOException if the file cannot be read
+     */
+    private static BufferedImage decode(Path file) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Writes a thumbnail whose longest side is at most {@code size} pixels. Images are never scaled up.
+     *
+     * @param source the decoded original image
+     * @param size   the thumbnail size
+     * @param target the thumbnail file
+     * @throws IOException if the thumbnail cannot be written
+     */
+    private void writeThumbnail(BufferedImage source, int size, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        double scale = Math.min(1.0, (double) size / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path tmp = Files.createTempFile(tmpDir, "thumb-", ".tmp");
+        try {
+            ImageIO.write(thumbnail, "png", tmp.toFile());
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Image file served through {@link FileChannel#transferTo}.
+     */
+    private static final class FileImageResource implements ImageResource {
+
+        private final Path path;
+
+        private final long length;
+
+        FileImageResource(Path path, long length) {
+            this.path = path;
+            this.length = length;
+        }
+
+        @Override
+        public long length() {
+            return length;
+        }
+
+        @Override
+        public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long transferred = 0;
+                while (transferred < count) {
+                    long written = channel.transferTo(position + transferred, count - transferred, target);
+                    if (written <= 0) {
+                        break;
+                    }
+                    transferred += written;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.party_up.network.service.image;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URLConnection;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Detection of image content types from their leading bytes.
+ */
+public final class ImageFormats {
+
+    /**
+     * Number of leading bytes needed to detect a content type.
+     */
+    public static final int HEADER_LENGTH = 16;
+
+    private ImageFormats() {
+    }
+
+    /**
+     * Detects the content type of an image from its first bytes.
+     *
+     * @param header the leading bytes of the image
+     * @return the detected content type, or application/octet-stream if unknown
+     */
+    public static String detectContentType(byte[] header) {
+        if (header == null) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+        try {
+            String contentType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(header));
+            return contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        } catch (IOException e) {
+            return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.party_up.network.service.image;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A readable stored image, served without loading it into memory.
+ */
+public interface ImageResource {
+
+    /**
+     * Returns the size of the image.
+     *
+     * @return the size in bytes
+     */
+    long length();
+
+    /**
+     * Copies a byte range of the image to the target channel.
+     *
+     * @param position the offset of the first byte to copy
+     * @param count    the number of bytes to copy
+     * @param target   the channel to write to
+     * @throws IOException if reading or writing fails
+     */
+    void transferTo(long position, long count, WritableByteChannel target) throws IOException;
+}
@@ -0,0 +1,65 @@
+package com.party_up.network.service.image;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage backend for profile images.
+ * <p>
+ * Images are addressed by the SHA-256 hash of their content, so identical uploads share one copy and a stored
+ * image never changes. Pre-scaled thumbnails are generated when an image is stored. Implementations hand out
+ * {@link ImageResource}s that copy bytes straight to the response without buffering whole images on the heap.
+ * </p>
+ */
+public interface ImageStore {
+
+    /**
+     * Content type of all generated thumbnails.
+     */
+    String THUMBNAIL_CONTENT_TYPE = "image/png";
+
+    /**
+     * Stores an image and its thumbnails.
+     *
+     * @param data the image bytes, read until the end of the stream
+     * @return the content hash, detected content type and size of the stored image
+     * @throws IOException              if the image cannot be written
+     * @throws IllegalArgumentException if the data is not a supported image or exceeds the size limit
+     */
+    StoredImage store(InputStream data) throws IOException;
+
+    /**
+     * Opens a stored image or one of its thumbnails.
+     *
+     * @param hash the content hash of the image
+     * @param size the thumbnail size, or null for the original image
+     * @return the image, or empty if it is not stored
+     * @throws IOException if the image cannot be opened
+     */
+    Optional<ImageResource> open(String hash, Integer size) throws IOException;
+
+    /**
+     * Deletes an image and its thumbnails unless it was stored at or after the given time.
+     * <p>
+     * Storing content that is already present counts as storing it again. The check and the delete are atomic
+     * with respect to {@link #store}, so an upload of the same content racing with the delete either finds
+     * the image kept or writes it anew.
+     * </p>
+     *
+     * @param hash   the content hash of the image
+     * @param cutoff images stored at or after this time are kept
+     * @return true if the image was deleted, false if it was kept
+     * @throws IOException if the files cannot be deleted
+     */
+    boolean deleteIfStoredBefore(String hash, Instant cutoff) throws IOException;
+
+    /**
+     * Returns the thumbnail sizes generated for every stored image.
+     *
+     * @return the thumbnail sizes in pixels (longest side)
+     */
+    List<Integer> thumbnailSizes();
+}
@@ -0,0 +1,11 @@
+package com.party_up.network.service.image;
+
+/**
+ * Result of storing an image in an {@link ImageStore}.
+ *
+ * @param hash        the hex-encoded SHA-256 hash of the image content
+ * @param contentType the content type detected from the image bytes
+ * @param length      the size of the image in bytes
+ */
+public record StoredImage(String hash, String contentType, long length) {
+}
@@ -0,0 +1,62 @@
+package com.party_up.network.config.authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ExpiredTokenReaperTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExpiredTokenReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        reaper = new ExpiredTokenReaper(jdbcTemplate, meterRegistry, 100, 5, 60);
+    }
+
+    @Test
+    void reapDeletesInBatchesUntilABatchIsNotFull() {
+        when(jdbcTemplate.update(anyString(), any(), eq(100))).thenReturn(100, 100, 30);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(42L);
+
+        assertEquals(230, reaper.reap());
+
+        verify(jdbcTemplate, times(3)).update(anyString(), any(), eq(100));
+        assertEquals(230, meterRegistry.get("auth.tokens.reaped").counter().count());
+        assertEquals(42, meterRegistry.get("auth.tokens.rows").gauge().value());
+    }
+
+    @Test
+    void reapStopsAfterMaxBatchesPerRun() {
+        when(jdbcTemplate.update(anyString(), any(), eq(100))).thenReturn(100);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1000L);
+
+        assertEquals(500, reaper.reap());
+
+        verify(jdbcTemplate, times(5)).update(anyString(), any(), eq(100));
+    }
+
+    @Test
+    void reapSurvivesDatabaseErrors() {
+        when(jdbcTemplate.update(anyString(), any(), eq(100)))
+                .thenThrow(new DataAccessResourceFailureException("Connection lost"));
+
+        assertEquals(0, reaper.reap());
+    }
+}
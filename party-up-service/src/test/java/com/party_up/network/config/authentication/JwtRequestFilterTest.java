@@ -3,6 +3,8 @@ package com.party_up.network.config.authentication;
 import com.party_up.network.model.AuthToken;
 import com.party_up.network.repository.AuthTokenRepository;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -13,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -21,8 +25,12 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class JwtRequestFilterTest {
@@ -36,9 +44,21 @@ public class JwtRequestFilterTest {
     @Mock
     private AuthTokenRepository authTokenRepository;
 
+    @Mock
+    private SessionCache sessionCache;
+
+    @Mock
+    private TokenActivityTracker tokenActivityTracker;
+
+    @Mock
+    private TokenDenyList tokenDenyList;
+
     @Mock
     private FilterChain filterChain;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private JwtRequestFilter jwtRequestFilter;
 
@@ -53,7 +73,8 @@ public class JwtRequestFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtRequestFilter = new JwtRequestFilter(userDetailsService, jwtUtil, authTokenRepository);
+        jwtRequestFilter = new JwtRequestFilter(userDetailsService, jwtUtil, authTokenRepository, sessionCache,
+                tokenActivityTracker, tokenDenyList, meterRegistry);
         responseWriter = new StringWriter();
     }
 
@@ -69,14 +90,17 @@ public class JwtRequestFilterTest {
 
         // Mocking JWT validation and user details
         AuthToken authToken = new AuthToken();
-        authToken.setToken(validToken);
+        authToken.setId(5L);
+        authToken.setTokenHash(TokenHasher.hash(validToken));
         authToken.setExpiresAt(LocalDateTime.now().plusMinutes(10));
 
-        when(jwtUtil.extractUsername(validToken)).thenReturn(username);
+        VerifiedToken verifiedToken = mock(VerifiedToken.class);
+        when(verifiedToken.getUsername()).thenReturn(username);
+        when(jwtUtil.parseToken(validToken)).thenReturn(verifiedToken);
         UserDetails userDetails = mock(UserDetails.class);
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(validToken, userDetails)).thenReturn(true);
-        when(authTokenRepository.findByToken(validToken)).thenReturn(Optional.of(authToken));
+        when(jwtUtil.validateToken(verifiedToken, userDetails)).thenReturn(true);
+        when(authTokenRepository.findByTokenHash(TokenHasher.hash(validToken))).thenReturn(Optional.of(authToken));
 
         // Mocking HttpServletResponse writer
         PrintWriter writer = new PrintWriter(responseWriter);
@@ -88,9 +112,61 @@ public class JwtRequestFilterTest {
         // Verify behaviors
         verify(filterChain, times(1)).doFilter(request, response);
         verify(userDetailsService, times(1)).loadUserByUsername(username);
-        verify(jwtUtil, times(1)).extractUsername(validToken);
-        verify(jwtUtil, times(1)).validateToken(validToken, userDetails);
-        verify(authTokenRepository, times(1)).findByToken(validToken);
+        verify(jwtUtil, times(1)).parseToken(validToken);
+        verify(jwtUtil, times(1)).validateToken(verifiedToken, userDetails);
+        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(request, times(1)).setAttribute(JwtRequestFilter.VERIFIED_TOKEN_ATTRIBUTE, verifiedToken);
+        verify(authTokenRepository, times(1)).findByTokenHash(TokenHasher.hash(validToken));
+        for (String phase : new String[]{"parse", "user_load", "token_lookup"}) {
+            assertEquals(1, meterRegistry.get("auth.filter.phase").tag("phase", phase).timer().count());
+        }
+    }
+
+    @Test
+    void testDoFilterInternalStatelessValidationSkipsTokenLookup() throws Exception {
+        SecurityContextHolder.clearContext();
+        String validToken = "valid-token";
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("authToken", validToken)});
+        when(request.getRequestURI()).thenReturn("/api/some-secure-endpoint");
+
+        VerifiedToken verifiedToken = mock(VerifiedToken.class);
+        when(verifiedToken.getUsername()).thenReturn("testuser");
+        when(verifiedToken.getId()).thenReturn("jti-1");
+        when(verifiedToken.getExpiration()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(jwtUtil.parseToken(validToken)).thenReturn(verifiedToken);
+        UserDetails userDetails = mock(UserDetails.class);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(userDetails);
+        when(jwtUtil.validateToken(verifiedToken, userDetails)).thenReturn(true);
+        when(tokenDenyList.isActive()).thenReturn(true);
+        when(tokenDenyList.isRevoked("jti-1")).thenReturn(false);
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+        verify(authTokenRepository, never()).findByTokenHash(anyString());
+        verify(sessionCache, times(1)).put(eq(validToken), any(CachedSession.class));
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoFilterInternalStatelessValidationRejectsRevokedToken() throws Exception {
+        String revokedToken = "revoked-token";
+        when(request.getCookies()).thenReturn(new Cookie[]{new Cookie("authToken", revokedToken)});
+        when(request.getRequestURI()).thenReturn("/api/some-secure-endpoint");
+
+        VerifiedToken verifiedToken = mock(VerifiedToken.class);
+        when(verifiedToken.getUsername()).thenReturn("testuser");
+        when(verifiedToken.getId()).thenReturn("jti-2");
+        when(jwtUtil.parseToken(revokedToken)).thenReturn(verifiedToken);
+        when(tokenDenyList.isActive()).thenReturn(true);
+        when(tokenDenyList.isRevoked("jti-2")).thenReturn(true);
+        when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(response, times(1)).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+        verify(sessionCache, never()).get(anyString());
     }
 
     @Test
@@ -102,7 +178,7 @@ public class JwtRequestFilterTest {
         Cookie expiredAuthCookie = new Cookie("authToken", expiredToken);
         when(request.getCookies()).thenReturn(new Cookie[]{expiredAuthCookie});
         when(request.getRequestURI()).thenReturn("/api/some-secure-endpoint");
-        when(jwtUtil.extractUsername(expiredToken))
+        when(jwtUtil.parseToken(expiredToken))
                 .thenThrow(new ExpiredJwtException(null, null, "Expired JWT token"));
 
         // Mocking PrintWriter to avoid NullPointerException when getWriter() is called
@@ -118,7 +194,7 @@ public class JwtRequestFilterTest {
         verify(mockWriter, times(1)).write("Expired JWT token"); // Ensure error message is written
 
         verify(userDetailsService, never()).loadUserByUsername(anyString()); // Ensure user details are not loaded
-        verify(authTokenRepository, never()).findByToken(anyString()); // Ensure repository is not queried
+        verify(authTokenRepository, never()).findByTokenHash(anyString()); // Ensure repository is not queried
     }
 
     @Test
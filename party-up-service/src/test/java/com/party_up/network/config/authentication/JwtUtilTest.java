@@ -2,6 +2,7 @@ package com.party_up.network.config.authentication;
 
 import com.party_up.network.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -16,6 +17,8 @@ import static org.mockito.Mockito.when;
 
 public class JwtUtilTest {
 
+    private static final String SECRET = "c2hhcmVkLXNpZ25pbmcta2V5LWZvci10ZXN0cy0wMTIzNDU2Nzg5";
+
     private JwtUtil jwtUtil;
 
     @Mock
@@ -27,7 +30,7 @@ public class JwtUtilTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
-        jwtUtil = new JwtUtil();
+        jwtUtil = new JwtUtil(new SigningKeyProvider("", "", ""));
     }
 
     @Test
@@ -64,6 +67,50 @@ public class JwtUtilTest {
         assertTrue(isValid);
     }
 
+    @Test
+    public void testParseToken() {
+        when(user.getUsername()).thenReturn("testuser");
+        String token = jwtUtil.generateToken(user);
+
+        VerifiedToken verifiedToken = jwtUtil.parseToken(token);
+        assertEquals(token, verifiedToken.getToken());
+        assertEquals("testuser", verifiedToken.getUsername());
+        assertFalse(verifiedToken.isExpired());
+    }
+
+    @Test
+    public void testValidateVerifiedToken() {
+        when(user.getUsername()).thenReturn("testuser");
+        VerifiedToken verifiedToken = jwtUtil.parseToken(jwtUtil.generateToken(user));
+
+        when(userDetails.getUsername()).thenReturn("otheruser");
+        assertFalse(jwtUtil.validateToken(verifiedToken, userDetails));
+
+        when(userDetails.getUsername()).thenReturn("testuser");
+        assertTrue(jwtUtil.validateToken(verifiedToken, userDetails));
+    }
+
+    @Test
+    public void testParseTokenInvalidSignature() {
+        when(user.getUsername()).thenReturn("testuser");
+        String token = jwtUtil.generateToken(user);
+
+        // A token signed by another instance's generated key must be rejected
+        assertThrows(JwtException.class,
+                () -> new JwtUtil(new SigningKeyProvider("", "", "")).parseToken(token));
+    }
+
+    @Test
+    public void testParseTokenFromAnotherInstanceWithSharedKeys() {
+        when(user.getUsername()).thenReturn("testuser");
+        JwtUtil issuer = new JwtUtil(new SigningKeyProvider("k1:" + SECRET, "", ""));
+        JwtUtil verifier = new JwtUtil(new SigningKeyProvider("k1:" + SECRET, "", ""));
+
+        String token = issuer.generateToken(user);
+
+        assertEquals("testuser", verifier.parseToken(token).getUsername());
+    }
+
     @Test
     public void testExtractClaim() {
         when(user.getUsername()).thenReturn("testuser");
@@ -0,0 +1,82 @@
+package com.party_up.network.config.authentication;
+
+import com.party_up.network.exceptions.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private LoginExecutor loginExecutor;
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        if (loginExecutor != null) {
+            loginExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void executeReturnsResultAndPropagatesFailures() {
+        loginExecutor = new LoginExecutor(meterRegistry, 2, 4, 1000);
+
+        assertEquals("user", loginExecutor.execute(() -> "user"));
+        RuntimeException failure = assertThrows(RuntimeException.class,
+                () -> loginExecutor.execute(() -> {
+                    throw new RuntimeException("Invalid credentials");
+                }));
+        assertEquals("Invalid credentials", failure.getMessage());
+    }
+
+    @Test
+    void executeRejectsWhenPoolAndQueueAreFull() throws Exception {
+        loginExecutor = new LoginExecutor(meterRegistry, 1, 1, 5000);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // One verification occupies the only thread, a second one waits in the queue
+        callers.submit(() -> loginExecutor.execute(() -> {
+            started.countDown();
+            return await(release);
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> loginExecutor.execute(() -> await(release)));
+        while (meterRegistry.get("auth.login.queue.depth").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThrows(ServiceBusyException.class, () -> loginExecutor.execute(() -> "user"));
+        assertEquals(1, meterRegistry.get("auth.login.rejected").counter().count());
+        release.countDown();
+    }
+
+    @Test
+    void executeGivesUpAfterTimeout() {
+        loginExecutor = new LoginExecutor(meterRegistry, 1, 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+
+        assertThrows(ServiceBusyException.class, () -> loginExecutor.execute(() -> await(release)));
+        release.countDown();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,7 +25,16 @@ public class SecurityConfigTest {
     @Test
     void testPasswordEncoder() {
         // Test that the PasswordEncoder bean is a BCryptPasswordEncoder instance
-        assertInstanceOf(BCryptPasswordEncoder.class, securityConfig.passwordEncoder());
+        PasswordEncoder passwordEncoder = securityConfig.passwordEncoder(10);
+        assertInstanceOf(BCryptPasswordEncoder.class, passwordEncoder);
+    }
+
+    @Test
+    void testPasswordEncoderUpgradesWeakerHashes() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(securityConfig.passwordEncoder(5).upgradeEncoding(weakHash));
+        assertFalse(securityConfig.passwordEncoder(4).upgradeEncoding(weakHash));
     }
 
     @Test
@@ -0,0 +1,101 @@
+package com.party_up.network.config.authentication;
+
+import com.party_up.network.model.User;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SigningKeyProviderTest {
+
+    private static final String FIRST_SECRET = "Zmlyc3Qtc2lnbmluZy1rZXktZm9yLXRlc3RzLTAxMjM0NTY3ODk=";
+
+    private static final String SECOND_SECRET = "c2Vjb25kLXNpZ25pbmcta2V5LWZvci10ZXN0cy0wMTIzNDU2Nzg=";
+
+    @TempDir
+    Path tempDir;
+
+    private Path keysFile;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        keysFile = tempDir.resolve("jwt-keys.properties");
+        user = new User();
+        user.setUsername("testuser");
+    }
+
+    @Test
+    void signsWithActiveKeyAndSetsKidHeader() throws IOException {
+        writeKeys("k2", "k1", FIRST_SECRET, "k2", SECOND_SECRET);
+        SigningKeyProvider provider = new SigningKeyProvider("", keysFile.toString(), "");
+        JwtUtil jwtUtil = new JwtUtil(provider);
+
+        String token = jwtUtil.generateToken(user);
+
+        assertEquals("k2", provider.getActiveKid());
+        assertEquals("testuser", jwtUtil.parseToken(token).getUsername());
+        assertEquals("testuser", new JwtUtil(new SigningKeyProvider("k2:" + SECOND_SECRET, "", ""))
+                .parseToken(token).getUsername());
+    }
+
+    @Test
+    void rotationKeepsRemovedKeyDuringOverlap() throws IOException {
+        writeKeys("k1", "k1", FIRST_SECRET);
+        SigningKeyProvider provider = new SigningKeyProvider("", keysFile.toString(), "");
+        JwtUtil jwtUtil = new JwtUtil(provider);
+        String oldToken = jwtUtil.generateToken(user);
+
+        writeKeys("k2", "k1", FIRST_SECRET, "k2", SECOND_SECRET);
+        provider.reload();
+        assertEquals("k2", provider.getActiveKid());
+
+        writeKeys("k2", "k2", SECOND_SECRET);
+        provider.reload();
+
+        assertEquals("testuser", jwtUtil.parseToken(oldToken).getUsername());
+        assertEquals("testuser", jwtUtil.parseToken(jwtUtil.generateToken(user)).getUsername());
+    }
+
+    @Test
+    void invalidReloadKeepsCurrentKeyset() throws IOException {
+        writeKeys("k1", "k1", FIRST_SECRET);
+        SigningKeyProvider provider = new SigningKeyProvider("", keysFile.toString(), "");
+
+        writeKeys("missing", "k1", FIRST_SECRET);
+        provider.reload();
+
+        assertEquals("k1", provider.getActiveKid());
+    }
+
+    @Test
+    void rejectsUnknownKid() {
+        String token = new JwtUtil(new SigningKeyProvider("k9:" + FIRST_SECRET, "", "")).generateToken(user);
+        JwtUtil jwtUtil = new JwtUtil(new SigningKeyProvider("k1:" + FIRST_SECRET, "", ""));
+
+        assertThrows(JwtException.class, () -> jwtUtil.parseToken(token));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalStateException.class,
+                () -> new SigningKeyProvider("k1:" + FIRST_SECRET + ",k2:" + SECOND_SECRET, "", ""));
+        assertThrows(IllegalStateException.class, () -> new SigningKeyProvider("k1:c2hvcnQ=", "", ""));
+        assertThrows(IllegalStateException.class, () -> new SigningKeyProvider(FIRST_SECRET, "", ""));
+    }
+
+    private void writeKeys(String activeKid, String... kidsAndSecrets) throws IOException {
+        StringBuilder content = new StringBuilder("active-kid=" + activeKid + "\n");
+        for (int i = 0; i < kidsAndSecrets.length; i += 2) {
+            content.append("key.").append(kidsAndSecrets[i]).append('=').append(kidsAndSecrets[i + 1]).append('\n');
+        }
+        Files.writeString(keysFile, content);
+    }
+}
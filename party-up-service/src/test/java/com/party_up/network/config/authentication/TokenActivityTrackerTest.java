@@ -0,0 +1,71 @@
+package com.party_up.network.config.authentication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TokenActivityTrackerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private TokenActivityTracker tokenActivityTracker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        tokenActivityTracker = new TokenActivityTracker(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushCollapsesUpdatesPerToken() {
+        tokenActivityTracker.recordUse(1L);
+        tokenActivityTracker.recordUse(1L);
+        tokenActivityTracker.recordUse(2L);
+        assertEquals(2, tokenActivityTracker.pendingCount());
+
+        tokenActivityTracker.flush();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(0, tokenActivityTracker.pendingCount());
+    }
+
+    @Test
+    void flushWithNothingPendingSkipsDatabase() {
+        tokenActivityTracker.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void failedFlushKeepsUpdatesPending() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Database down"));
+        tokenActivityTracker.recordUse(1L);
+
+        tokenActivityTracker.flush();
+
+        assertEquals(1, tokenActivityTracker.pendingCount());
+    }
+
+    @Test
+    void nullTokenIdIsIgnored() {
+        tokenActivityTracker.recordUse(null);
+
+        assertEquals(0, tokenActivityTracker.pendingCount());
+    }
+}
@@ -0,0 +1,73 @@
+package com.party_up.network.config.authentication;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TokenDenyListTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenDenyList denyList;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        denyList = new TokenDenyList(jdbcTemplate, meterRegistry, TokenDenyList.ValidationMode.STATELESS, 60);
+    }
+
+    @Test
+    void revokedTokensAreDeniedUntilTheyExpire() {
+        denyList.revoke("jti-1", Instant.now().plus(Duration.ofMinutes(10)));
+        denyList.revoke("jti-2", Instant.now().minusSeconds(1));
+
+        assertTrue(denyList.isRevoked("jti-1"));
+        assertFalse(denyList.isRevoked("jti-2"));
+        assertFalse(denyList.isRevoked("jti-3"));
+        assertEquals(1, meterRegistry.get("auth.deny-list.size").gauge().value());
+    }
+
+    @Test
+    void tokensWithoutIdAreDenied() {
+        assertTrue(denyList.isRevoked(null));
+    }
+
+    @Test
+    void becomesActiveOnceLoaded() {
+        assertFalse(denyList.isActive());
+
+        denyList.loadOnStartup();
+
+        assertTrue(denyList.isActive());
+        verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void databaseModeNeverActivates() {
+        TokenDenyList databaseMode =
+                new TokenDenyList(jdbcTemplate, meterRegistry, TokenDenyList.ValidationMode.DATABASE, 60);
+
+        databaseMode.loadOnStartup();
+        databaseMode.revoke("jti-1", Instant.now().plus(Duration.ofMinutes(10)));
+
+        assertFalse(databaseMode.isActive());
+        assertEquals(0, databaseMode.size());
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
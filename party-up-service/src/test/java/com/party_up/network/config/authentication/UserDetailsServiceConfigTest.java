@@ -1,5 +1,7 @@
 package com.party_up.network.config.authentication;
 
+import com.party_up.network.config.cache.CachedUser;
+import com.party_up.network.config.cache.UserCache;
 import com.party_up.network.model.User;
 import com.party_up.network.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +16,10 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UserDetailsServiceConfigTest {
@@ -21,6 +27,9 @@ public class UserDetailsServiceConfigTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
     @InjectMocks
     private UserDetailsServiceConfig userDetailsServiceConfig;
 
@@ -41,6 +50,22 @@ public class UserDetailsServiceConfigTest {
 
         assertEquals("testuser", userDetails.getUsername());
         assertEquals("password", userDetails.getPassword());
+        verify(userCache).put(any(CachedUser.class));
+    }
+
+    @Test
+    public void testLoadUserByUsername_CacheHit() {
+        User mockUser = new User();
+        mockUser.setId(1L);
+        mockUser.setUsername("testuser");
+        mockUser.setPassword("password");
+        when(userCache.getByUsername("testuser")).thenReturn(CachedUser.from(mockUser));
+
+        UserDetails userDetails = userDetailsServiceConfig.loadUserByUsername("testuser");
+
+        assertEquals("testuser", userDetails.getUsername());
+        assertEquals("password", userDetails.getPassword());
+        verify(userRepository, never()).findByUsername(anyString());
     }
 
     @Test
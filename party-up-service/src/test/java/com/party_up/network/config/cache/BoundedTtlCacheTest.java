@@ -0,0 +1,111 @@
+package com.party_up.network.config.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedTtlCacheTest {
+
+    private AtomicLong clock;
+
+    private BoundedTtlCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        cache = new BoundedTtlCache<>(2, Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void getReturnsCachedValue() {
+        cache.put("a", "1");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        cache.put("a", "1");
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void perEntryTtlIsCappedAtCacheTtl() {
+        cache.put("short", "1", Duration.ofSeconds(1));
+        cache.put("long", "2", Duration.ofHours(1));
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertNull(cache.get("short"));
+        assertEquals("2", cache.get("long"));
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertNull(cache.get("long"));
+    }
+
+    @Test
+    void oldestEntryIsEvictedWhenFull() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.evictionCount());
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        cache.put("a", "1");
+        cache.invalidate("a");
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void nonPositiveMaxSizeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTtlCache<>(0, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void invalidateAndExpiryKeepInsertionOrderBounded() {
+        for (int i = 0; i < 100_000; i++) {
+            cache.put("key" + i, "value");
+            cache.invalidate("key" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.put("expiring" + i, "value");
+            clock.addAndGet(Duration.ofSeconds(10).toNanos());
+            cache.get("expiring" + i);
+        }
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.trackedKeyCount());
+        assertEquals(0, cache.evictionCount());
+    }
+
+    @Test
+    void reinsertedKeyIsNotEvictedByItsStalePosition() {
+        cache.put("a", "1");
+        cache.invalidate("a");
+        cache.put("b", "2");
+        cache.put("a", "3");
+        cache.put("c", "4");
+
+        // "b" is now the oldest entry, the fresh "a" has to survive
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("a"));
+        assertEquals("4", cache.get("c"));
+        assertEquals(2, cache.trackedKeyCount());
+    }
+}
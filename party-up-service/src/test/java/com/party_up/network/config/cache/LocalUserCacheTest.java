@@ -0,0 +1,82 @@
+package com.party_up.network.config.cache;
+
+import com.party_up.network.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalUserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LocalUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new LocalUserCache(meterRegistry, 2, 300);
+    }
+
+    @Test
+    void putMakesUserAvailableByIdAndUsername() {
+        cache.put(cachedUser(1L, "alice"));
+
+        assertEquals("alice", cache.getById(1L).username());
+        assertEquals(1L, cache.getByUsername("alice").id());
+        assertNull(cache.getById(2L));
+        assertNull(cache.getByUsername("bob"));
+        assertEquals(2, meterRegistry.get("user.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("user.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("user.cache.size").gauge().value());
+    }
+
+    @Test
+    void invalidateRemovesBothLookups() {
+        cache.put(cachedUser(1L, "alice"));
+
+        cache.invalidate(1L);
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsername("alice"));
+        assertEquals(1, meterRegistry.get("user.cache.invalidations").counter().count());
+    }
+
+    @Test
+    void renamedUserIsNotReturnedForOldUsername() {
+        cache.put(cachedUser(1L, "alice"));
+        cache.put(cachedUser(1L, "alicia"));
+
+        assertNull(cache.getByUsername("alice"));
+        assertEquals(1L, cache.getByUsername("alicia").id());
+    }
+
+    @Test
+    void cacheIsBoundedBySize() {
+        cache.put(cachedUser(1L, "alice"));
+        cache.put(cachedUser(2L, "bob"));
+        cache.put(cachedUser(3L, "carol"));
+
+        assertEquals(2, meterRegistry.get("user.cache.size").gauge().value());
+        assertEquals(1, meterRegistry.get("user.cache.evictions").functionCounter().count());
+    }
+
+    @Test
+    void cachedUserRoundTripsToDetachedUser() {
+        User user = cachedUser(1L, "alice").toUser();
+
+        assertEquals(1L, user.getId());
+        assertEquals("alice", user.getUsername());
+        assertNull(user.getImage());
+    }
+
+    private static CachedUser cachedUser(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword("secret");
+        user.setImage(new byte[]{1, 2, 3});
+        return CachedUser.from(user);
+    }
+}
@@ -0,0 +1,78 @@
+package com.party_up.network.config.cache;
+
+import com.party_up.network.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests SharedUserCache against the in-process ConcurrentMapCacheManager, standing in for a shared backend.
+ */
+public class SharedUserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private SharedUserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager("users");
+        cache = new SharedUserCache(cacheManager, meterRegistry, "users");
+    }
+
+    @Test
+    void putMakesUserAvailableByIdAndUsername() {
+        cache.put(cachedUser(1L, "alice"));
+
+        assertEquals("alice", cache.getById(1L).username());
+        assertEquals(1L, cache.getByUsername("alice").id());
+        assertNull(cache.getByUsername("bob"));
+        assertEquals(2, meterRegistry.get("user.cache.requests").tag("backend", "shared")
+                .tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("user.cache.requests").tag("backend", "shared")
+                .tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void invalidateRemovesBothLookups() {
+        cache.put(cachedUser(1L, "alice"));
+
+        cache.invalidate(1L);
+
+        assertNull(cache.getById(1L));
+        assertNull(cache.getByUsername("alice"));
+    }
+
+    @Test
+    void instancesSharingABackendSeeEachOthersEntries() {
+        SharedUserCache other = new SharedUserCache(cacheManager, meterRegistry, "users");
+
+        cache.put(cachedUser(1L, "alice"));
+        assertEquals("alice", other.getById(1L).username());
+
+        other.invalidate(1L);
+        assertNull(cache.getById(1L));
+    }
+
+    @Test
+    void missingCacheIsRejected() {
+        ConcurrentMapCacheManager staticManager = new ConcurrentMapCacheManager("other");
+
+        assertThrows(IllegalStateException.class,
+                () -> new SharedUserCache(staticManager, meterRegistry, "users"));
+    }
+
+    private static CachedUser cachedUser(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setPassword("secret");
+        return CachedUser.from(user);
+    }
+}
@@ -0,0 +1,78 @@
+package com.party_up.network.config.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FriendshipPairMigration
+ */
+class FriendshipPairMigrationTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FriendshipPairMigration migration;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        migration = new FriendshipPairMigration(jdbcTemplate, 100);
+    }
+
+    @Test
+    void runDoesNothingOnceTheMigrationIsRecorded() {
+        when(jdbcTemplate.queryForList(anyString(), eq("friendship-canonical-pairs")))
+                .thenReturn(List.of(Map.of("1", 1)));
+
+        migration.run();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(RowMapper.class));
+        verify(jdbcTemplate, never()).update(anyString(), anyLong(), anyLong());
+        verify(jdbcTemplate, never()).update(anyString(), eq("friendship-canonical-pairs"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runWalksTheTableInPrimaryKeyRangesAndRecordsCompletion() {
+        when(jdbcTemplate.queryForList(anyString(), eq("friendship-canonical-pairs"))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(new long[]{5, 250});
+
+        migration.run();
+
+        // Four statements for each of the ranges 5-104, 105-204 and 205-304
+        verify(jdbcTemplate, times(4)).update(anyString(), eq(5L), eq(104L));
+        verify(jdbcTemplate, times(4)).update(anyString(), eq(105L), eq(204L));
+        verify(jdbcTemplate, times(4)).update(anyString(), eq(205L), eq(304L));
+        verify(jdbcTemplate, times(12)).update(anyString(), anyLong(), anyLong());
+        verify(jdbcTemplate).update(startsWith("INSERT IGNORE INTO data_migrations"), eq("friendship-canonical-pairs"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedRunIsNotRecorded() {
+        when(jdbcTemplate.queryForList(anyString(), eq("friendship-canonical-pairs"))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(anyString(), any(RowMapper.class))).thenReturn(new long[]{1, 10});
+        when(jdbcTemplate.update(anyString(), anyLong(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("lock wait timeout"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> migration.run());
+
+        verify(jdbcTemplate, never()).update(anyString(), eq("friendship-canonical-pairs"));
+    }
+}
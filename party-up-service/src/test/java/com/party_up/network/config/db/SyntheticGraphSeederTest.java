@@ -0,0 +1,140 @@
+package com.party_up.network.config.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for SyntheticGraphSeeder
+ */
+class SyntheticGraphSeederTest {
+
+    private static final int USERS = 2000;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private SyntheticGraphSeeder seeder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(passwordEncoder.encode("secret")).thenReturn("hashed");
+        seeder = new SyntheticGraphSeeder(jdbcTemplate, passwordEncoder, USERS, 10, 3, 5, 0.2, 7L, 500, 1,
+                "secret");
+    }
+
+    private List<Object[]> friendships(long seed) {
+        List<Object[]> rows = new ArrayList<>();
+        seeder.generateFriendships(new SplittableRandom(seed), rows::add);
+        return rows;
+    }
+
+    @Test
+    void seedInsertsAllUsersWithOneSharedPasswordHash() {
+        seeder.seed();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(SyntheticGraphSeeder.INSERT_USER_SQL), batches.capture());
+        List<Object[]> users = batches.getAllValues().stream().flatMap(List::stream).toList();
+
+        assertEquals(USERS, users.size());
+        assertEquals(USERS, users.stream().map(row -> row[0]).distinct().count());
+        assertTrue(users.stream().allMatch(row -> "hashed".equals(row[2])));
+        verify(passwordEncoder, times(1)).encode("secret");
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(SyntheticGraphSeeder.INSERT_FRIENDSHIP_SQL), anyList());
+    }
+
+    @Test
+    void friendshipsAreCanonicalAndDistinct() {
+        Set<String> pairs = new HashSet<>();
+        for (Object[] row : friendships(7L)) {
+            long userOne = (Long) row[1];
+            long userTwo = (Long) row[2];
+            long requester = (Long) row[3];
+
+            assertTrue(userOne >= 1 && userOne < userTwo && userTwo <= USERS);
+            assertTrue(requester == userOne || requester == userTwo);
+            assertTrue(pairs.add(userOne + ":" + userTwo));
+        }
+        // About friends-per-user friendships are started by every user
+        assertTrue(pairs.size() > USERS * 8 && pairs.size() < USERS * 12);
+    }
+
+    @Test
+    void friendshipsMixPendingAndAccepted() {
+        List<Object[]> rows = friendships(7L);
+        long pending = rows.stream().filter(row -> "PENDING".equals(row[4])).count();
+
+        assertEquals(0.2, (double) pending / rows.size(), 0.05);
+        assertTrue(rows.stream().allMatch(row -> "PENDING".equals(row[4]) || "ACCEPTED".equals(row[4])));
+    }
+
+    @Test
+    void celebritiesHaveTheMostFriends() {
+        int[] degree = new int[USERS + 1];
+        for (Object[] row : friendships(7L)) {
+            degree[(int) (long) (Long) row[1]]++;
+            degree[(int) (long) (Long) row[2]]++;
+        }
+        int[] sorted = Arrays.copyOfRange(degree, 1, USERS + 1);
+        Arrays.sort(sorted);
+
+        for (int celebrity = 1; celebrity <= 3; celebrity++) {
+            assertTrue(degree[celebrity] > sorted[USERS - 10], "celebrity " + celebrity);
+        }
+        // Power law: the median user has far fewer friends than the best connected ones
+        assertTrue(sorted[USERS / 2] * 5 < sorted[USERS - 1]);
+    }
+
+    @Test
+    void sameSeedGeneratesSameGraph() {
+        List<Object[]> first = friendships(7L);
+        List<Object[]> second = friendships(7L);
+        List<Object[]> other = friendships(8L);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertArrayEquals(first.get(i), second.get(i));
+        }
+        assertFalse(first.size() == other.size() && Arrays.deepEquals(first.toArray(), other.toArray()));
+    }
+
+    @Test
+    void seedFailsWhenBatchInsertFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry"));
+
+        assertThrows(IllegalStateException.class, () -> seeder.seed());
+    }
+
+    @Test
+    void constructorRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticGraphSeeder(jdbcTemplate, passwordEncoder,
+                0, 10, 3, 5, 0.2, 7L, 500, 1, "secret"));
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticGraphSeeder(jdbcTemplate, passwordEncoder,
+                USERS, 10, 3, 5, 1.5, 7L, 500, 1, "secret"));
+    }
+}
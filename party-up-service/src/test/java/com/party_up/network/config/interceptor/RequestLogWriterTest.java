@@ -0,0 +1,79 @@
+package com.party_up.network.config.interceptor;
+
+import com.party_up.network.model.RequestResponseLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class RequestLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RequestLogWriter requestLogWriter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        requestLogWriter = new RequestLogWriter(jdbcTemplate, meterRegistry, 2, 10,
+                RequestLogWriter.OverflowPolicy.DROP, 0);
+    }
+
+    private RequestResponseLog createLog(String endpoint) {
+        RequestResponseLog log = new RequestResponseLog();
+        log.setMethod("GET");
+        log.setEndpoint(endpoint);
+        log.setRequestBody("x".repeat(RequestLogWriter.MAX_REQUEST_BODY_LENGTH + 10));
+        log.setResponseBody("{}");
+        log.setStatusCode(200);
+        log.setTimestamp(LocalDateTime.now());
+        log.setResponseTimestamp(LocalDateTime.now());
+        log.setExecutionTime(5L);
+        return log;
+    }
+
+    @Test
+    void submitDropsEntriesWhenQueueIsFull() {
+        assertTrue(requestLogWriter.submit(createLog("/api/one")));
+        assertTrue(requestLogWriter.submit(createLog("/api/two")));
+        assertFalse(requestLogWriter.submit(createLog("/api/three")));
+
+        assertEquals(2, requestLogWriter.queueDepth());
+        assertEquals(2.0, meterRegistry.get("audit.log.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("audit.log.dropped").counter().count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queuedEntriesAreWrittenInOneBatch() {
+        requestLogWriter.submit(createLog("/api/one"));
+        requestLogWriter.submit(createLog("/api/two"));
+
+        requestLogWriter.drainRemaining();
+
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), captor.capture());
+        List<Object[]> rows = captor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals("/api/one", rows.get(0)[1]);
+        assertEquals(RequestLogWriter.MAX_REQUEST_BODY_LENGTH, ((String) rows.get(0)[2]).length());
+        assertEquals(0, requestLogWriter.queueDepth());
+        assertEquals(2.0, meterRegistry.get("audit.log.written").counter().count());
+        assertEquals(1, meterRegistry.get("audit.log.batch.write").timer().count());
+        assertEquals(2.0, meterRegistry.get("audit.log.batch.size").summary().totalAmount());
+    }
+}
@@ -0,0 +1,67 @@
+package com.party_up.network.config.log_cached_body;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaptureBufferTest {
+
+    @Test
+    void keepsEverythingUnderTheCap() {
+        CaptureBuffer buffer = new CaptureBuffer(16);
+        byte[] data = "hello\nworld".getBytes(StandardCharsets.UTF_8);
+
+        buffer.write(data, 0, data.length);
+
+        // Newlines must be preserved, unlike the old line-by-line capture
+        assertEquals("hello\nworld", buffer.toString(StandardCharsets.UTF_8));
+        assertFalse(buffer.isTruncated());
+    }
+
+    @Test
+    void keepsOnlyPrefixOverTheCap() {
+        CaptureBuffer buffer = new CaptureBuffer(4);
+        byte[] data = "abcdefgh".getBytes(StandardCharsets.UTF_8);
+
+        buffer.write(data, 0, 3);
+        buffer.write(data, 3, 5);
+        buffer.write('z');
+
+        assertEquals("abcd", buffer.toString(StandardCharsets.UTF_8));
+        assertEquals(4, buffer.size());
+        assertEquals(9, buffer.totalBytes());
+        assertTrue(buffer.isTruncated());
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        CaptureBuffer buffer = new CaptureBuffer(1000);
+        byte[] data = new byte[600];
+
+        buffer.write(data, 0, data.length);
+
+        assertEquals(600, buffer.toByteArray().length);
+    }
+
+    @Test
+    void zeroCapCapturesNothing() {
+        CaptureBuffer buffer = new CaptureBuffer(0);
+
+        buffer.write(new byte[]{1, 2, 3}, 0, 3);
+
+        assertEquals(0, buffer.size());
+        assertEquals(3, buffer.totalBytes());
+    }
+
+    @Test
+    void excludedContentTypesAreNotCaptured() {
+        BodyCaptureConfig config = new BodyCaptureConfig(1024, "image/, application/octet-stream");
+
+        assertFalse(config.shouldCapture("image/png"));
+        assertFalse(config.shouldCapture("Application/Octet-Stream"));
+        assertTrue(config.shouldCapture("application/json;charset=UTF-8"));
+        assertTrue(config.shouldCapture(null));
+    }
+}
@@ -0,0 +1,40 @@
+package com.party_up.network.config.log_cached_body.response;
+
+import com.party_up.network.config.log_cached_body.BodyCaptureConfig;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResponseCaptureFilterTest {
+
+    private final ResponseCaptureFilter filter = new ResponseCaptureFilter(new BodyCaptureConfig(1024, "image/"));
+
+    @Test
+    void writerOutputReachesTheResponseWithoutReadingTheCapture() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/excluded");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Nothing reads the captured body, as on endpoints excluded from logging
+        filter.doFilter(request, response, (req, res) -> res.getWriter().print("hello"));
+
+        assertEquals("hello", response.getContentAsString());
+    }
+
+    @Test
+    void writerOutputIsFlushedWhenTheChainFails() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/failing");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(ServletException.class, () -> filter.doFilter(request, response, (req, res) -> {
+            res.getWriter().print("partial");
+            throw new ServletException("failed");
+        }));
+
+        assertEquals("partial", response.getContentAsString());
+    }
+}
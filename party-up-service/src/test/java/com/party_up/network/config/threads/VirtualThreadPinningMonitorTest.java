@@ -0,0 +1,26 @@
+package com.party_up.network.config.threads;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void recordsEveryPinningInTimer() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(meterRegistry, 20);
+
+        monitor.record(Duration.ofMillis(30), "com.party_up.network.Example.method:10");
+        monitor.record(Duration.ofMillis(50), "com.party_up.network.Example.method:10");
+
+        Timer timer = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+        assertEquals(2, timer.count());
+        assertEquals(80, timer.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+}
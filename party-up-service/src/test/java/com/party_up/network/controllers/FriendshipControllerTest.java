@@ -1,12 +1,20 @@
 package com.party_up.network.controllers;
 
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.VerifiedToken;
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.Friendship;
-import com.party_up.network.model.dto.UserDTO;
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.FriendSuggestionDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.model.enums.RelationshipStatus;
+import com.party_up.network.service.FriendSuggestionService;
+import com.party_up.network.service.FriendshipEventPublisher;
 import com.party_up.network.service.FriendshipService;
 import com.party_up.network.service.UserService;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -15,15 +23,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.mock.web.MockCookie;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 
 
 @SpringBootTest
@@ -40,37 +53,37 @@ public class FriendshipControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private FriendSuggestionService friendSuggestionService;
+
+    @MockBean
+    private FriendshipEventPublisher friendshipEventPublisher;
+
     @MockBean
     private JwtUtil jwtUtil;
 
+    @BeforeEach
+    void setUp() {
+        when(jwtUtil.parseToken(anyString()))
+                .thenReturn(new VerifiedToken("valid.jwt.token", Jwts.claims().subject("testuser").build()));
+    }
+
     /**
-     * Creates a sample UserDTO object with predefined data.
+     * Creates a sample UserSummaryDTO object with predefined data.
      *
-     * @return a fully populated UserDTO object
+     * @return a fully populated UserSummaryDTO object
      */
-    public static UserDTO createUserDTO(Long id, String username, String email) {
-        UserDTO userDTO = new UserDTO();
-        userDTO.setId(id);
-        userDTO.setUsername(username);
-        userDTO.setFirstName("TestFirstName");
-        userDTO.setLastName("TestLastName");
-        userDTO.setEmail(email);
-        userDTO.setStatus("ACTIVE");
-        userDTO.setImage(new byte[]{});
-        userDTO.setBirthDay("1990-01-01");
-        userDTO.setBio("This is a test bio.");
-        userDTO.setCreatedAt("2024-06-01T10:00:00");
-        userDTO.setLastUpdatedAt("2024-06-02T12:00:00");
-        return userDTO;
+    public static UserSummaryDTO createUserDTO(Long id, String username, String email) {
+        return new UserSummaryDTO(id, username, "TestFirstName", "TestLastName", UserSummaryDTO.avatarUrl(id));
     }
 
     /**
-     * Creates a list of sample UserDTO objects for testing.
+     * Creates a list of sample UserSummaryDTO objects for testing.
      *
-     * @return a list of UserDTO objects
+     * @return a list of UserSummaryDTO objects
      */
-    public static List<UserDTO> createUserDTOList() {
-        List<UserDTO> userList = new ArrayList<>();
+    public static List<UserSummaryDTO> createUserDTOList() {
+        List<UserSummaryDTO> userList = new ArrayList<>();
         userList.add(createUserDTO(1L, "user1", "user1@example.com"));
         userList.add(createUserDTO(2L, "user2", "user2@example.com"));
         userList.add(createUserDTO(3L, "user3", "user3@example.com"));
@@ -78,12 +91,12 @@ public class FriendshipControllerTest {
     }
 
     /**
-     * Creates a list of pending UserDTO objects for testing pending friend requests.
+     * Creates a list of pending UserSummaryDTO objects for testing pending friend requests.
      *
-     * @return a list of UserDTO objects with pending status
+     * @return a list of UserSummaryDTO objects with pending status
      */
-    public static List<UserDTO> createPendingUserDTOList() {
-        List<UserDTO> pendingList = new ArrayList<>();
+    public static List<UserSummaryDTO> createPendingUserDTOList() {
+        List<UserSummaryDTO> pendingList = new ArrayList<>();
         pendingList.add(createUserDTO(4L, "pendingUser1", "pending1@example.com"));
         pendingList.add(createUserDTO(5L, "pendingUser2", "pending2@example.com"));
         return pendingList;
@@ -94,8 +107,8 @@ public class FriendshipControllerTest {
      *
      * @return a list of UserDTO objects representing mutual friends
      */
-    public static List<UserDTO> createMutualUserDTOList() {
-        List<UserDTO> mutualList = new ArrayList<>();
+    public static List<UserSummaryDTO> createMutualUserDTOList() {
+        List<UserSummaryDTO> mutualList = new ArrayList<>();
         mutualList.add(createUserDTO(6L, "mutualUser1", "mutual1@example.com"));
         mutualList.add(createUserDTO(7L, "mutualUser2", "mutual2@example.com"));
         return mutualList;
@@ -226,8 +239,8 @@ public class FriendshipControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void getFriends_Success() throws Exception {
-        List<UserDTO> friends = createUserDTOList();
-        when(friendshipService.getFriends(anyLong())).thenReturn(friends);
+        List<UserSummaryDTO> friends = createUserDTOList();
+        when(friendshipService.getFriends(anyLong(), isNull(), eq(50))).thenReturn(new CursorPage<>(friends, "next"));
 
         MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
         authTokenCookie.setHttpOnly(true);
@@ -239,9 +252,12 @@ public class FriendshipControllerTest {
                         .cookie(authTokenCookie)
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(3))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].username").value("user1"));
+                .andExpect(jsonPath("$.items.length()").value(3))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[0].username").value("user1"))
+                .andExpect(jsonPath("$.items[0].avatarUrl").value("/api/users/1/image"))
+                .andExpect(jsonPath("$.items[0].image").doesNotExist())
+                .andExpect(jsonPath("$.next").value("next"));
     }
 
     /**
@@ -250,8 +266,9 @@ public class FriendshipControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void getPendingRequests_Success() throws Exception {
-        List<UserDTO> pendingRequests = createPendingUserDTOList();
-        when(friendshipService.getPendingFriendRequest(anyLong())).thenReturn(pendingRequests);
+        List<UserSummaryDTO> pendingRequests = createPendingUserDTOList();
+        when(friendshipService.getPendingFriendRequest(anyLong(), isNull(), eq(50)))
+                .thenReturn(new CursorPage<>(pendingRequests, null));
 
         MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
         authTokenCookie.setHttpOnly(true);
@@ -263,9 +280,9 @@ public class FriendshipControllerTest {
                         .cookie(authTokenCookie)
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(4))
-                .andExpect(jsonPath("$[0].username").value("pendingUser1"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(4))
+                .andExpect(jsonPath("$.items[0].username").value("pendingUser1"));
     }
 
 
@@ -275,8 +292,8 @@ public class FriendshipControllerTest {
     @Test
     @WithMockUser(username = "testuser")
     void getMutualFriends_Success() throws Exception {
-        List<UserDTO> mutualFriends = createMutualUserDTOList();
-        when(friendshipService.getMutualFriends(1L, 2L)).thenReturn(mutualFriends);
+        List<UserSummaryDTO> mutualFriends = createMutualUserDTOList();
+        when(friendshipService.getMutualFriends(1L, 2L, "abc", 2)).thenReturn(new CursorPage<>(mutualFriends, null));
 
         MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
         authTokenCookie.setHttpOnly(true);
@@ -286,12 +303,62 @@ public class FriendshipControllerTest {
         mockMvc.perform(get("/api/friendships/mutual-friends")
                         .param("userOneId", "1")
                         .param("userTwoId", "2")
+                        .param("cursor", "abc")
+                        .param("limit", "2")
                         .cookie(authTokenCookie)
                         .with(csrf()))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(6))
-                .andExpect(jsonPath("$[0].username").value("mutualUser1"));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(6))
+                .andExpect(jsonPath("$.items[0].username").value("mutualUser1"));
+    }
+
+    /**
+     * Test for fetching the mutual friend count (Positive).
+     */
+    @Test
+    @WithMockUser(username = "testuser")
+    void getMutualFriendCount_Success() throws Exception {
+        when(friendshipService.getMutualFriendCount(1L, 2L)).thenReturn(2L);
+
+        MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
+        authTokenCookie.setHttpOnly(true);
+        authTokenCookie.setSecure(false);
+        authTokenCookie.setPath("/");
+
+        mockMvc.perform(get("/api/friendships/mutual-friends/count")
+                        .param("userOneId", "1")
+                        .param("userTwoId", "2")
+                        .cookie(authTokenCookie)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
+    /**
+     * Test for fetching relationship statuses of several users at once (Positive).
+     */
+    @Test
+    @WithMockUser(username = "testuser")
+    void getRelationshipStatuses_Success() throws Exception {
+        Map<Long, RelationshipStatus> statuses = new LinkedHashMap<>();
+        statuses.put(2L, RelationshipStatus.FRIENDS);
+        statuses.put(3L, RelationshipStatus.REQUEST_RECEIVED);
+        when(friendshipService.getRelationshipStatuses(1L, List.of(2L, 3L))).thenReturn(statuses);
+
+        MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
+        authTokenCookie.setHttpOnly(true);
+        authTokenCookie.setSecure(false);
+        authTokenCookie.setPath("/");
+
+        mockMvc.perform(get("/api/friendships/relationship-statuses")
+                        .param("userId", "1")
+                        .param("targetIds", "2,3")
+                        .cookie(authTokenCookie)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.2").value("FRIENDS"))
+                .andExpect(jsonPath("$.3").value("REQUEST_RECEIVED"));
     }
 
     /**
@@ -316,4 +383,56 @@ public class FriendshipControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Friendship not found"));
     }
+
+    /**
+     * Test for fetching friend suggestions (Positive).
+     */
+    @Test
+    @WithMockUser(username = "testuser")
+    void getSuggestions_Success() throws Exception {
+        List<FriendSuggestionDTO> suggestions = List.of(
+                new FriendSuggestionDTO(7L, "suggested1", "First", "Last", 3),
+                new FriendSuggestionDTO(8L, "suggested2", "First", "Last", 1));
+        when(friendSuggestionService.getSuggestions(1L, 10)).thenReturn(suggestions);
+
+        MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
+        authTokenCookie.setHttpOnly(true);
+        authTokenCookie.setSecure(false);
+        authTokenCookie.setPath("/");
+
+        mockMvc.perform(get("/api/friendships/suggestions")
+                        .param("userId", "1")
+                        .param("limit", "10")
+                        .cookie(authTokenCookie)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[0].mutualFriendCount").value(3));
+    }
+
+    /**
+     * Test for the event stream: the async dispatch completing the stream is not rejected (Positive).
+     */
+    @Test
+    @WithMockUser(username = "testuser")
+    void streamEvents_AsyncDispatchIsPermitted() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(friendshipEventPublisher.subscribe(1L)).thenReturn(emitter);
+
+        MockCookie authTokenCookie = new MockCookie("authToken", "valid.jwt.token");
+        authTokenCookie.setHttpOnly(true);
+        authTokenCookie.setSecure(false);
+        authTokenCookie.setPath("/");
+
+        MvcResult result = mockMvc.perform(get("/api/friendships/events")
+                        .param("userId", "1")
+                        .cookie(authTokenCookie))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
 }
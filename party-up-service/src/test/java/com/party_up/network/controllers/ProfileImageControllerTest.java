@@ -0,0 +1,157 @@
+package com.party_up.network.controllers;
+
+import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.VerifiedToken;
+import com.party_up.network.exceptions.ResourceNotFoundException;
+import com.party_up.network.service.ProfileImageService;
+import com.party_up.network.service.image.ImageResource;
+import com.party_up.network.service.image.StoredImage;
+import io.jsonwebtoken.Jwts;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ProfileImageControllerTest {
+
+    private static final byte[] IMAGE = "0123456789".getBytes();
+
+    private static final String ETAG = "\"" + "a".repeat(64) + "\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProfileImageService profileImageService;
+
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private final Cookie authTokenCookie = new Cookie("authToken", "valid.jwt.token");
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(jwtUtil.parseToken(anyString()))
+                .thenReturn(new VerifiedToken("valid.jwt.token", Jwts.claims().subject("testuser").build()));
+
+        ImageResource resource = new ImageResource() {
+            @Override
+            public long length() {
+                return IMAGE.length;
+            }
+
+            @Override
+            public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                target.write(ByteBuffer.wrap(IMAGE, (int) position, (int) count));
+            }
+        };
+        when(profileImageService.findStoredImage(1L, null))
+                .thenReturn(Optional.of(new ProfileImageService.ProfileImage(resource, "image/png", ETAG)));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_ServesStoredImageWithEtag() throws Exception {
+        mockMvc.perform(get("/api/users/1/image").cookie(authTokenCookie))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_NotModifiedWhenEtagMatches() throws Exception {
+        mockMvc.perform(get("/api/users/1/image")
+                        .header("If-None-Match", ETAG)
+                        .cookie(authTokenCookie))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_ServesRange() throws Exception {
+        mockMvc.perform(get("/api/users/1/image")
+                        .header("Range", "bytes=2-5")
+                        .cookie(authTokenCookie))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_RangeNotSatisfiable() throws Exception {
+        mockMvc.perform(get("/api/users/1/image")
+                        .header("Range", "bytes=20-")
+                        .cookie(authTokenCookie))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string("Content-Range", "bytes */10"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_FallsBackToLegacyImage() throws Exception {
+        when(profileImageService.findStoredImage(2L, null)).thenReturn(Optional.empty());
+        when(profileImageService.getImageMetadata(2L))
+                .thenReturn(new ProfileImageService.ImageMetadata(IMAGE.length, "image/jpeg"));
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write(IMAGE);
+            return null;
+        }).when(profileImageService).writeImage(eq(2L), any(OutputStream.class));
+
+        mockMvc.perform(get("/api/users/2/image").cookie(authTokenCookie))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(IMAGE));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void getProfileImage_NotFound() throws Exception {
+        when(profileImageService.findStoredImage(3L, null))
+                .thenThrow(new ResourceNotFoundException("User not found with ID: 3"));
+
+        mockMvc.perform(get("/api/users/3/image").cookie(authTokenCookie))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void uploadProfileImage_Success() throws Exception {
+        when(profileImageService.upload(eq(1L), any(InputStream.class)))
+                .thenReturn(new StoredImage("a".repeat(64), "image/png", IMAGE.length));
+
+        mockMvc.perform(put("/api/users/1/image")
+                        .contentType("image/png")
+                        .content(IMAGE)
+                        .cookie(authTokenCookie)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string("Profile image uploaded successfully."));
+    }
+}
@@ -2,12 +2,18 @@ package com.party_up.network.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.VerifiedToken;
+import com.party_up.network.exceptions.ServiceBusyException;
 import com.party_up.network.model.User;
+import com.party_up.network.model.dto.CursorPage;
 import com.party_up.network.model.dto.LoginRequestDTO;
 import com.party_up.network.model.dto.LoginSuccessResponseDTO;
 import com.party_up.network.model.dto.UserDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
 import com.party_up.network.model.enums.AccountStatus;
+import com.party_up.network.service.UserSearchService;
 import com.party_up.network.service.UserService;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.http.Cookie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,12 +25,15 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.verify;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -39,6 +48,9 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private UserSearchService userSearchService;
+
     @MockBean
     private JwtUtil jwtUtil;
 
@@ -73,6 +85,8 @@ public class UserControllerTest {
 
         when(userService.login(any(LoginRequestDTO.class))).thenReturn(createSuccessfulLoginResponse(mockUser));
         when(jwtUtil.validateToken(anyString(), any())).thenReturn(true);
+        when(jwtUtil.parseToken(anyString()))
+                .thenReturn(new VerifiedToken("valid.jwt.token", Jwts.claims().subject("username").build()));
 
         doNothing().when(userService).logout(any(String.class));
     }
@@ -113,6 +127,18 @@ public class UserControllerTest {
                 .andExpect(content().string("Invalid credentials"));
     }
 
+    @Test
+    void login_ServiceBusy() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class)))
+                .thenThrow(new ServiceBusyException("Too many concurrent logins, please retry"));
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
     @Test
     @WithMockUser(username = "testuser")
     void logout_Successful() throws Exception {
@@ -187,4 +213,31 @@ public class UserControllerTest {
                 .andExpect(status().isInternalServerError())
                 .andExpect(content().string("Error creating user"));
     }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void searchUsers_Success() throws Exception {
+        UserSummaryDTO match = new UserSummaryDTO(2L, "jane_doe", "Jane", "Doe", false);
+        when(userSearchService.search("jane", null, 20)).thenReturn(new CursorPage<>(List.of(match), "next"));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("q", "jane")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("jane_doe"))
+                .andExpect(jsonPath("$.next").value("next"));
+    }
+
+    @Test
+    @WithMockUser(username = "testuser")
+    void searchUsers_InvalidLimit() throws Exception {
+        when(userSearchService.search(anyString(), any(), eq(500)))
+                .thenThrow(new IllegalArgumentException("Limit must be between 1 and 50"));
+
+        mockMvc.perform(get("/api/users/search")
+                        .param("q", "jane")
+                        .param("limit", "500")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+    }
 }
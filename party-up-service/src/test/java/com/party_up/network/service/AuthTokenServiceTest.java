@@ -1,6 +1,9 @@
 package com.party_up.network.service;
 
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.SessionCache;
+import com.party_up.network.config.authentication.TokenDenyList;
+import com.party_up.network.config.authentication.TokenHasher;
 import com.party_up.network.exceptions.DatabaseException;
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.AuthToken;
@@ -12,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataAccessException;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -29,12 +33,18 @@ public class AuthTokenServiceTest {
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private SessionCache sessionCache;
+
+    @Mock
+    private TokenDenyList tokenDenyList;
+
     private AuthTokenService authTokenService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        authTokenService = new AuthTokenService(authTokenRepository, jwtUtil);
+        authTokenService = new AuthTokenService(authTokenRepository, jwtUtil, sessionCache, tokenDenyList);
     }
 
 
@@ -48,7 +58,7 @@ public class AuthTokenServiceTest {
         LocalDateTime expiresAt = now.plusMinutes(30);
 
         AuthToken authToken = new AuthToken();
-        authToken.setToken(token);
+        authToken.setTokenHash(TokenHasher.hash(token));
         authToken.setUser(user);
         authToken.setCreatedAt(now);
         authToken.setLastUsedAt(now);
@@ -59,11 +69,12 @@ public class AuthTokenServiceTest {
         AuthToken createdAuthToken = authTokenService.createAuthToken(token, user);
 
         assertNotNull(createdAuthToken, "AuthToken should not be null after save");
-        assertEquals(token, createdAuthToken.getToken(), "Token should match input token");
+        assertEquals(TokenHasher.hash(token), createdAuthToken.getTokenHash(), "Token hash should match input token");
         assertEquals(user, createdAuthToken.getUser(), "User should match input user");
         assertEquals(expiresAt.getMinute(), createdAuthToken.getExpiresAt().getMinute(), "Expires at time should be 30 minutes later");
 
-        verify(authTokenRepository, times(1)).save(any(AuthToken.class));
+        verify(authTokenRepository, times(1))
+                .save(argThat(saved -> TokenHasher.hash(token).equals(saved.getTokenHash())));
     }
 
     @Test
@@ -87,7 +98,10 @@ public class AuthTokenServiceTest {
         user.setEmail("test@example.com");
 
         AuthToken authToken = new AuthToken();
+        authToken.setTokenHash(TokenHasher.hash("sampleToken123"));
+        authToken.setJti("jti-1");
         authToken.setUser(user);
+        authToken.setCreatedAt(LocalDateTime.now());
         authToken.setExpiresAt(LocalDateTime.now().plusMinutes(30));
 
         when(authTokenRepository.save(any(AuthToken.class))).thenReturn(authToken);
@@ -98,6 +112,9 @@ public class AuthTokenServiceTest {
         assertEquals(LocalDateTime.now().getMinute(), authToken.getExpiresAt().getMinute());
 
         verify(authTokenRepository, times(1)).save(authToken);
+        verify(sessionCache, times(1)).invalidateHash(TokenHasher.hash("sampleToken123"));
+        verify(tokenDenyList, times(1)).revoke(eq("jti-1"), any(Instant.class));
+        assertNotNull(authToken.getRevokedAt());
     }
 
     @Test
@@ -125,41 +142,41 @@ public class AuthTokenServiceTest {
     void findByToken_Success() {
         String token = "sampleToken123";
         AuthToken authToken = new AuthToken();
-        authToken.setToken(token);
+        authToken.setTokenHash(TokenHasher.hash(token));
 
-        when(authTokenRepository.findByToken(token)).thenReturn(Optional.of(authToken));
+        when(authTokenRepository.findByTokenHash(TokenHasher.hash(token))).thenReturn(Optional.of(authToken));
 
         AuthToken foundAuthToken = authTokenService.findByToken(token);
 
         assertNotNull(foundAuthToken);
-        assertEquals(token, foundAuthToken.getToken());
+        assertEquals(TokenHasher.hash(token), foundAuthToken.getTokenHash());
 
-        verify(authTokenRepository, times(1)).findByToken(token);
+        verify(authTokenRepository, times(1)).findByTokenHash(TokenHasher.hash(token));
     }
 
     @Test
     void findByToken_TokenNotFound() {
         String token = "nonExistentToken";
 
-        when(authTokenRepository.findByToken(token)).thenReturn(Optional.empty());
+        when(authTokenRepository.findByTokenHash(TokenHasher.hash(token))).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> authTokenService.findByToken(token));
-        assertTrue(exception.getMessage().contains("Token not found: " + token));
+        assertEquals("Token not found", exception.getMessage());
 
-        verify(authTokenRepository, times(1)).findByToken(token);
+        verify(authTokenRepository, times(1)).findByTokenHash(TokenHasher.hash(token));
     }
 
     @Test
     void findByToken_DatabaseException() {
         String token = "sampleToken123";
 
-        when(authTokenRepository.findByToken(anyString())).thenThrow(new DataAccessException("Database error") {
+        when(authTokenRepository.findByTokenHash(anyString())).thenThrow(new DataAccessException("Database error") {
         });
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> authTokenService.findByToken(token));
         assertTrue(exception.getMessage().contains("Database error"));
 
-        verify(authTokenRepository, times(1)).findByToken(token);
+        verify(authTokenRepository, times(1)).findByTokenHash(TokenHasher.hash(token));
     }
 
 }
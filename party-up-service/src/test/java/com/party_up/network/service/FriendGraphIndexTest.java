@@ -0,0 +1,146 @@
+package com.party_up.network.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FriendGraphIndex
+ */
+class FriendGraphIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private FriendGraphIndex friendGraphIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        friendGraphIndex = new FriendGraphIndex(jdbcTemplate, true);
+    }
+
+    private void loadEdges(long[][] edges) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (long[] edge : edges) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong(1)).thenReturn(edge[0]);
+                when(resultSet.getLong(2)).thenReturn(edge[1]);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        friendGraphIndex.load();
+    }
+
+    @Test
+    void loadBuildsSortedAdjacencyLists() {
+        assertFalse(friendGraphIndex.isReady());
+
+        loadEdges(new long[][]{{1, 5}, {3, 1}, {1, 2}, {2, 3}});
+
+        assertTrue(friendGraphIndex.isReady());
+        assertArrayEquals(new long[]{2, 3, 5}, friendGraphIndex.getFriendIds(1));
+        assertArrayEquals(new long[]{1, 3}, friendGraphIndex.getFriendIds(2));
+        assertArrayEquals(new long[0], friendGraphIndex.getFriendIds(99));
+        assertTrue(friendGraphIndex.areFriends(3, 1));
+        assertFalse(friendGraphIndex.areFriends(5, 2));
+    }
+
+    @Test
+    void mutualFriendsAreIntersectionOfFriendLists() {
+        loadEdges(new long[][]{{1, 3}, {1, 4}, {1, 5}, {2, 4}, {2, 5}, {2, 6}});
+
+        assertArrayEquals(new long[]{4, 5}, friendGraphIndex.getMutualFriendIds(1, 2));
+    }
+
+    @Test
+    void addAndRemoveKeepListsSorted() {
+        loadEdges(new long[][]{{1, 2}, {1, 6}});
+
+        friendGraphIndex.addFriendship(4, 1);
+        assertArrayEquals(new long[]{2, 4, 6}, friendGraphIndex.getFriendIds(1));
+        assertArrayEquals(new long[]{1}, friendGraphIndex.getFriendIds(4));
+
+        friendGraphIndex.removeFriendship(1, 2);
+        assertArrayEquals(new long[]{4, 6}, friendGraphIndex.getFriendIds(1));
+        assertArrayEquals(new long[0], friendGraphIndex.getFriendIds(2));
+    }
+
+    @Test
+    void updatesDuringReloadAreKeptInTheNewLists() {
+        loadEdges(new long[][]{{1, 2}});
+
+        // The reload scan does not see 1-3 yet; the concurrent update has to survive the swap
+        doAnswer(invocation -> {
+            friendGraphIndex.addFriendship(1, 3);
+            friendGraphIndex.removeFriendship(1, 2);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getLong(1)).thenReturn(1L);
+            when(resultSet.getLong(2)).thenReturn(2L);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        friendGraphIndex.load();
+
+        assertArrayEquals(new long[]{3}, friendGraphIndex.getFriendIds(1));
+        assertArrayEquals(new long[0], friendGraphIndex.getFriendIds(2));
+    }
+
+    @Test
+    void failedScanLeavesIndexNotReadyAndRetryable() {
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        friendGraphIndex.load();
+        friendGraphIndex.addFriendship(1, 2);
+
+        assertFalse(friendGraphIndex.isReady());
+
+        loadEdges(new long[][]{{1, 3}});
+        friendGraphIndex.addFriendship(1, 4);
+
+        assertTrue(friendGraphIndex.isReady());
+        assertArrayEquals(new long[]{3, 4}, friendGraphIndex.getFriendIds(1));
+    }
+
+    @Test
+    void failedReloadKeepsPreviousListsWithUpdatesMadeDuringTheScan() {
+        loadEdges(new long[][]{{1, 2}});
+        doAnswer(invocation -> {
+            friendGraphIndex.addFriendship(1, 3);
+            throw new DataAccessResourceFailureException("connection lost");
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        friendGraphIndex.load();
+        friendGraphIndex.addFriendship(1, 4);
+
+        assertTrue(friendGraphIndex.isReady());
+        assertArrayEquals(new long[]{2, 3, 4}, friendGraphIndex.getFriendIds(1));
+    }
+
+    @Test
+    void disabledIndexIgnoresUpdates() {
+        FriendGraphIndex disabled = new FriendGraphIndex(jdbcTemplate, false);
+
+        disabled.loadOnStartup();
+        disabled.addFriendship(1, 2);
+
+        assertFalse(disabled.isReady());
+        assertArrayEquals(new long[0], disabled.getFriendIds(1));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
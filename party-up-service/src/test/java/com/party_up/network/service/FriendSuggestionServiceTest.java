@@ -0,0 +1,123 @@
+package com.party_up.network.service;
+
+import com.party_up.network.model.dto.FriendSuggestionDTO;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.repository.FriendshipRepository;
+import com.party_up.network.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FriendSuggestionService
+ */
+class FriendSuggestionServiceTest {
+
+    @Mock
+    private FriendshipRepository friendshipRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FriendGraphIndex friendGraphIndex;
+
+    private FriendSuggestionService friendSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        friendSuggestionService = new FriendSuggestionService(friendshipRepository, userRepository, friendGraphIndex,
+                100, 600, 10);
+
+        // User 1 is friends with 2 and 3, has a pending request with 6
+        when(friendshipRepository.findFriendIdsByUserId(1L)).thenReturn(List.of(2L, 3L));
+        when(friendshipRepository.findPendingRequestsForUser(1L)).thenReturn(List.of(6L));
+
+        List<Object[]> pairs = new ArrayList<>();
+        pairs.add(new Object[]{1L, 2L});
+        pairs.add(new Object[]{1L, 3L});
+        pairs.add(new Object[]{2L, 3L}); // already friends with both
+        pairs.add(new Object[]{2L, 4L});
+        pairs.add(new Object[]{5L, 3L});
+        pairs.add(new Object[]{4L, 3L});
+        pairs.add(new Object[]{2L, 6L}); // pending
+        when(friendshipRepository.findAcceptedFriendshipPairs(anyCollection())).thenReturn(pairs);
+    }
+
+    private UserSummaryDTO createUser(Long id) {
+        return new UserSummaryDTO(id, "user" + id, null, null, (String) null);
+    }
+
+    @Test
+    void computeCandidatesRanksByMutualFriendCount() {
+        List<FriendSuggestionService.Candidate> candidates = friendSuggestionService.computeCandidates(1L);
+
+        assertEquals(2, candidates.size());
+        assertEquals(4L, candidates.get(0).userId());
+        assertEquals(2, candidates.get(0).mutualFriendCount());
+        assertEquals(5L, candidates.get(1).userId());
+        assertEquals(1, candidates.get(1).mutualFriendCount());
+    }
+
+    @Test
+    void getSuggestionsServesFromCacheUntilInvalidated() {
+        when(userRepository.findSummariesByIdIn(anyList())).thenReturn(List.of(createUser(5L), createUser(4L)));
+
+        List<FriendSuggestionDTO> first = friendSuggestionService.getSuggestions(1L, 10);
+        friendSuggestionService.getSuggestions(1L, 10);
+
+        assertEquals(List.of(4L, 5L), first.stream().map(FriendSuggestionDTO::getId).toList());
+        verify(friendshipRepository, times(1)).findAcceptedFriendshipPairs(anyCollection());
+
+        friendSuggestionService.invalidate(1L, 2L);
+        friendSuggestionService.getSuggestions(1L, 10);
+        verify(friendshipRepository, times(2)).findAcceptedFriendshipPairs(anyCollection());
+    }
+
+    @Test
+    void getSuggestionsWithoutFriendsIsEmpty() {
+        when(friendshipRepository.findFriendIdsByUserId(9L)).thenReturn(List.of());
+
+        assertTrue(friendSuggestionService.getSuggestions(9L, 10).isEmpty());
+        verify(userRepository, never()).findSummariesByIdIn(anyList());
+    }
+
+    @Test
+    void getSuggestionsRejectsNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class, () -> friendSuggestionService.getSuggestions(1L, 0));
+    }
+
+    @Test
+    void getSuggestionsRejectsLimitAboveMaxCandidates() {
+        assertThrows(IllegalArgumentException.class, () -> friendSuggestionService.getSuggestions(1L, 11));
+        verifyNoInteractions(friendshipRepository);
+    }
+
+    @Test
+    void computeCandidatesUsesGraphIndexWhenReady() {
+        when(friendGraphIndex.isReady()).thenReturn(true);
+        when(friendGraphIndex.getFriendIds(1L)).thenReturn(new long[]{2L, 3L});
+        when(friendGraphIndex.getFriendIds(2L)).thenReturn(new long[]{1L, 3L, 4L, 6L});
+        when(friendGraphIndex.getFriendIds(3L)).thenReturn(new long[]{1L, 2L, 4L, 5L});
+
+        List<FriendSuggestionService.Candidate> candidates = friendSuggestionService.computeCandidates(1L);
+
+        assertEquals(2, candidates.size());
+        assertEquals(4L, candidates.get(0).userId());
+        assertEquals(2, candidates.get(0).mutualFriendCount());
+        assertEquals(5L, candidates.get(1).userId());
+        verify(friendshipRepository, never()).findFriendIdsByUserId(anyLong());
+        verify(friendshipRepository, never()).findAcceptedFriendshipPairs(anyCollection());
+    }
+}
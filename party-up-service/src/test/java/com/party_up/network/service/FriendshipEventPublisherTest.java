@@ -0,0 +1,195 @@
+package com.party_up.network.service;
+
+import com.party_up.network.model.dto.FriendshipEventDTO;
+import com.party_up.network.model.enums.FriendshipEventType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FriendshipEventPublisherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private FriendshipEventPublisher publisher;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new FriendshipEventPublisher(meterRegistry, 4, 60000, 2, 1) {
+            @Override
+            SseEmitter createEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.release.countDown());
+        publisher.shutdown();
+    }
+
+    /**
+     * Emitter recording what the publisher sends, optionally blocking like a client that does not read.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> sent = new LinkedBlockingQueue<>();
+
+        private final CountDownLatch sending = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private volatile boolean blocking;
+
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            sending.countDown();
+            if (blocking) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        private String text(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            StringBuilder text = new StringBuilder();
+            event.forEach(part -> text.append(part.getData()));
+            return text.toString();
+        }
+    }
+
+    @Test
+    void subscribeRegistersConnection() {
+        SseEmitter emitter = publisher.subscribe(1L);
+
+        assertNotNull(emitter);
+        assertEquals(1, publisher.connectionCount());
+        assertEquals(1, meterRegistry.get("friendship.events.connections").gauge().value());
+    }
+
+    @Test
+    void closesOldestConnectionBeyondLimit() {
+        publisher.subscribe(1L);
+        publisher.subscribe(1L);
+        publisher.subscribe(1L);
+        publisher.subscribe(2L);
+
+        assertEquals(3, publisher.connectionCount());
+    }
+
+    @Test
+    void evictsTheOldestConnectionOfTheUser() {
+        publisher.subscribe(1L);
+        publisher.subscribe(1L);
+        publisher.subscribe(1L);
+
+        assertEquals(2, publisher.connectionCount());
+        assertTrue(emitters.get(0).completed);
+        assertFalse(emitters.get(1).completed);
+        assertFalse(emitters.get(2).completed);
+    }
+
+    @Test
+    void publishToDisconnectedUserIsIgnored() {
+        publisher.subscribe(1L);
+
+        assertDoesNotThrow(() -> publisher.publish(2L, FriendshipEventType.REQUEST_RECEIVED, 1L));
+        assertDoesNotThrow(() -> publisher.publish(1L, FriendshipEventType.REQUEST_ACCEPTED, 2L));
+        assertEquals(1, publisher.connectionCount());
+    }
+
+    @Test
+    void publishedEventReachesTheEmitter() throws Exception {
+        publisher.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+
+        publisher.publish(1L, FriendshipEventType.REQUEST_RECEIVED, 2L);
+
+        Set<ResponseBodyEmitter.DataWithMediaType> event = emitter.sent.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertTrue(emitter.text(event).startsWith("event:friendship\n"));
+        FriendshipEventDTO data = event.stream()
+                .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                .filter(FriendshipEventDTO.class::isInstance)
+                .map(FriendshipEventDTO.class::cast)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(FriendshipEventType.REQUEST_RECEIVED, data.getType());
+        assertEquals(2L, data.getUserId());
+    }
+
+    @Test
+    void fullBufferClosesTheStreamAndCountsTheOverflow() throws Exception {
+        publisher.subscribe(1L);
+        RecordingEmitter emitter = emitters.get(0);
+        emitter.blocking = true;
+
+        // The first event is taken by the sender, which then blocks on the client
+        publisher.publish(1L, FriendshipEventType.REQUEST_RECEIVED, 2L);
+        assertTrue(emitter.sending.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 4; i++) {
+            publisher.publish(1L, FriendshipEventType.REQUEST_RECEIVED, 2L);
+        }
+        assertEquals(1, publisher.connectionCount());
+        assertEquals(0, meterRegistry.get("friendship.events.overflows").counter().count());
+
+        publisher.publish(1L, FriendshipEventType.REQUEST_RECEIVED, 2L);
+
+        assertEquals(0, publisher.connectionCount());
+        assertTrue(emitter.completed);
+        assertEquals(1, meterRegistry.get("friendship.events.overflows").counter().count());
+    }
+
+    @Test
+    void heartbeatsAreSentToEveryStream() throws Exception {
+        publisher.subscribe(1L);
+        publisher.subscribe(2L);
+
+        publisher.sendHeartbeats();
+
+        for (RecordingEmitter emitter : emitters) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = emitter.sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertEquals(":heartbeat\n\n", emitter.text(event));
+        }
+    }
+
+    @Test
+    void shutdownClosesAllConnections() {
+        publisher.subscribe(1L);
+        publisher.subscribe(2L);
+
+        publisher.shutdown();
+
+        assertEquals(0, publisher.connectionCount());
+    }
+}
@@ -2,9 +2,11 @@ package com.party_up.network.service;
 
 import com.party_up.network.model.Friendship;
 import com.party_up.network.model.User;
-import com.party_up.network.model.dto.UserDTO;
-import com.party_up.network.model.dto.mappers.UserMapper;
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.model.enums.FriendshipEventType;
 import com.party_up.network.model.enums.FriendshipStatus;
+import com.party_up.network.model.enums.RelationshipStatus;
 import com.party_up.network.repository.FriendshipRepository;
 import com.party_up.network.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -17,10 +19,15 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -42,7 +49,13 @@ class FriendshipServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private UserMapper userMapper;
+    private FriendSuggestionService friendSuggestionService;
+
+    @Mock
+    private FriendGraphIndex friendGraphIndex;
+
+    @Mock
+    private FriendshipEventPublisher friendshipEventPublisher;
 
     private User userOne;
     private User userTwo;
@@ -66,7 +79,7 @@ class FriendshipServiceTest {
 
     @AfterEach
     void tearDown() {
-        Mockito.reset(friendshipRepository, userService, userRepository, userMapper);
+        Mockito.reset(friendshipRepository, userService, userRepository, friendSuggestionService);
     }
 
     @Test
@@ -81,6 +94,21 @@ class FriendshipServiceTest {
         assertNotNull(result);
         assertEquals(FriendshipStatus.PENDING, result.getStatus());
         verify(friendshipRepository).save(any(Friendship.class));
+        verify(friendshipEventPublisher).publish(2L, FriendshipEventType.REQUEST_RECEIVED, 1L);
+    }
+
+    @Test
+    void sendFriendshipRequest_StoresPairInCanonicalOrder() {
+        when(userService.getUserById(1L)).thenReturn(userOne);
+        when(userService.getUserById(2L)).thenReturn(userTwo);
+        when(friendshipRepository.findFriendshipByUsers(userTwo, userOne)).thenReturn(Optional.empty());
+        when(friendshipRepository.save(any(Friendship.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Friendship result = friendshipService.sendFriendshipRequest(2L, 1L);
+
+        assertEquals(userOne, result.getUserOne());
+        assertEquals(userTwo, result.getUserTwo());
+        assertEquals(userTwo, result.getRequester());
     }
 
     @Test
@@ -124,6 +152,9 @@ class FriendshipServiceTest {
         assertEquals(FriendshipStatus.ACCEPTED, result.getStatus());
         verify(friendshipRepository).save(friendship);
         verify(friendshipRepository).findFriendshipByUsers(userOne, userTwo);
+        verify(friendGraphIndex).addFriendship(1L, 2L);
+        verify(friendshipEventPublisher).publish(1L, FriendshipEventType.REQUEST_ACCEPTED, 2L);
+        verify(friendSuggestionService).invalidate(1L, 2L);
     }
 
     @Test
@@ -166,18 +197,138 @@ class FriendshipServiceTest {
         assertEquals("Friendship is not in PENDING state, so can't be rejected", exception.getMessage());
     }
 
+    private UserSummaryDTO summary(Long id) {
+        return new UserSummaryDTO(id, "user" + id, "First", "Last", (String) null);
+    }
+
     @Test
     void getFriends_Success() {
-        List<Long> friendIds = List.of(2L);
-        List<User> friends = List.of(userTwo);
-        List<UserDTO> friendDTOs = List.of(new UserDTO());
+        when(friendshipRepository.findFriendIdsPage(1L, 0L, 11)).thenReturn(List.of(2L));
+        when(userRepository.findSummariesByIdIn(List.of(2L))).thenReturn(List.of(summary(2L)));
+
+        CursorPage<UserSummaryDTO> result = friendshipService.getFriends(1L, null, 10);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNext());
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getFriends_ReturnsCursorWhenMoreResultsExist() {
+        when(friendshipRepository.findFriendIdsPage(1L, 0L, 3)).thenReturn(List.of(2L, 3L, 4L));
+        when(userRepository.findSummariesByIdIn(List.of(2L, 3L))).thenReturn(List.of(summary(3L), summary(2L)));
+
+        CursorPage<UserSummaryDTO> first = friendshipService.getFriends(1L, null, 2);
+
+        assertEquals(List.of(2L, 3L), first.getItems().stream().map(UserSummaryDTO::getId).toList());
+        assertNotNull(first.getNext());
+
+        when(friendshipRepository.findFriendIdsPage(1L, 3L, 3)).thenReturn(List.of());
+        CursorPage<UserSummaryDTO> second = friendshipService.getFriends(1L, first.getNext(), 2);
+
+        assertTrue(second.getItems().isEmpty());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    void getFriends_InvalidCursorOrLimit() {
+        assertThrows(IllegalArgumentException.class, () -> friendshipService.getFriends(1L, "not-a-cursor", 10));
+        assertThrows(IllegalArgumentException.class, () -> friendshipService.getFriends(1L, null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> friendshipService.getFriends(1L, null, FriendshipService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getFriends_FromGraphIndex() {
+        when(friendGraphIndex.isReady()).thenReturn(true);
+        when(friendGraphIndex.getFriendIds(1L)).thenReturn(new long[]{2L});
+        when(userRepository.findSummariesByIdIn(List.of(2L))).thenReturn(List.of(summary(2L)));
 
-        when(friendshipRepository.findFriendIdsByUserId(1L)).thenReturn(friendIds);
-        when(userRepository.findAllById(friendIds)).thenReturn(friends);
-        when(userMapper.toDtoList(friends)).thenReturn(friendDTOs);
+        CursorPage<UserSummaryDTO> result = friendshipService.getFriends(1L, null, 10);
 
-        List<UserDTO> result = friendshipService.getFriends(1L);
+        assertEquals(1, result.getItems().size());
+        verify(friendshipRepository, never()).findFriendIdsPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getMutualFriends_FromGraphIndex() {
+        when(friendGraphIndex.isReady()).thenReturn(true);
+        when(friendGraphIndex.getMutualFriendIds(1L, 2L)).thenReturn(new long[]{3L, 4L, 5L});
+        when(userRepository.findSummariesByIdIn(List.of(4L))).thenReturn(List.of(summary(4L)));
+
+        CursorPage<UserSummaryDTO> page = friendshipService.getMutualFriends(1L, 2L, KeysetCursor.encode(3L), 1);
+
+        assertEquals(4L, page.getItems().get(0).getId());
+        verify(friendshipRepository, never()).findMutualFriendIdsPage(any(), any(), any(), anyInt());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void getPendingFriendRequest_Success() {
+        when(friendshipRepository.findPendingRequestIdsPage(1L, 0L, 51)).thenReturn(List.of(2L));
+        when(userRepository.findSummariesByIdIn(List.of(2L))).thenReturn(List.of(summary(2L)));
+
+        CursorPage<UserSummaryDTO> result = friendshipService.getPendingFriendRequest(1L, null, 50);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNext());
+    }
+
+    @Test
+    void getMutualFriendCount_FromRepository() {
+        when(friendshipRepository.countMutualFriends(1L, 2L)).thenReturn(3L);
+
+        assertEquals(3L, friendshipService.getMutualFriendCount(1L, 2L));
+        verify(friendshipRepository, never()).findMutualFriendIds(any(), any());
+    }
+
+    @Test
+    void getMutualFriendCount_FromGraphIndex() {
+        when(friendGraphIndex.isReady()).thenReturn(true);
+        when(friendGraphIndex.getMutualFriendIds(1L, 2L)).thenReturn(new long[]{3L, 4L});
+
+        assertEquals(2L, friendshipService.getMutualFriendCount(1L, 2L));
+        verify(friendshipRepository, never()).countMutualFriends(any(), any());
+    }
+
+    @Test
+    void getRelationshipStatuses_FromRepository() {
+        List<Object[]> rows = List.of(
+                new Object[]{2L, FriendshipStatus.ACCEPTED, 1L},
+                new Object[]{3L, FriendshipStatus.PENDING, 1L},
+                new Object[]{4L, FriendshipStatus.PENDING, 4L});
+        when(friendshipRepository.findRelationships(1L, Set.of(2L, 3L, 4L, 5L),
+                List.of(FriendshipStatus.PENDING, FriendshipStatus.ACCEPTED))).thenReturn(rows);
+
+        Map<Long, RelationshipStatus> statuses =
+                friendshipService.getRelationshipStatuses(1L, List.of(2L, 3L, 4L, 5L, 2L));
+
+        assertEquals(List.of(2L, 3L, 4L, 5L), List.copyOf(statuses.keySet()));
+        assertEquals(RelationshipStatus.FRIENDS, statuses.get(2L));
+        assertEquals(RelationshipStatus.REQUEST_SENT, statuses.get(3L));
+        assertEquals(RelationshipStatus.REQUEST_RECEIVED, statuses.get(4L));
+        assertEquals(RelationshipStatus.NONE, statuses.get(5L));
+    }
+
+    @Test
+    void getRelationshipStatuses_FriendsFromGraphIndex() {
+        when(friendGraphIndex.isReady()).thenReturn(true);
+        when(friendGraphIndex.areFriends(1L, 2L)).thenReturn(true);
+        List<Object[]> rows = List.<Object[]>of(new Object[]{3L, FriendshipStatus.PENDING, 3L});
+        when(friendshipRepository.findRelationships(1L, Set.of(3L), List.of(FriendshipStatus.PENDING)))
+                .thenReturn(rows);
+
+        Map<Long, RelationshipStatus> statuses = friendshipService.getRelationshipStatuses(1L, List.of(2L, 3L));
 
-        assertEquals(1, result.size());
+        assertEquals(RelationshipStatus.FRIENDS, statuses.get(2L));
+        assertEquals(RelationshipStatus.REQUEST_RECEIVED, statuses.get(3L));
+    }
+
+    @Test
+    void getRelationshipStatuses_InvalidBatchSize() {
+        assertThrows(IllegalArgumentException.class, () -> friendshipService.getRelationshipStatuses(1L, List.of()));
+        List<Long> tooMany = LongStream.rangeClosed(1, FriendshipService.MAX_STATUS_BATCH_SIZE + 1)
+                .boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> friendshipService.getRelationshipStatuses(1L, tooMany));
     }
-}
\ No newline at end of file
+}
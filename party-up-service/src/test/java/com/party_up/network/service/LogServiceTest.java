@@ -1,21 +1,28 @@
 package com.party_up.network.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.party_up.network.model.RequestResponseLog;
+import com.party_up.network.model.dto.CursorPage;
 import com.party_up.network.model.dto.RequestResponseLogDTO;
 import com.party_up.network.model.dto.mappers.RequestResponseLogMapper;
 import com.party_up.network.repository.RequestResponseLogRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
@@ -27,67 +34,61 @@ public class LogServiceTest {
     @Mock
     private RequestResponseLogMapper requestResponseLogMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     private LogService logService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        logService = new LogService(requestResponseLogRepository, requestResponseLogMapper);
+        logService = new LogService(requestResponseLogRepository, requestResponseLogMapper, entityManager,
+                new ObjectMapper().findAndRegisterModules());
     }
 
     @Test
-    void testGetAllLogs_EmptyList() {
-        List<RequestResponseLog> emptyLogList = List.of();
-
-        when(requestResponseLogRepository.findAll()).thenReturn(emptyLogList);
-        when(requestResponseLogMapper.toDtoList(emptyLogList)).thenReturn(List.of());
+    void testGetLogs_EmptyPage() {
+        when(requestResponseLogRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(11))).thenReturn(List.of());
+        when(requestResponseLogMapper.toDtoList(List.of())).thenReturn(List.of());
 
-        List<RequestResponseLogDTO> retrievedLogs = logService.getAllLogs();
+        CursorPage<RequestResponseLogDTO> page = logService.getLogs(null, 10);
 
-        assertNotNull(retrievedLogs);
-        assertTrue(retrievedLogs.isEmpty());
-
-        verify(requestResponseLogRepository).findAll();
-        verify(requestResponseLogMapper).toDtoList(emptyLogList);
+        assertNotNull(page.getItems());
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
     }
 
     @Test
-    void testGetAllLogs_NonEmptyList() {
-        RequestResponseLog log1 = new RequestResponseLog();
-        log1.setId(1L);
-        log1.setRequestBody("Test request 1");
-        log1.setResponseBody("Test response 1");
-
-        RequestResponseLog log2 = new RequestResponseLog();
-        log2.setId(2L);
-        log2.setRequestBody("Test request 2");
-        log2.setResponseBody("Test response 2");
-
-        List<RequestResponseLog> logList = List.of(log1, log2);
+    void testGetLogs_ReturnsNextCursorWhenMoreLogsExist() {
+        RequestResponseLog log1 = createLog(1L, "Test request 1", "Test response 1");
+        RequestResponseLog log2 = createLog(2L, "Test request 2", "Test response 2");
+        RequestResponseLog log3 = createLog(3L, "Test request 3", "Test response 3");
 
-        when(requestResponseLogRepository.findAll()).thenReturn(logList);
+        when(requestResponseLogRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(log1, log2, log3));
+        when(requestResponseLogMapper.toDtoList(List.of(log1, log2))).thenReturn(createTestLogDTOs());
 
-        RequestResponseLogDTO logDto1 = new RequestResponseLogDTO();
-        logDto1.setRequestBody("Test request 1");
-        logDto1.setResponseBody("Test response 1");
+        CursorPage<RequestResponseLogDTO> page = logService.getLogs(null, 2);
 
-        RequestResponseLogDTO logDto2 = new RequestResponseLogDTO();
-        logDto2.setRequestBody("Test request 2");
-        logDto2.setResponseBody("Test response 2");
+        assertEquals(2, page.getItems().size());
+        assertEquals("Test request 1", page.getItems().get(0).getRequestBody());
+        assertNotNull(page.getNext());
 
-        List<RequestResponseLogDTO> dtoList = List.of(logDto1, logDto2);
+        when(requestResponseLogRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3)))
+                .thenReturn(List.of(log3));
+        when(requestResponseLogMapper.toDtoList(List.of(log3))).thenReturn(List.of(new RequestResponseLogDTO()));
 
-        when(requestResponseLogMapper.toDtoList(logList)).thenReturn(dtoList);
+        CursorPage<RequestResponseLogDTO> nextPage = logService.getLogs(page.getNext(), 2);
 
-        List<RequestResponseLogDTO> retrievedLogs = logService.getAllLogs();
-
-        assertNotNull(retrievedLogs);
-        assertEquals(2, retrievedLogs.size());
-        assertEquals(logDto1.getRequestBody(), retrievedLogs.get(0).getRequestBody());
-        assertEquals(logDto2.getRequestBody(), retrievedLogs.get(1).getRequestBody());
+        assertEquals(1, nextPage.getItems().size());
+        assertNull(nextPage.getNext());
+    }
 
-        verify(requestResponseLogRepository).findAll();
-        verify(requestResponseLogMapper).toDtoList(logList);
+    @Test
+    void testGetLogs_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> logService.getLogs(null, 0));
+        assertThrows(IllegalArgumentException.class, () -> logService.getLogs(null, LogService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(requestResponseLogRepository);
     }
 
     @Test
@@ -96,27 +97,22 @@ public class LogServiceTest {
         String method = "GET";
         Integer statusCode = 200;
 
-        RequestResponseLog log1 = new RequestResponseLog();
-        log1.setRequestBody("Test request 1");
-        log1.setResponseBody("Test response 1");
+        List<RequestResponseLog> logList = List.of(
+                createLog(1L, "Test request 1", "Test response 1"),
+                createLog(2L, "Test request 2", "Test response 2"));
 
-        RequestResponseLog log2 = new RequestResponseLog();
-        log2.setRequestBody("Test request 2");
-        log2.setResponseBody("Test response 2");
-
-        List<RequestResponseLog> logList = List.of(log1, log2);
-        Optional<List<RequestResponseLog>> optionalLogs = Optional.of(logList);
-
-        when(requestResponseLogRepository.findByCriteria(endpoint, method, statusCode)).thenReturn(optionalLogs);
+        when(requestResponseLogRepository.findPageByCriteria(endpoint, method, statusCode, 0L, Limit.of(51)))
+                .thenReturn(logList);
         when(requestResponseLogMapper.toDtoList(logList)).thenReturn(createTestLogDTOs());
 
-        List<RequestResponseLogDTO> result = logService.findByCriteria(endpoint, method, statusCode);
+        CursorPage<RequestResponseLogDTO> result = logService.findByCriteria(endpoint, method, statusCode, null, 50);
 
-        assertEquals(2, result.size());
-        assertEquals("Test request 1", result.get(0).getRequestBody());
-        assertEquals("Test response 1", result.get(0).getResponseBody());
-        assertEquals("Test request 2", result.get(1).getRequestBody());
-        assertEquals("Test response 2", result.get(1).getResponseBody());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Test request 1", result.getItems().get(0).getRequestBody());
+        assertEquals("Test response 1", result.getItems().get(0).getResponseBody());
+        assertEquals("Test request 2", result.getItems().get(1).getRequestBody());
+        assertEquals("Test response 2", result.getItems().get(1).getResponseBody());
+        assertNull(result.getNext());
     }
 
     @Test
@@ -125,15 +121,24 @@ public class LogServiceTest {
         String method = "GET";
         Integer statusCode = 404;
 
-        when(requestResponseLogRepository.findByCriteria(endpoint, method, statusCode)).thenReturn(Optional.empty());
+        when(requestResponseLogRepository.findPageByCriteria(endpoint, method, statusCode, 0L, Limit.of(51)))
+                .thenReturn(List.of());
+        when(requestResponseLogMapper.toDtoList(List.of())).thenReturn(List.of());
 
-        List<RequestResponseLogDTO> retrievedLogs = logService.findByCriteria(endpoint, method, statusCode);
+        CursorPage<RequestResponseLogDTO> retrievedLogs = logService.findByCriteria(endpoint, method, statusCode,
+                null, 50);
 
-        assertNotNull(retrievedLogs);
-        assertTrue(retrievedLogs.isEmpty());
+        assertNotNull(retrievedLogs.getItems());
+        assertTrue(retrievedLogs.getItems().isEmpty());
+        assertNull(retrievedLogs.getNext());
+    }
 
-        verify(requestResponseLogRepository).findByCriteria(endpoint, method, statusCode);
-        verify(requestResponseLogMapper, never()).toDtoList(anyList());
+    private RequestResponseLog createLog(Long id, String requestBody, String responseBody) {
+        RequestResponseLog log = new RequestResponseLog();
+        log.setId(id);
+        log.setRequestBody(requestBody);
+        log.setResponseBody(responseBody);
+        return log;
     }
 
     private List<RequestResponseLogDTO> createTestLogDTOs() {
@@ -156,26 +161,21 @@ public class LogServiceTest {
         LocalDateTime startDateTime = LocalDateTime.parse("2024-01-01T00:00:00");
         LocalDateTime endDateTime = LocalDateTime.parse("2024-01-31T23:59:59");
 
-        RequestResponseLog log1 = new RequestResponseLog();
-        log1.setRequestBody("Test request 1");
-        log1.setResponseBody("Test response 1");
+        List<RequestResponseLog> logList = List.of(
+                createLog(1L, "Test request 1", "Test response 1"),
+                createLog(2L, "Test request 2", "Test response 2"));
 
-        RequestResponseLog log2 = new RequestResponseLog();
-        log2.setRequestBody("Test request 2");
-        log2.setResponseBody("Test response 2");
-
-        List<RequestResponseLog> logList = List.of(log1, log2);
-
-        when(requestResponseLogRepository.findByTimestampBetween(startDateTime, endDateTime)).thenReturn(logList);
+        when(requestResponseLogRepository.findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(
+                startDateTime, endDateTime, 0L, Limit.of(51))).thenReturn(logList);
         when(requestResponseLogMapper.toDtoList(logList)).thenReturn(createTestLogDTOs());
 
-        List<RequestResponseLogDTO> result = logService.getLogsByTimestamp(start, end);
+        CursorPage<RequestResponseLogDTO> result = logService.getLogsByTimestamp(start, end, null, 50);
 
-        assertEquals(2, result.size());
-        assertEquals("Test request 1", result.get(0).getRequestBody());
-        assertEquals("Test response 1", result.get(0).getResponseBody());
-        assertEquals("Test request 2", result.get(1).getRequestBody());
-        assertEquals("Test response 2", result.get(1).getResponseBody());
+        assertEquals(2, result.getItems().size());
+        assertEquals("Test request 1", result.getItems().get(0).getRequestBody());
+        assertEquals("Test response 1", result.getItems().get(0).getResponseBody());
+        assertEquals("Test request 2", result.getItems().get(1).getRequestBody());
+        assertEquals("Test response 2", result.getItems().get(1).getResponseBody());
     }
 
     @Test
@@ -186,11 +186,52 @@ public class LogServiceTest {
         LocalDateTime startDateTime = LocalDateTime.parse("2024-01-01T00:00:00");
         LocalDateTime endDateTime = LocalDateTime.parse("2024-01-31T23:59:59");
 
-        when(requestResponseLogRepository.findByTimestampBetween(startDateTime, endDateTime)).thenReturn(List.of());
+        when(requestResponseLogRepository.findByTimestampBetweenAndIdGreaterThanOrderByIdAsc(
+                startDateTime, endDateTime, 0L, Limit.of(51))).thenReturn(List.of());
+        when(requestResponseLogMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        CursorPage<RequestResponseLogDTO> result = logService.getLogsByTimestamp(start, end, null, 50);
+
+        assertEquals(0, result.getItems().size());
+    }
+
+    @Test
+    void exportLogs_WritesNdjsonAndDetachesEntities() throws IOException {
+        RequestResponseLog log1 = createLog(1L, "Test request 1", "Test response 1");
+        RequestResponseLog log2 = createLog(2L, "Test request 2", "Test response 2");
+        List<RequestResponseLogDTO> dtos = createTestLogDTOs();
+
+        when(requestResponseLogRepository.streamByTimestampBetween(any(), any())).thenReturn(Stream.of(log1, log2));
+        when(requestResponseLogMapper.toDTO(log1)).thenReturn(dtos.get(0));
+        when(requestResponseLogMapper.toDTO(log2)).thenReturn(dtos.get(1));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = logService.exportLogs("2024-01-01", "2024-01-31", LogService.ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"requestBody\":\"Test request 1\""));
+        assertTrue(lines[1].contains("\"responseBody\":\"Test response 2\""));
+        verify(entityManager).detach(log1);
+        verify(entityManager).detach(log2);
+    }
+
+    @Test
+    void exportLogs_WritesCsvWithEscapedFields() throws IOException {
+        RequestResponseLog log1 = createLog(1L, "{\"a\":1,\"b\":2}", "ok");
+        RequestResponseLogDTO dto = new RequestResponseLogDTO("POST", "/api/test", "{\"a\":1,\"b\":2}", "ok", 200,
+                LocalDateTime.of(2024, 1, 1, 12, 0), 5L);
+
+        when(requestResponseLogRepository.streamByTimestampBetween(any(), any())).thenReturn(Stream.of(log1));
+        when(requestResponseLogMapper.toDTO(log1)).thenReturn(dto);
 
-        List<RequestResponseLogDTO> result = logService.getLogsByTimestamp(start, end);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        logService.exportLogs("2024-01-01", "2024-01-31", LogService.ExportFormat.CSV, out);
 
-        assertEquals(0, result.size());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("timestamp,method,endpoint,statusCode,executionTime,requestBody,responseBody", lines[0]);
+        assertEquals("2024-01-01T12:00,POST,/api/test,200,5,\"{\"\"a\"\":1,\"\"b\"\":2}\",ok", lines[1]);
     }
 
     @Test
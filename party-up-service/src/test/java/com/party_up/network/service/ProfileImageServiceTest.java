@@ -0,0 +1,208 @@
+package com.party_up.network.service;
+
+import com.party_up.network.config.cache.UserCache;
+import com.party_up.network.exceptions.ResourceNotFoundException;
+import com.party_up.network.repository.UserRepository;
+import com.party_up.network.service.image.ImageFormats;
+import com.party_up.network.service.image.ImageResource;
+import com.party_up.network.service.image.ImageStore;
+import com.party_up.network.service.image.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProfileImageService
+ */
+class ProfileImageServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private UserCache userCache;
+
+    private ProfileImageService profileImageService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        profileImageService = new ProfileImageService(jdbcTemplate, userRepository, imageStore, userCache, 0);
+    }
+
+    @Test
+    void getImageMetadataReturnsLengthAndType() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L)))
+                .thenReturn(List.of(new ProfileImageService.ImageMetadata(42, "image/png")));
+
+        ProfileImageService.ImageMetadata metadata = profileImageService.getImageMetadata(1L);
+
+        assertEquals(42, metadata.length());
+        assertEquals("image/png", metadata.contentType());
+    }
+
+    @Test
+    void getImageMetadataThrowsWhenUserHasNoImage() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2L)))
+                .thenReturn(Collections.singletonList(null));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(3L)))
+                .thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> profileImageService.getImageMetadata(2L));
+        assertThrows(ResourceNotFoundException.class, () -> profileImageService.getImageMetadata(3L));
+    }
+
+    @Test
+    void detectContentTypeRecognisesCommonFormats() {
+        byte[] png = new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+        byte[] jpeg = new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F', 0};
+
+        assertEquals("image/png", ImageFormats.detectContentType(png));
+        assertEquals("image/jpeg", ImageFormats.detectContentType(jpeg));
+        assertEquals("application/octet-stream", ImageFormats.detectContentType(new byte[]{1, 2, 3}));
+        assertEquals("application/octet-stream", ImageFormats.detectContentType(null));
+    }
+
+    private UserRepository.ProfileImageRef ref(String hash, String contentType) {
+        return new UserRepository.ProfileImageRef() {
+            @Override
+            public String getImageHash() {
+                return hash;
+            }
+
+            @Override
+            public String getImageContentType() {
+                return contentType;
+            }
+        };
+    }
+
+    private void replaceImage(String oldHash, String newHash) throws Exception {
+        InputStream data = new ByteArrayInputStream(new byte[]{1});
+        when(userRepository.findImageRefById(1L)).thenReturn(Optional.of(ref(oldHash, "image/png")));
+        when(imageStore.store(data)).thenReturn(new StoredImage(newHash, "image/jpeg", 1));
+        profileImageService.upload(1L, data);
+    }
+
+    @Test
+    void uploadStoresImageAndReleasesPreviousImageWithoutDeletingIt() throws Exception {
+        String oldHash = "b".repeat(64);
+        String newHash = "c".repeat(64);
+        InputStream data = new ByteArrayInputStream(new byte[]{1});
+        when(userRepository.findImageRefById(1L)).thenReturn(Optional.of(ref(oldHash, "image/png")));
+        when(imageStore.store(data)).thenReturn(new StoredImage(newHash, "image/jpeg", 1));
+
+        StoredImage stored = profileImageService.upload(1L, data);
+
+        assertEquals(newHash, stored.hash());
+        verify(userRepository).updateImage(1L, newHash, "image/jpeg");
+        verify(userCache).invalidate(1L);
+        verify(userRepository, never()).countByImageHash(anyString());
+        verify(imageStore, never()).deleteIfStoredBefore(anyString(), any());
+        assertEquals(1, profileImageService.releasedImageCount());
+    }
+
+    @Test
+    void collectReleasedImagesDeletesUnreferencedImages() throws Exception {
+        String oldHash = "b".repeat(64);
+        replaceImage(oldHash, "c".repeat(64));
+        when(userRepository.countByImageHash(oldHash)).thenReturn(0L);
+
+        profileImageService.collectReleasedImages();
+
+        verify(imageStore).deleteIfStoredBefore(eq(oldHash), any());
+        assertEquals(0, profileImageService.releasedImageCount());
+    }
+
+    @Test
+    void collectReleasedImagesKeepsImagesSharedWithOtherUsers() throws Exception {
+        String oldHash = "b".repeat(64);
+        replaceImage(oldHash, "c".repeat(64));
+        when(userRepository.countByImageHash(oldHash)).thenReturn(2L);
+
+        profileImageService.collectReleasedImages();
+
+        verify(imageStore, never()).deleteIfStoredBefore(anyString(), any());
+        assertEquals(0, profileImageService.releasedImageCount());
+    }
+
+    @Test
+    void collectReleasedImagesWaitsForTheGracePeriod() throws Exception {
+        profileImageService = new ProfileImageService(jdbcTemplate, userRepository, imageStore, userCache, 60_000);
+        replaceImage("b".repeat(64), "c".repeat(64));
+
+        profileImageService.collectReleasedImages();
+
+        verify(userRepository, never()).countByImageHash(anyString());
+        verify(imageStore, never()).deleteIfStoredBefore(anyString(), any());
+        assertEquals(1, profileImageService.releasedImageCount());
+    }
+
+    @Test
+    void collectReleasedImagesRetriesFailedDeletes() throws Exception {
+        String oldHash = "b".repeat(64);
+        replaceImage(oldHash, "c".repeat(64));
+        when(imageStore.deleteIfStoredBefore(eq(oldHash), any())).thenThrow(new IOException("disk error"));
+
+        profileImageService.collectReleasedImages();
+
+        assertEquals(1, profileImageService.releasedImageCount());
+    }
+
+    @Test
+    void uploadForUnknownUserThrows() {
+        when(userRepository.findImageRefById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> profileImageService.upload(9L, new ByteArrayInputStream(new byte[0])));
+    }
+
+    @Test
+    void findStoredImageBuildsEtagPerVariant() throws Exception {
+        String hash = "d".repeat(64);
+        ImageResource resource = mock(ImageResource.class);
+        when(imageStore.thumbnailSizes()).thenReturn(List.of(64));
+        when(userRepository.findImageRefById(1L)).thenReturn(Optional.of(ref(hash, "image/jpeg")));
+        when(imageStore.open(hash, null)).thenReturn(Optional.of(resource));
+        when(imageStore.open(hash, 64)).thenReturn(Optional.of(resource));
+
+        ProfileImageService.ProfileImage original = profileImageService.findStoredImage(1L, null).orElseThrow();
+        ProfileImageService.ProfileImage thumbnail = profileImageService.findStoredImage(1L, 64).orElseThrow();
+
+        assertEquals("\"" + hash + "\"", original.etag());
+        assertEquals("image/jpeg", original.contentType());
+        assertEquals("\"" + hash + "-64\"", thumbnail.etag());
+        assertEquals(ImageStore.THUMBNAIL_CONTENT_TYPE, thumbnail.contentType());
+    }
+
+    @Test
+    void findStoredImageIsEmptyForLegacyImagesAndRejectsUnknownSizes() throws Exception {
+        when(imageStore.thumbnailSizes()).thenReturn(List.of(64));
+        when(userRepository.findImageRefById(1L)).thenReturn(Optional.of(ref(null, null)));
+
+        assertTrue(profileImageService.findStoredImage(1L, null).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> profileImageService.findStoredImage(1L, 100));
+    }
+}
@@ -0,0 +1,61 @@
+package com.party_up.network.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SortedLongArrays
+ */
+class SortedLongArraysTest {
+
+    @Test
+    void insertKeepsArraySortedAndDistinct() {
+        long[] original = {2, 5};
+
+        assertArrayEquals(new long[]{1, 2, 5}, SortedLongArrays.insert(original, 1));
+        assertArrayEquals(new long[]{2, 3, 5}, SortedLongArrays.insert(original, 3));
+        assertArrayEquals(new long[]{2, 5, 9}, SortedLongArrays.insert(original, 9));
+        assertSame(original, SortedLongArrays.insert(original, 5));
+        assertArrayEquals(new long[]{2, 5}, original);
+    }
+
+    @Test
+    void deleteRemovesOnlyThatValue() {
+        long[] original = {2, 5, 9};
+
+        assertArrayEquals(new long[]{2, 9}, SortedLongArrays.delete(original, 5));
+        assertSame(original, SortedLongArrays.delete(original, 4));
+        assertArrayEquals(new long[0], SortedLongArrays.delete(new long[]{7}, 7));
+        assertArrayEquals(new long[]{2, 5, 9}, original);
+    }
+
+    @Test
+    void intersectHandlesSkewedSizes() {
+        long[] large = new long[1000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i * 2L;
+        }
+
+        assertArrayEquals(new long[]{10, 500}, SortedLongArrays.intersect(new long[]{3, 10, 500, 2001}, large));
+        assertArrayEquals(new long[]{2, 4}, SortedLongArrays.intersect(new long[]{1, 2, 3, 4}, new long[]{2, 4, 6}));
+        assertArrayEquals(new long[0], SortedLongArrays.intersect(new long[0], large));
+    }
+
+    @Test
+    void unionMergesWithoutDuplicates() {
+        assertArrayEquals(new long[]{1, 2, 3, 5, 8},
+                SortedLongArrays.union(new long[]{1, 3, 5}, new long[]{2, 3, 8}));
+        assertArrayEquals(new long[]{4}, SortedLongArrays.union(new long[0], new long[]{4}));
+    }
+
+    @Test
+    void longListBuildsSortedDistinctArray() {
+        SortedLongArrays.LongList list = new SortedLongArrays.LongList();
+        for (long value : new long[]{9, 3, 7, 3, 1, 9}) {
+            list.add(value);
+        }
+
+        assertArrayEquals(new long[]{1, 3, 7, 9}, list.toSortedDistinctArray());
+    }
+}
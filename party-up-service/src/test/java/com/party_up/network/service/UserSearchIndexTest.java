@@ -0,0 +1,191 @@
+package com.party_up.network.service;
+
+import com.party_up.network.model.User;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserSearchIndex
+ */
+class UserSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private UserSearchIndex userSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userSearchIndex = new UserSearchIndex(jdbcTemplate, true);
+        loadUsers(new Object[][]{
+                {1L, "john_doe", "John", "Doe", false},
+                {2L, "johnny", "Johnny", "Bravo", true},
+                {3L, "jane", "Jane", "Doe", false},
+                {4L, "zoe", "Zoë", "Müller", false},
+                {5L, "jonathan", "Jonathan", "Smith", false}
+        });
+    }
+
+    private void loadUsers(Object[][] rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong(1)).thenReturn((Long) row[0]);
+                when(resultSet.getString(2)).thenReturn((String) row[1]);
+                when(resultSet.getString(3)).thenReturn((String) row[2]);
+                when(resultSet.getString(4)).thenReturn((String) row[3]);
+                when(resultSet.getBoolean(5)).thenReturn((Boolean) row[4]);
+                handler.processRow(resultSet);
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        userSearchIndex.load();
+    }
+
+    private List<Long> searchIds(String query) {
+        return userSearchIndex.search(query, 0, 10).stream().map(UserSummaryDTO::getId).toList();
+    }
+
+    private static User user(long id, String username, String firstName, String lastName) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+
+    @Test
+    void loadMakesIndexReady() {
+        assertTrue(userSearchIndex.isReady());
+        assertEquals(5, userSearchIndex.size());
+    }
+
+    @Test
+    void prefixMatchesRankExactTokensFirst() {
+        assertEquals(List.of(1L, 2L), searchIds("john"));
+        assertEquals(List.of(1L, 2L, 5L), searchIds("jo"));
+    }
+
+    @Test
+    void allTermsMustMatch() {
+        assertEquals(List.of(1L), searchIds("john doe"));
+        assertEquals(List.of(3L), searchIds("Doe jane"));
+        assertTrue(searchIds("jane bravo").isEmpty());
+    }
+
+    @Test
+    void matchesUsernameWithoutSeparators() {
+        assertEquals(List.of(1L), searchIds("johndoe"));
+    }
+
+    @Test
+    void ignoresCaseAndAccents() {
+        assertEquals(List.of(4L), searchIds("MULLER"));
+        assertEquals(List.of(4L), searchIds("zoe"));
+    }
+
+    @Test
+    void toleratesTypos() {
+        assertEquals(List.of(5L), searchIds("jonatan"));
+        assertEquals(List.of(5L), searchIds("smiht"));
+        assertTrue(searchIds("xyz").isEmpty());
+    }
+
+    @Test
+    void returnsSummariesWithAvatarUrl() {
+        UserSummaryDTO johnny = userSearchIndex.search("bravo", 0, 10).get(0);
+
+        assertEquals("johnny", johnny.getUsername());
+        assertEquals(UserSummaryDTO.avatarUrl(2L), johnny.getAvatarUrl());
+    }
+
+    @Test
+    void pagesRankedResults() {
+        List<Long> all = searchIds("jo");
+
+        assertEquals(all.subList(1, 3), userSearchIndex.search("jo", 1, 2).stream()
+                .map(UserSummaryDTO::getId).toList());
+        assertTrue(userSearchIndex.search("jo", 3, 2).isEmpty());
+    }
+
+    @Test
+    void addIndexesNewAndRenamedUsers() {
+        userSearchIndex.add(user(6L, "maria", "Maria", "Garcia"));
+        assertEquals(List.of(6L), searchIds("garc"));
+
+        userSearchIndex.add(user(6L, "maria", "Maria", "Lopez"));
+        assertTrue(searchIds("garc").isEmpty());
+        assertEquals(List.of(6L), searchIds("lopez"));
+    }
+
+    @Test
+    void removeDropsUser() {
+        userSearchIndex.remove(3L);
+
+        assertTrue(searchIds("jane").isEmpty());
+        assertEquals(4, userSearchIndex.size());
+    }
+
+    @Test
+    void failedScanLeavesIndexNotReadyAndRetryable() {
+        userSearchIndex = new UserSearchIndex(jdbcTemplate, true);
+        doThrow(new DataAccessResourceFailureException("database down"))
+                .when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        userSearchIndex.load();
+        userSearchIndex.add(user(6L, "maria", "Maria", "Garcia"));
+
+        assertFalse(userSearchIndex.isReady());
+
+        loadUsers(new Object[][]{{1L, "john_doe", "John", "Doe", false}});
+        userSearchIndex.add(user(7L, "mario", "Mario", "Rossi"));
+
+        assertTrue(userSearchIndex.isReady());
+        assertEquals(2, userSearchIndex.size());
+        assertEquals(List.of(7L), searchIds("mari"));
+    }
+
+    @Test
+    void failedReloadKeepsPreviousIndexWithUpdatesMadeDuringTheScan() {
+        doAnswer(invocation -> {
+            userSearchIndex.add(user(6L, "maria", "Maria", "Garcia"));
+            throw new DataAccessResourceFailureException("connection lost");
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        userSearchIndex.load();
+        userSearchIndex.remove(3L);
+
+        assertTrue(userSearchIndex.isReady());
+        assertEquals(List.of(6L), searchIds("garc"));
+        assertTrue(searchIds("jane").isEmpty());
+        assertEquals(5, userSearchIndex.size());
+    }
+
+    @Test
+    void disabledIndexNeverLoads() {
+        UserSearchIndex disabled = new UserSearchIndex(jdbcTemplate, false);
+
+        disabled.loadOnStartup();
+        disabled.add(user(7L, "ghost", "Ghost", "User"));
+
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+    }
+}
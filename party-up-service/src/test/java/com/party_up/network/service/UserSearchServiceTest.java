@@ -0,0 +1,96 @@
+package com.party_up.network.service;
+
+import com.party_up.network.model.dto.CursorPage;
+import com.party_up.network.model.dto.UserSummaryDTO;
+import com.party_up.network.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserSearchService
+ */
+class UserSearchServiceTest {
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchService userSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userSearchService = new UserSearchService(userSearchIndex, userRepository, new SimpleMeterRegistry());
+    }
+
+    private static List<UserSummaryDTO> summaries(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> new UserSummaryDTO(id, "user" + id, "First", "Last", false))
+                .toList();
+    }
+
+    @Test
+    void searchUsesIndexWhenReady() {
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("jo", 0, 3)).thenReturn(summaries(1, 3));
+        when(userSearchIndex.search("jo", 2, 3)).thenReturn(summaries(3, 3));
+
+        CursorPage<UserSummaryDTO> first = userSearchService.search("jo", null, 2);
+        CursorPage<UserSummaryDTO> second = userSearchService.search("jo", first.getNext(), 2);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNext());
+        assertEquals(3L, second.getItems().get(0).getId());
+        assertNull(second.getNext());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void searchFallsBackToEscapedUsernamePrefix() {
+        when(userSearchIndex.isReady()).thenReturn(false);
+        when(userRepository.searchSummariesByUsernamePrefix("jo!_d%", Limit.of(3))).thenReturn(summaries(1, 2));
+
+        CursorPage<UserSummaryDTO> page = userSearchService.search(" jo_d smith", null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNext());
+        verify(userSearchIndex, never()).search(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchStopsAtMaxResults() {
+        when(userSearchIndex.isReady()).thenReturn(true);
+        when(userSearchIndex.search("jo", UserSearchService.MAX_RESULTS - 2, 3)).thenReturn(summaries(1, 3));
+
+        CursorPage<UserSummaryDTO> page = userSearchService.search("jo",
+                KeysetCursor.encode(UserSearchService.MAX_RESULTS - 2), 5);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNext());
+        assertTrue(userSearchService.search("jo", KeysetCursor.encode(UserSearchService.MAX_RESULTS), 5)
+                .getItems().isEmpty());
+    }
+
+    @Test
+    void searchRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> userSearchService.search(" ", null, 10));
+        assertThrows(IllegalArgumentException.class, () -> userSearchService.search("a".repeat(101), null, 10));
+        assertThrows(IllegalArgumentException.class, () -> userSearchService.search("jo", null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> userSearchService.search("jo", null, UserSearchService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> userSearchService.search("jo", "not-a-cursor", 10));
+    }
+}
@@ -1,6 +1,10 @@
 package com.party_up.network.service;
 
 import com.party_up.network.config.authentication.JwtUtil;
+import com.party_up.network.config.authentication.LoginExecutor;
+import com.party_up.network.config.authentication.TokenHasher;
+import com.party_up.network.config.cache.CachedUser;
+import com.party_up.network.config.cache.UserCache;
 import com.party_up.network.exceptions.ResourceNotFoundException;
 import com.party_up.network.model.AuthToken;
 import com.party_up.network.model.User;
@@ -8,6 +12,8 @@ import com.party_up.network.model.dto.LoginRequestDTO;
 import com.party_up.network.model.dto.LoginSuccessResponseDTO;
 import com.party_up.network.model.enums.AccountStatus;
 import com.party_up.network.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,13 +21,12 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
+import org.mockito.Spy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,7 +37,7 @@ public class UserServiceTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private LoginExecutor loginExecutor;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -43,6 +48,15 @@ public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -53,6 +67,7 @@ public class UserServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(loginExecutor.execute(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
 
         user = new User();
         user.setId(1L);
@@ -64,7 +79,7 @@ public class UserServiceTest {
         user.setUsername("username");
 
         authToken = new AuthToken();
-        authToken.setToken("sampleToken");
+        authToken.setTokenHash(TokenHasher.hash("sampleToken"));
         authToken.setExpiresAt(LocalDateTime.now().plusHours(1));
     }
 
@@ -110,6 +125,28 @@ public class UserServiceTest {
         assertEquals(user.getLastName(), response.getLastName());
         assertEquals("generatedToken", response.getToken());
         assertNotNull(response.getExpiresAt());
+        assertEquals(1, meterRegistry.get("auth.login.password.check").timer().count());
+        verify(passwordEncoder, times(1)).matches("password", user.getPassword());
+        verify(userRepository, times(1)).findByUsername("username");
+        verify(userRepository, never()).updatePassword(anyLong(), anyString());
+    }
+
+    @Test
+    public void testLogin_RehashesPasswordWithOutdatedCost() {
+        LoginRequestDTO loginRequest = new LoginRequestDTO("username", "password");
+
+        when(userRepository.findByUsername("username")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password", user.getPassword())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$abc123")).thenReturn(true);
+        when(passwordEncoder.encode("password")).thenReturn("$2a$12$def456");
+        when(jwtUtil.generateToken(user)).thenReturn("generatedToken");
+        when(authTokenService.createAuthToken(any(), any())).thenReturn(authToken);
+
+        userService.login(loginRequest);
+
+        verify(userRepository).updatePassword(1L, "$2a$12$def456");
+        verify(userCache).invalidate(1L);
+        assertEquals("$2a$12$def456", user.getPassword());
     }
 
     @Test
@@ -136,12 +173,10 @@ public class UserServiceTest {
     }
 
     @Test
-    public void testLogin_AuthenticationFailed() {
+    public void testLogin_UnknownUser() {
         LoginRequestDTO loginRequest = new LoginRequestDTO("username", "password");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new AuthenticationException("Authentication failed") {
-                });
+        when(userRepository.findByUsername("username")).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(RuntimeException.class, () -> userService.login(loginRequest));
         assertEquals("Invalid credentials", exception.getMessage());
@@ -189,4 +224,33 @@ public class UserServiceTest {
         // Verify the exception message
         assertEquals("Token not found", exception.getMessage());
     }
+
+    @Test
+    public void testGetUserById_CacheMissLoadsAndCachesUser() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        User result = userService.getUserById(1L);
+
+        assertSame(user, result);
+        verify(userCache).put(any(CachedUser.class));
+    }
+
+    @Test
+    public void testGetUserById_CacheHitSkipsRepository() {
+        when(userCache.getById(1L)).thenReturn(CachedUser.from(user));
+
+        User result = userService.getUserById(1L);
+
+        assertEquals(1L, result.getId());
+        assertEquals("user@example.com", result.getEmail());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    public void testGetUserById_NotFound() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> userService.getUserById(2L));
+        verify(userCache, never()).put(any());
+    }
 }
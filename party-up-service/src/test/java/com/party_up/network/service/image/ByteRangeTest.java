@@ -0,0 +1,35 @@
+package com.party_up.network.service.image;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ByteRange
+ */
+class ByteRangeTest {
+
+    @Test
+    void parsesBoundedOpenAndSuffixRanges() {
+        assertEquals(new ByteRange(0, 99), ByteRange.parse("bytes=0-99", 1000));
+        assertEquals(new ByteRange(900, 999), ByteRange.parse("bytes=900-", 1000));
+        assertEquals(new ByteRange(950, 999), ByteRange.parse("bytes=-50", 1000));
+        assertEquals(new ByteRange(500, 999), ByteRange.parse("bytes=500-5000", 1000));
+        assertEquals(100, ByteRange.parse("bytes=0-99", 1000).length());
+    }
+
+    @Test
+    void ignoresMissingMalformedAndMultipleRanges() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=abc", 1000));
+        assertNull(ByteRange.parse("bytes=5-1", 1000));
+        assertNull(ByteRange.parse("bytes=0-1,5-6", 1000));
+    }
+
+    @Test
+    void reportsUnsatisfiableRanges() {
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=1000-", 1000));
+        assertSame(ByteRange.UNSATISFIABLE, ByteRange.parse("bytes=-0", 1000));
+    }
+}
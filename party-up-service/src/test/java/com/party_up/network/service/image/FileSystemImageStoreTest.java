@@ -0,0 +1,131 @@
+package com.party_up.network.service.image;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FileSystemImageStore
+ */
+class FileSystemImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    private FileSystemImageStore imageStore;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        imageStore = new FileSystemImageStore(root.toString(), 1024 * 1024, List.of(16, 64));
+        imageStore.init();
+    }
+
+    private byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private byte[] read(ImageResource resource, long position, long count) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        resource.transferTo(position, count, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    @Test
+    void storeWritesContentAddressedOriginalAndThumbnails() throws IOException {
+        byte[] image = png(200, 100);
+
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(image));
+
+        assertEquals(64, stored.hash().length());
+        assertEquals("image/png", stored.contentType());
+        assertEquals(image.length, stored.length());
+
+        ImageResource original = imageStore.open(stored.hash(), null).orElseThrow();
+        assertArrayEquals(image, read(original, 0, original.length()));
+
+        ImageResource thumbnail = imageStore.open(stored.hash(), 64).orElseThrow();
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(read(thumbnail, 0, thumbnail.length())));
+        assertEquals(64, decoded.getWidth());
+        assertEquals(32, decoded.getHeight());
+    }
+
+    @Test
+    void identicalUploadsShareOneCopy() throws IOException {
+        byte[] image = png(10, 10);
+
+        StoredImage first = imageStore.store(new ByteArrayInputStream(image));
+        StoredImage second = imageStore.store(new ByteArrayInputStream(image));
+
+        assertEquals(first.hash(), second.hash());
+    }
+
+    @Test
+    void transferToCopiesRequestedRange() throws IOException {
+        byte[] image = png(10, 10);
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(image));
+
+        ImageResource resource = imageStore.open(stored.hash(), null).orElseThrow();
+
+        byte[] range = read(resource, 4, 8);
+        for (int i = 0; i < 8; i++) {
+            assertEquals(image[4 + i], range[i]);
+        }
+    }
+
+    @Test
+    void rejectsNonImagesAndOversizedUploads() {
+        assertThrows(IllegalArgumentException.class,
+                () -> imageStore.store(new ByteArrayInputStream("not an image".getBytes())));
+
+        FileSystemImageStore small = new FileSystemImageStore(root.toString(), 10, List.of(16));
+        assertThrows(IllegalArgumentException.class, () -> small.store(new ByteArrayInputStream(png(10, 10))));
+    }
+
+    @Test
+    void deleteRemovesOriginalAndThumbnailsStoredBeforeTheCutoff() throws IOException {
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(png(10, 10)));
+
+        assertTrue(imageStore.deleteIfStoredBefore(stored.hash(), Instant.now().plusSeconds(1)));
+
+        assertEquals(Optional.empty(), imageStore.open(stored.hash(), null));
+        assertEquals(Optional.empty(), imageStore.open(stored.hash(), 16));
+    }
+
+    @Test
+    void deleteKeepsImagesStoredAgainAfterTheCutoff() throws IOException {
+        byte[] image = png(10, 10);
+        StoredImage stored = imageStore.store(new ByteArrayInputStream(image));
+        Path original = root.resolve(stored.hash().substring(0, 2)).resolve(stored.hash().substring(2, 4))
+                .resolve(stored.hash());
+        Files.setLastModifiedTime(original, FileTime.from(Instant.now().minusSeconds(3600)));
+        Instant cutoff = Instant.now().minusSeconds(60);
+
+        imageStore.store(new ByteArrayInputStream(image));
+
+        assertFalse(imageStore.deleteIfStoredBefore(stored.hash(), cutoff));
+        assertTrue(imageStore.open(stored.hash(), null).isPresent());
+        assertTrue(imageStore.open(stored.hash(), 16).isPresent());
+    }
+
+    @Test
+    void openRejectsInvalidHashes() throws IOException {
+        assertTrue(imageStore.open("../../etc/passwd", null).isEmpty());
+    }
+}